@@ -0,0 +1,42 @@
+package com.BookBliss.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Enables {@code @Async} and defines the bounded executors it runs on.
+ * <p>
+ * The mail executor delivers mail from the outbox. Each task drains all due mail, so a task
+ * rejected because the queue is full loses nothing: the mail stays in the outbox and is picked
+ * up by a task already queued or by the next outbox poll.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String MAIL_EXECUTOR = "mailExecutor";
+
+    @Value("${app.mail.dispatcher.threads:2}")
+    private int mailThreads;
+
+    @Value("${app.mail.dispatcher.queue-capacity:16}")
+    private int mailQueueCapacity;
+
+    @Bean(name = MAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor mailExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mailThreads);
+        executor.setMaxPoolSize(mailThreads);
+        executor.setQueueCapacity(mailQueueCapacity);
+        executor.setThreadNamePrefix("mail-dispatch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -1,5 +1,6 @@
 package com.BookBliss.Config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -11,6 +12,11 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration of Git Caffeine Cache for the effective database Queries..
+ * <p>
+ * Besides the default spec, the catalog regions used by
+ * {@link com.BookBliss.Service.Book.BookCatalogCache} are registered here with their own
+ * sizes and TTLs. Those regions are invalidated by write events, so their TTLs only bound
+ * how long an entry missed by an out-of-band change can survive.
  *
  * @author Manoj Pandi
  * @version 1.0
@@ -19,6 +25,32 @@ import java.util.concurrent.TimeUnit;
 @EnableCaching
 public class CacheConfig {
 
+    public static final String BOOKS = "books";
+    public static final String BOOK_DETAILS = "bookDetails";
+    public static final String BOOK_SEARCH = "bookSearch";
+    public static final String RECENT_BOOKS = "recentBooks";
+
+    @Value("${app.cache.books.ttl-minutes:720}")
+    private long booksTtlMinutes;
+
+    @Value("${app.cache.books.max-size:20000}")
+    private long booksMaxSize;
+
+    @Value("${app.cache.book-details.ttl-minutes:60}")
+    private long bookDetailsTtlMinutes;
+
+    @Value("${app.cache.book-details.max-size:20000}")
+    private long bookDetailsMaxSize;
+
+    @Value("${app.cache.book-search.ttl-minutes:60}")
+    private long bookSearchTtlMinutes;
+
+    @Value("${app.cache.book-search.max-size:5000}")
+    private long bookSearchMaxSize;
+
+    @Value("${app.cache.recent-books.ttl-minutes:60}")
+    private long recentBooksTtlMinutes;
+
     @Bean
     public Caffeine caffeineConfig() {
         return Caffeine.newBuilder()
@@ -31,6 +63,18 @@ public class CacheConfig {
     public CacheManager cacheManager(Caffeine caffeine) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCaffeine(caffeine);
+        cacheManager.registerCustomCache(BOOKS, region(booksTtlMinutes, booksMaxSize));
+        cacheManager.registerCustomCache(BOOK_DETAILS, region(bookDetailsTtlMinutes, bookDetailsMaxSize));
+        cacheManager.registerCustomCache(BOOK_SEARCH, region(bookSearchTtlMinutes, bookSearchMaxSize));
+        cacheManager.registerCustomCache(RECENT_BOOKS, region(recentBooksTtlMinutes, 16));
         return cacheManager;
     }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> region(long ttlMinutes, long maxSize) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
 }
@@ -0,0 +1,96 @@
+package com.BookBliss.Config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache: JCache over Caffeine, one bounded region per cached entity,
+ * collection and natural id.
+ * <p>
+ * Region sizes and TTLs can be overridden per region with
+ * {@code app.l2-cache.<region>.max-size} and {@code app.l2-cache.<region>.ttl-minutes}. The
+ * regions are created here, before Hibernate starts, and handed to it as a ready cache manager.
+ * Writes made outside Hibernate (atomic inventory updates, the inventory ledger, other nodes)
+ * are evicted by {@link com.BookBliss.Service.Book.BookCatalogCache}.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String BOOK = "book";
+    public static final String BOOK_CATEGORIES = "book.categories";
+    public static final String BOOK_ISBN = "book.isbn";
+    public static final String CATEGORY = "category";
+    public static final String USER = "user";
+    public static final String USER_USERNAME = "user.username";
+    public static final String TOKEN = "token";
+    public static final String CHECKOUT = "checkout";
+    public static final String BOOKSHELF = "bookshelf";
+    public static final String BOOKSHELF_ITEMS = "bookshelf.items";
+    public static final String BOOKSHELF_ITEM = "bookshelfItem";
+
+    /** Query spaces of native updates whose affected books are evicted individually. */
+    public static final String BOOK_INVENTORY_SPACE = "books_inventory";
+
+    private static final long DEFAULT_TTL_MINUTES = 30;
+
+    private final Environment environment;
+
+    public HibernateCacheConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        Map<String, Long> defaultSizes = new LinkedHashMap<>();
+        defaultSizes.put(BOOK, 20_000L);
+        defaultSizes.put(BOOK_CATEGORIES, 20_000L);
+        defaultSizes.put(BOOK_ISBN, 20_000L);
+        defaultSizes.put(CATEGORY, 2_000L);
+        defaultSizes.put(USER, 10_000L);
+        defaultSizes.put(USER_USERNAME, 10_000L);
+        defaultSizes.put(TOKEN, 10_000L);
+        defaultSizes.put(CHECKOUT, 5_000L);
+        defaultSizes.put(BOOKSHELF, 5_000L);
+        defaultSizes.put(BOOKSHELF_ITEMS, 5_000L);
+        defaultSizes.put(BOOKSHELF_ITEM, 20_000L);
+
+        defaultSizes.forEach((region, defaultSize) -> {
+            if (cacheManager.getCache(region) == null) {
+                cacheManager.createCache(region, regionConfiguration(region, defaultSize));
+            }
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateSecondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+    }
+
+    private CaffeineConfiguration<Object, Object> regionConfiguration(String region, long defaultSize) {
+        long maxSize = environment.getProperty("app.l2-cache." + region + ".max-size", Long.class, defaultSize);
+        long ttlMinutes = environment.getProperty("app.l2-cache." + region + ".ttl-minutes", Long.class,
+                environment.getProperty("app.l2-cache.ttl-minutes", Long.class, DEFAULT_TTL_MINUTES));
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(ttlMinutes)));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,60 @@
+package com.BookBliss.Config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Per-region hit/miss figures of the Hibernate second-level cache, logged periodically.
+ * Requires {@code hibernate.generate_statistics}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HibernateCacheStatistics {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public Map<String, Map<String, Long>> regionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Map<String, Long>> regions = new LinkedHashMap<>();
+        if (!statistics.isStatisticsEnabled()) {
+            return regions;
+        }
+        for (String region : new TreeSet<>(Arrays.asList(statistics.getSecondLevelCacheRegionNames()))) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            Map<String, Long> figures = new LinkedHashMap<>();
+            figures.put("hits", regionStatistics.getHitCount());
+            figures.put("misses", regionStatistics.getMissCount());
+            figures.put("puts", regionStatistics.getPutCount());
+            figures.put("size", regionStatistics.getElementCountInMemory());
+            regions.put(region, figures);
+        }
+        return regions;
+    }
+
+    @Scheduled(fixedDelayString = "${app.l2-cache.stats-log-interval-ms:300000}")
+    public void logStatistics() {
+        regionStatistics().forEach((region, figures) -> {
+            long hits = figures.get("hits");
+            long lookups = hits + figures.get("misses");
+            log.info("L2 cache region '{}' - Size: {}, Hit rate: {}%, Hits: {}, Misses: {}, Puts: {}",
+                    region,
+                    figures.get("size"),
+                    String.format("%.2f", lookups == 0 ? 0.0 : hits * 100.0 / lookups),
+                    hits,
+                    figures.get("misses"),
+                    figures.get("puts"));
+        });
+    }
+}
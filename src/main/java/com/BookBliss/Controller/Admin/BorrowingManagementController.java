@@ -3,6 +3,9 @@ package com.BookBliss.Controller.Admin;
 import com.BookBliss.DTO.Admin.BorrowingManagement.AdminBorrowingDetailsDTO;
 import com.BookBliss.DTO.Admin.BorrowingManagement.BorrowingSearchCriteria;
 import com.BookBliss.DTO.Admin.BorrowingManagement.BorrowingStatusUpdateDTO;
+import com.BookBliss.DTO.Admin.BorrowingManagement.BulkCirculationDTOs;
+import com.BookBliss.DTO.Common.CursorPage;
+import com.BookBliss.DTO.Common.CursorRequest;
 import com.BookBliss.Service.Audit.AuditService;
 
 import com.BookBliss.Service.Borrowing.BorrowingServiceAdmin;
@@ -40,6 +43,13 @@ public class BorrowingManagementController {
         return ResponseEntity.ok(borrowingService.searchBorrowings(searchCriteria, pageable));
     }
 
+    @PostMapping("/search/scroll")
+    public ResponseEntity<CursorPage<AdminBorrowingDetailsDTO>> scrollBorrowings(
+            @RequestBody BorrowingSearchCriteria searchCriteria,
+            @ModelAttribute CursorRequest cursorRequest) {
+        return ResponseEntity.ok(borrowingService.scrollBorrowings(searchCriteria, cursorRequest));
+    }
+
     @GetMapping("/{borrowingId}")
     public ResponseEntity<AdminBorrowingDetailsDTO> getBorrowingById(@PathVariable Long borrowingId) {
         return ResponseEntity.ok(borrowingService.getAdminBorrowingDetails(borrowingId));
@@ -65,6 +75,18 @@ public class BorrowingManagementController {
         return ResponseEntity.ok(borrowingService.processBookReturn(borrowingId));
     }
 
+    @PostMapping("/bulk/check-out")
+    public ResponseEntity<BulkCirculationDTOs.BulkCirculationReport> checkOutBulk(
+            @Valid @RequestBody BulkCirculationDTOs.BulkCheckOutRequest request) {
+        return ResponseEntity.ok(borrowingService.checkOutBulk(request));
+    }
+
+    @PostMapping("/bulk/check-in")
+    public ResponseEntity<BulkCirculationDTOs.BulkCirculationReport> checkInBulk(
+            @RequestBody BulkCirculationDTOs.BulkCheckInRequest request) {
+        return ResponseEntity.ok(borrowingService.checkInBulk(request));
+    }
+
     @PutMapping("/{borrowingId}/fine")
     public ResponseEntity<AdminBorrowingDetailsDTO> adjustFineAmount(
             @PathVariable Long borrowingId,
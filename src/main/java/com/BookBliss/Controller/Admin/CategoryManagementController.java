@@ -1,9 +1,12 @@
 package com.BookBliss.Controller.Admin;
 
 import com.BookBliss.DTO.Admin.CategoryManagement.AdminCategoryDetailsDTO;
+import com.BookBliss.DTO.Admin.CategoryManagement.BookSummaryDTO;
 import com.BookBliss.DTO.Admin.CategoryManagement.CategoryCreateUpdateDTO;
 import com.BookBliss.DTO.Admin.CategoryManagement.CategoryMergeDTO;
 import com.BookBliss.DTO.Admin.CategoryManagement.CategorySearchCriteria;
+import com.BookBliss.DTO.Common.CursorPage;
+import com.BookBliss.DTO.Common.CursorRequest;
 import com.BookBliss.Service.Category.CategoryServiceImpl;
 import com.BookBliss.Service.Audit.AuditService;
 
@@ -76,6 +79,13 @@ public class CategoryManagementController {
         return ResponseEntity.ok(categoryService.getCategoryBooks(categoryId, pageable));
     }
 
+    @GetMapping("/{categoryId}/books/scroll")
+    public ResponseEntity<CursorPage<BookSummaryDTO>> scrollCategoryBooks(
+            @PathVariable Long categoryId,
+            @ModelAttribute CursorRequest cursorRequest) {
+        return ResponseEntity.ok(categoryService.scrollCategoryBooks(categoryId, cursorRequest));
+    }
+
     @PostMapping("/merge")
     public ResponseEntity<AdminCategoryDetailsDTO> mergeCategories(
             @RequestBody @Valid CategoryMergeDTO mergeDTO) {
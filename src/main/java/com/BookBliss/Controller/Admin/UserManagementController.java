@@ -4,6 +4,8 @@ import com.BookBliss.DTO.Admin.UserManagement.AdminUserDetailsDTO;
 import com.BookBliss.DTO.Admin.UserManagement.UserRoleUpdateDTO;
 import com.BookBliss.DTO.Admin.UserManagement.UserSearchCriteria;
 import com.BookBliss.DTO.Admin.UserManagement.UserStatusUpdateDTO;
+import com.BookBliss.DTO.Common.CursorPage;
+import com.BookBliss.DTO.Common.CursorRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -34,6 +36,11 @@ public class UserManagementController {
         return ResponseEntity.ok(userService.getAllUsers(pageable));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<AdminUserDetailsDTO>> scrollUsers(@ModelAttribute CursorRequest cursorRequest) {
+        return ResponseEntity.ok(userService.scrollUsers(cursorRequest));
+    }
+
     @PostMapping("/search")
     public ResponseEntity<Page<AdminUserDetailsDTO>> searchUsers(
             @RequestBody UserSearchCriteria searchCriteria,
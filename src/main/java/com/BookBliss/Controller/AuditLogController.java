@@ -3,6 +3,7 @@ package com.BookBliss.Controller;
 import com.BookBliss.Entity.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -10,6 +11,8 @@ import org.springframework.web.bind.annotation.*;
 
 import com.BookBliss.DTO.Audit.AuditLogDTO;
 import com.BookBliss.DTO.Audit.AuditLogSearchCriteria;
+import com.BookBliss.DTO.Common.CursorPage;
+import com.BookBliss.DTO.Common.CursorRequest;
 import com.BookBliss.Service.Audit.AuditService;
 
 import lombok.RequiredArgsConstructor;
@@ -29,6 +32,22 @@ public class AuditLogController {
         return ResponseEntity.ok(auditService.getSystemAuditLogs(criteria, pageable));
     }
 
+    // Cursor-paginated listing; criteria are passed as query parameters
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<AuditLogDTO>> scrollSystemAuditLogs(
+            @ModelAttribute AuditLogSearchCriteria criteria,
+            @ModelAttribute CursorRequest cursorRequest) {
+        return ResponseEntity.ok(auditService.scrollSystemAuditLogs(criteria, cursorRequest));
+    }
+
+    // Months already dropped from the table, read from the archive files
+    @GetMapping("/archive")
+    public ResponseEntity<Page<AuditLogDTO>> getArchivedAuditLogs(
+            @ModelAttribute AuditLogSearchCriteria criteria,
+            @PageableDefault(size = 20, sort = "timestamp", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(auditService.getArchivedAuditLogs(criteria, pageable));
+    }
+
     @GetMapping("/users/{userId}")
     public ResponseEntity<Page<AuditLogDTO>> getUserAuditLogs(
             @PathVariable Long userId,
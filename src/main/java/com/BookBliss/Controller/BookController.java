@@ -1,6 +1,8 @@
 package com.BookBliss.Controller;
 
 import com.BookBliss.DTO.Books.*;
+import com.BookBliss.DTO.Common.CursorPage;
+import com.BookBliss.DTO.Common.CursorRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -50,6 +52,13 @@ public class BookController {
         return ResponseEntity.ok(bookService.searchBooks(q, limit));
     }
 
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<BookSearchResponse>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(bookService.autocomplete(q, limit));
+    }
+
     // feb 6
     @GetMapping("/dynamic-search")
     public ResponseEntity<DynamicSearchResponse> searchDynamicBooks(
@@ -211,6 +220,38 @@ public class BookController {
         return ResponseEntity.ok(bookService.findBooksByFilter(filterDTO, pageable));
     }
 
+    // Cursor-paginated variant of /filter: pass the returned nextCursor back as ?cursor=
+    // sort is one of id, title, author, createdAt; count is NONE, EXACT or ESTIMATED
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<BookSummaryDTO>> scrollBooks(
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
+            @RequestParam(required = false) List<String> categories,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String publisher,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @ModelAttribute CursorRequest cursorRequest) {
+
+        BookFilterDTO filterDTO = BookFilterDTO.builder()
+                .available(available)
+                .yearFrom(yearFrom)
+                .yearTo(yearTo)
+                .categories(categories)
+                .keyword(keyword)
+                .title(title)
+                .author(author)
+                .publisher(publisher)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .build();
+
+        return ResponseEntity.ok(bookService.scrollBooks(filterDTO, cursorRequest));
+    }
+
     // Simplified search endpoint for full-text search across multiple fields
     @GetMapping("/criteria-search")
     public ResponseEntity<Page<BookSummaryDTO>> searchBookscriteria(
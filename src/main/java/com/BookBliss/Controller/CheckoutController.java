@@ -96,9 +96,8 @@ public class CheckoutController {
     @PostMapping("/update-overdue")
     @PreAuthorize("hasRole('LIBRARIAN') or hasRole('ADMIN')")
     @Operation(summary = "Update overdue checkouts (librarian/admin only)")
-    public ResponseEntity<Void> updateOverdueCheckouts() {
-        checkoutService.updateOverdueCheckouts();
-        return ResponseEntity.ok().build();
+    public ResponseEntity<CheckoutDTOs.OverdueProcessingReport> updateOverdueCheckouts() {
+        return ResponseEntity.ok(checkoutService.updateOverdueCheckouts());
     }
 
 }
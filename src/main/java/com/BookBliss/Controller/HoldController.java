@@ -0,0 +1,40 @@
+package com.BookBliss.Controller;
+
+import com.BookBliss.DTO.Reservation.HoldDTO;
+import com.BookBliss.Service.Reservation.HoldQueueService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/holds")
+@RequiredArgsConstructor
+@Tag(name = "Holds", description = "Hold queue APIs for titles with no copies left")
+public class HoldController {
+
+    private final HoldQueueService holdQueueService;
+
+    @PostMapping("/books/{bookId}")
+    @Operation(summary = "Join the hold queue of a book")
+    public ResponseEntity<HoldDTO> placeHold(@PathVariable Long bookId, @RequestParam Long userId) {
+        return new ResponseEntity<>(holdQueueService.placeHold(userId, bookId), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/me")
+    @Operation(summary = "Get all holds of the current user with their queue positions")
+    public ResponseEntity<List<HoldDTO>> getUserHolds(@RequestParam Long userId) {
+        return ResponseEntity.ok(holdQueueService.getUserHolds(userId));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancel a hold; a held copy passes to the next reader in the queue")
+    public ResponseEntity<Void> cancelHold(@PathVariable Long id, @RequestParam Long userId) {
+        holdQueueService.cancelHold(userId, id);
+        return ResponseEntity.noContent().build();
+    }
+}
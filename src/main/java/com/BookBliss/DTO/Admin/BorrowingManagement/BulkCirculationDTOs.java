@@ -0,0 +1,103 @@
+package com.BookBliss.DTO.Admin.BorrowingManagement;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BulkCirculationDTOs {
+
+    public enum ItemOutcome {
+        CHECKED_OUT,
+        CHECKED_IN,
+        DUPLICATE,
+        USER_NOT_FOUND,
+        BOOK_NOT_FOUND,
+        BORROWING_NOT_FOUND,
+        ALREADY_RETURNED,
+        ALREADY_BORROWED,
+        NO_ACTIVE_LOAN,
+        AMBIGUOUS,
+        LIMIT_REACHED,
+        HAS_OVERDUE,
+        NO_COPIES
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CheckOutItem {
+        @NotNull(message = "User ID is required")
+        private Long userId;
+
+        @NotBlank(message = "ISBN is required")
+        private String isbn;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkCheckOutRequest {
+        @NotEmpty(message = "At least one item is required")
+        private List<@Valid CheckOutItem> items;
+
+        @Min(value = 1, message = "Borrowing days must be at least 1")
+        private Integer borrowingDays;
+    }
+
+    /**
+     * Returns to check in, by borrowing id or by ISBN. ISBNs are matched against the loans of
+     * {@code userId} when given; without it an ISBN only matches a title with a single active loan.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkCheckInRequest {
+        private Long userId;
+        private List<Long> borrowingIds;
+        private List<String> isbns;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkItemResult {
+        private int index;
+        private String reference;
+        private ItemOutcome outcome;
+        private boolean success;
+        private Long borrowingId;
+        private Long userId;
+        private Long bookId;
+        private BigDecimal fineAmount;
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        private LocalDateTime dueDate;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkCirculationReport {
+        private int requested;
+        private int succeeded;
+        private int failed;
+        private long durationMs;
+        private List<BulkItemResult> items;
+    }
+}
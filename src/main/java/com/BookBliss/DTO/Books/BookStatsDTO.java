@@ -0,0 +1,25 @@
+package com.BookBliss.DTO.Books;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregated engagement figures for a single book, used to enrich summary and detail DTOs.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookStatsDTO {
+    private Long bookId;
+    private double averageRating;
+    private long ratingCount;
+    private long borrowCount;
+    private long wishlistCount;
+
+    public static BookStatsDTO empty(Long bookId) {
+        return BookStatsDTO.builder().bookId(bookId).build();
+    }
+}
@@ -99,4 +99,19 @@ public class CheckoutDTOs {
         @Size(max = 500, message = "Additional notes cannot exceed 500 characters")
         private String additionalNotes;
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class OverdueProcessingReport {
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate cutoffDate;
+
+        private Long fromId;
+        private Long toId;
+        private int chunks;
+        private long checkoutsUpdated;
+        private long durationMs;
+    }
 }
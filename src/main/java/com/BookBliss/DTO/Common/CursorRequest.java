@@ -0,0 +1,32 @@
+package com.BookBliss.DTO.Common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Request for one keyset page, bound from the {@code cursor}, {@code size}, {@code sort},
+ * {@code direction} and {@code count} query parameters. The cursor is the {@code nextCursor}
+ * of the previous page and is absent for the first one.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorRequest {
+
+    public enum CountMode {
+        /** No count query at all. */
+        NONE,
+        /** {@code COUNT(*)} over the filtered rows. */
+        EXACT,
+        /** Table statistics for unfiltered listings, an exact count otherwise. */
+        ESTIMATED
+    }
+
+    private String cursor;
+    private int size = 20;
+    private String sort = "id";
+    private Sort.Direction direction = Sort.Direction.DESC;
+    private CountMode count = CountMode.NONE;
+}
@@ -0,0 +1,27 @@
+package com.BookBliss.DTO.Reservation;
+
+import com.BookBliss.Entity.Reservation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldDTO {
+    private Long id;
+    private Long userId;
+    private Long bookId;
+    private String bookTitle;
+    private Reservation.ReservationStatus status;
+    private LocalDateTime reservationDate;
+    private LocalDateTime readyAt;
+    private LocalDateTime expirationDate;
+
+    // Number of reservations ahead in the queue while waiting; null otherwise
+    private Long queuePosition;
+}
@@ -1,12 +1,15 @@
 package com.BookBliss.Entity;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.BookBliss.Config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -17,14 +20,16 @@ import java.util.Set;
 @Table(name = "books",indexes = {
         @Index(name = "idx_book_isbn", columnList = "isbn"),
         @Index(name = "idx_book_title", columnList = "title"),
-        @Index(name = "idx_book_author", columnList = "author")
+        @Index(name = "idx_book_author", columnList = "author"),
+        @Index(name = "idx_book_created_at", columnList = "createdAt")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.BOOK)
+@NaturalIdCache(region = HibernateCacheConfig.BOOK_ISBN)
 public class Book {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -52,6 +57,7 @@ public class Book {
     @NotBlank(message = "ISBN is required")
     @Pattern(regexp = "^(?:ISBN(?:-13)?:? )?(?=[0-9]{13}$|(?=(?:[0-9]+[- ]){4})([0-9]+[- ]){3}[0-9]+$)97[89][- ]?[0-9]{1,5}[- ]?[0-9]+[- ]?[0-9]+[- ]?[0-9]$", 
              message = "Invalid ISBN format")
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true, length = 13)
     private String isbn;
 
@@ -86,10 +92,12 @@ public class Book {
     // Many-to-Many relationship with Categories
     @JsonManagedReference
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.BOOK_CATEGORIES)
     @JoinTable(
         name = "book_categories",
         joinColumns = @JoinColumn(name = "book_id"),
-        inverseJoinColumns = @JoinColumn(name = "category_id")
+        inverseJoinColumns = @JoinColumn(name = "category_id"),
+        indexes = @Index(name = "idx_book_categories_category_book", columnList = "category_id, book_id")
     )
     private Set<Category> categories;
 
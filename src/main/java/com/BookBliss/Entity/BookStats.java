@@ -0,0 +1,46 @@
+package com.BookBliss.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Materialized per-book engagement figures.
+ * <p>
+ * One row per {@link Book}, maintained incrementally by the review, borrowing and wishlist
+ * write paths and periodically rebuilt from the source tables to repair drift.
+ */
+@Entity
+@Table(name = "book_stats", indexes = {
+        @Index(name = "idx_book_stats_avg_rating", columnList = "average_rating"),
+        @Index(name = "idx_book_stats_borrow_count", columnList = "borrow_count")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookStats {
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "average_rating", nullable = false)
+    private double averageRating;
+
+    @Column(name = "borrow_count", nullable = false)
+    private long borrowCount;
+
+    @Column(name = "wishlist_count", nullable = false)
+    private long wishlistCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
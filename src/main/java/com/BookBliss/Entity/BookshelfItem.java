@@ -1,14 +1,18 @@
 package com.BookBliss.Entity;
 
+import com.BookBliss.Config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.BOOKSHELF_ITEM)
 @Table(name = "bookshelf_items",
         uniqueConstraints = @UniqueConstraint(columnNames = {"bookshelf_id", "book_id"}),
         indexes = {
@@ -2,6 +2,9 @@ package com.BookBliss.Entity;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
 import org.hibernate.annotations.CreationTimestamp;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -12,7 +15,8 @@ import lombok.*;
 @Table(name = "borrowings" , indexes = {
         @Index(name = "idx_borrowing_user", columnList = "user_id"),
         @Index(name = "idx_borrowing_book", columnList = "book_id"),
-        @Index(name = "idx_borrowing_status", columnList = "status")
+        @Index(name = "idx_borrowing_status_due_date", columnList = "status, due_date"),
+        @Index(name = "idx_borrowing_borrow_date", columnList = "borrow_date")
 })
 @Getter
 @Setter
@@ -20,6 +24,9 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 public class Borrowing {
+    /** Statuses of a loan whose copy is still out: BORROWED, or OVERDUE once the due date passed. */
+    public static final Set<BorrowingStatus> ACTIVE_STATUSES = EnumSet.of(BorrowingStatus.BORROWED, BorrowingStatus.OVERDUE);
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -1,9 +1,12 @@
 package com.BookBliss.Entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.BookBliss.Config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,6 +15,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.CATEGORY)
 @Table(name = "categories", indexes = {
         @Index(name = "idx_category_name", columnList = "name")
 })
@@ -1,5 +1,6 @@
 package com.BookBliss.Entity;
 
+import com.BookBliss.Config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -15,14 +16,14 @@ import java.time.LocalDateTime;
 @Table(name = "checkouts", indexes = {
         @Index(name = "idx_checkout_user", columnList = "user_id"),
         @Index(name = "idx_checkout_bookshelf", columnList = "bookshelf_id"),
-        @Index(name = "idx_checkout_status", columnList = "status")
+        @Index(name = "idx_checkout_status_due_date", columnList = "status, dueDate")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.CHECKOUT)
 public class Checkout {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
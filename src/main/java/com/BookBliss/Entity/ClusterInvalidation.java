@@ -0,0 +1,43 @@
+package com.BookBliss.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row of the cluster invalidation bus. Every node appends the invalidations it
+ * originates and polls for rows written by the others; rows are purged after a retention period.
+ */
+@Entity
+@Table(name = "cluster_invalidations", indexes = {
+        @Index(name = "idx_cluster_invalidations_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClusterInvalidation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "message_id", nullable = false, length = 36)
+    private String messageId;
+
+    @Column(name = "origin_node", nullable = false, length = 36)
+    private String originNode;
+
+    @Column(nullable = false, length = 64)
+    private String region;
+
+    @Column(name = "cache_key", length = 512)
+    private String cacheKey;
+
+    @Column(name = "expires_at_ms")
+    private Long expiresAtMs;
+
+    @Column(name = "created_at", nullable = false, columnDefinition = "DATETIME(3)")
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,6 @@
 package com.BookBliss.Entity;
 
+import com.BookBliss.Config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
@@ -20,7 +21,7 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.BOOKSHELF)
 public class MyBookshelf {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -43,6 +44,7 @@ public class MyBookshelf {
     private LocalDateTime updatedAt;
 
     @OneToMany(mappedBy = "bookshelf", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.BOOKSHELF_ITEMS)
     private Set<BookshelfItem> bookshelfItems = new HashSet<>();
 
     // Enum for bookshelf status
@@ -9,7 +9,11 @@ import lombok.*;
 
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservation_book_status", columnList = "book_id, status, id"),
+        @Index(name = "idx_reservation_status_expiration", columnList = "status, expiration_date"),
+        @Index(name = "idx_reservation_user", columnList = "user_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -44,9 +48,18 @@ public class Reservation {
     @Column(nullable = false)
     private ReservationStatus status;
 
+    // Set when a returned copy is held for this reservation
+    @Column(name = "ready_at")
+    private LocalDateTime readyAt;
+
+    @Column(name = "notified_at")
+    private LocalDateTime notifiedAt;
+
     public enum ReservationStatus {
-        ACTIVE,
+        ACTIVE,         // Waiting in the title's hold queue
+        READY,          // A copy is held until expirationDate
         CANCELLED,
-        FULFILLED
+        FULFILLED,      // The held copy was borrowed
+        EXPIRED         // Not claimed in time, or waited longer than allowed
     }
 }
@@ -10,17 +10,20 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "search_history")
+@Table(name = "search_history",
+        uniqueConstraints = @UniqueConstraint(name = "uk_search_history_user_term", columnNames = {"user_id", "search_term"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class SearchHistory {
+    public static final int MAX_TERM_LENGTH = 255;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
+    @Column(nullable = false, length = MAX_TERM_LENGTH)
     private String searchTerm;
 
     @Column(nullable = false)
@@ -1,5 +1,6 @@
 package com.BookBliss.Entity;
 
+import com.BookBliss.Config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
@@ -17,7 +18,7 @@ import java.util.UUID;
                 @Index(name = "idx_token_user_id", columnList = "user_id"),
                 @Index(name = "idx_token_type", columnList = "token_type")
         })
-@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.TOKEN)
 @Getter
 @Setter
 @NoArgsConstructor
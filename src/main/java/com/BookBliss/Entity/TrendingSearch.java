@@ -0,0 +1,31 @@
+package com.BookBliss.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodic snapshot of the in-memory trending-searches tracker, used to warm it up on restart.
+ * Scores are decayed popularity as of {@code snapshotAt}.
+ */
+@Entity
+@Table(name = "trending_searches")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingSearch {
+    public static final int MAX_TERM_LENGTH = 255;
+
+    @Id
+    @Column(name = "search_term", length = MAX_TERM_LENGTH)
+    private String searchTerm;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "snapshot_at", nullable = false)
+    private LocalDateTime snapshotAt;
+}
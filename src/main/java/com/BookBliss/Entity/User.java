@@ -1,10 +1,13 @@
 package com.BookBliss.Entity;
 
+import com.BookBliss.Config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.Cache;
 
@@ -17,9 +20,11 @@ import java.time.LocalDateTime;
            @UniqueConstraint(columnNames = "email")
        },indexes = {
 @Index(name = "idx_user_email", columnList = "email"),
-@Index(name = "idx_user_username", columnList = "username")
+@Index(name = "idx_user_username", columnList = "username"),
+@Index(name = "idx_user_created_at", columnList = "createdAt")
 })
-@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.USER)
+@NaturalIdCache(region = HibernateCacheConfig.USER_USERNAME)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -32,6 +37,7 @@ public class User {
 
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true, length = 50)
     private String username;
 
@@ -0,0 +1,32 @@
+package com.BookBliss.Events.Books;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever a book is created, updated or deleted so that in-memory
+ * catalog structures can refresh themselves once the transaction commits.
+ */
+@Getter
+@ToString
+public class BookChangedEvent extends ApplicationEvent {
+    private final Long bookId;
+    private final ChangeType changeType;
+    private final LocalDateTime eventTime;
+
+    public BookChangedEvent(Object source, Long bookId, ChangeType changeType) {
+        super(source);
+        this.bookId = bookId;
+        this.changeType = changeType;
+        this.eventTime = LocalDateTime.now();
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,27 @@
+package com.BookBliss.Events.Books;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published when the availability or activity figures of books change (borrows, returns,
+ * reviews, wishlists) without the catalog entry itself being edited, so that cached per-book
+ * views can be refreshed once the transaction commits.
+ */
+@Getter
+@ToString
+public class BookDetailsChangedEvent extends ApplicationEvent {
+    private final List<Long> bookIds;
+    private final LocalDateTime eventTime;
+
+    public BookDetailsChangedEvent(Object source, Collection<Long> bookIds) {
+        super(source);
+        this.bookIds = List.copyOf(bookIds);
+        this.eventTime = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,24 @@
+package com.BookBliss.Events.Borrowings;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when an active borrowing gets a due date, so that the due-date scheduler can wake
+ * up exactly when it falls due once the transaction commits.
+ */
+@Getter
+@ToString
+public class BorrowingDueDateSetEvent extends ApplicationEvent {
+    private final Long borrowingId;
+    private final LocalDateTime dueDate;
+
+    public BorrowingDueDateSetEvent(Object source, Long borrowingId, LocalDateTime dueDate) {
+        super(source);
+        this.borrowingId = borrowingId;
+        this.dueDate = dueDate;
+    }
+}
@@ -0,0 +1,29 @@
+package com.BookBliss.Events.Borrowings;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published after a batch of borrowings has been moved from BORROWED to OVERDUE because their
+ * due date passed. {@code userIds} are the borrowers affected by the batch.
+ */
+@Getter
+@ToString
+public class BorrowingsOverdueEvent extends ApplicationEvent {
+    private final List<Long> borrowingIds;
+    private final Set<Long> userIds;
+    private final LocalDateTime eventTime;
+
+    public BorrowingsOverdueEvent(Object source, Collection<Long> borrowingIds, Collection<Long> userIds) {
+        super(source);
+        this.borrowingIds = List.copyOf(borrowingIds);
+        this.userIds = Set.copyOf(userIds);
+        this.eventTime = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,20 @@
+package com.BookBliss.Events.Mail;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when a mail is written to the outbox, so that delivery can start as soon as the
+ * enqueuing transaction commits instead of waiting for the next outbox poll.
+ */
+@Getter
+@ToString
+public class MailQueuedEvent extends ApplicationEvent {
+    private final Long outboxId;
+
+    public MailQueuedEvent(Object source, Long outboxId) {
+        super(source);
+        this.outboxId = outboxId;
+    }
+}
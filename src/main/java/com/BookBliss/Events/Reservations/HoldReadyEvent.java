@@ -0,0 +1,26 @@
+package com.BookBliss.Events.Reservations;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a returned copy is held for a reservation, so that the hold can be expired
+ * once its pickup window closes.
+ */
+@Getter
+@ToString
+public class HoldReadyEvent extends ApplicationEvent {
+    private final Long reservationId;
+    private final Long bookId;
+    private final LocalDateTime expiresAt;
+
+    public HoldReadyEvent(Object source, Long reservationId, Long bookId, LocalDateTime expiresAt) {
+        super(source);
+        this.reservationId = reservationId;
+        this.bookId = bookId;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -4,24 +4,35 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 
+import com.BookBliss.Config.HibernateCacheConfig;
 import com.BookBliss.Entity.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
     
     
     /** Find a book by its ISBN. */
     Book findByIsbn(String isbn);
 
+    /** {@code [id, isbn]} of the books with the given ISBNs. */
+    @Query("SELECT b.id, b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    List<Object[]> findIdsByIsbns(@Param("isbns") Collection<String> isbns);
+
     /** Find books by author. */
     List<Book> findByAuthor(String author);
 
@@ -122,9 +133,75 @@ public interface BookRepository extends JpaRepository<Book, Long> {
             "WHERE c.id = :categoryId")
     Page<Book> findBooksByCategory(Long categoryId, Pageable pageable);
 
+    /**
+     * Summaries of a category's books, projected in the query so that only the requested page
+     * is read. Filtering goes through {@code idx_book_categories_category_book}.
+     */
+    @Query(value = "SELECT new com.BookBliss.DTO.Admin.CategoryManagement.BookSummaryDTO(b.id, b.title, b.author, b.isbn) " +
+            "FROM Book b JOIN b.categories c WHERE c.id = :categoryId",
+            countQuery = "SELECT COUNT(b) FROM Book b JOIN b.categories c WHERE c.id = :categoryId")
+    Page<com.BookBliss.DTO.Admin.CategoryManagement.BookSummaryDTO> findSummariesByCategoryId(
+            @Param("categoryId") Long categoryId, Pageable pageable);
+
+    long countByCategoriesId(Long categoryId);
+
     Page<Book> findByAvailableCopiesLessThanEqual(int threshold, Pageable pageable);
 
     @Query("SELECT COUNT(b) > 0 FROM Book b WHERE b.id = :bookId AND b.createdAt > :date")
     boolean isBookNew(@Param("bookId") Long bookId, @Param("date") LocalDateTime date);
-}
 
+    /** Books with their categories initialized, for building in-memory catalog structures. */
+    @Query("SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.categories WHERE b.id IN :ids")
+    List<Book> findAllWithCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** Book ids greater than {@code afterId} in ascending order, for batched id-range scans. */
+    @Query("SELECT b.id FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Takes {@code quantity} copies only if that many are available. Returns the number of
+     * updated rows, so 0 means the book is missing or short of copies. The update is kept out of
+     * the {@code books} cache space so it does not clear the whole second-level book region;
+     * the affected book is evicted once the change commits.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = HibernateCacheConfig.BOOK_INVENTORY_SPACE))
+    @Query(value = "UPDATE books SET available_copies = available_copies - :quantity " +
+            "WHERE id = :bookId AND available_copies >= :quantity", nativeQuery = true)
+    int reserveCopies(@Param("bookId") Long bookId, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = HibernateCacheConfig.BOOK_INVENTORY_SPACE))
+    @Query(value = "UPDATE books SET available_copies = available_copies + :quantity " +
+            "WHERE id = :bookId", nativeQuery = true)
+    int releaseCopies(@Param("bookId") Long bookId, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = HibernateCacheConfig.BOOK_INVENTORY_SPACE))
+    @Query(value = "UPDATE books SET total_copies = GREATEST(total_copies + :delta, available_copies) " +
+            "WHERE id = :bookId", nativeQuery = true)
+    int adjustTotalCopies(@Param("bookId") Long bookId, @Param("delta") int delta);
+
+    /**
+     * Sets available copies to total copies minus the copies out on active borrowings and
+     * checkouts and the copies held for READY reservations, for every book. Declares the {@code books} table as its query space, so Hibernate
+     * evicts the cached books only rather than every second-level region.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "books"))
+    @Query(value = "UPDATE books b " +
+            "LEFT JOIN (SELECT book_id, COUNT(*) AS copies FROM borrowings " +
+            "           WHERE book_id IS NOT NULL AND status IN ('BORROWED', 'OVERDUE') GROUP BY book_id) br " +
+            "       ON br.book_id = b.id " +
+            "LEFT JOIN (SELECT bi.book_id, SUM(bi.quantity) AS copies FROM bookshelf_items bi " +
+            "           JOIN checkouts c ON c.bookshelf_id = bi.bookshelf_id " +
+            "           WHERE c.status IN ('BORROWED', 'OVERDUE') GROUP BY bi.book_id) co " +
+            "       ON co.book_id = b.id " +
+            "LEFT JOIN (SELECT book_id, COUNT(*) AS copies FROM reservations " +
+            "           WHERE book_id IS NOT NULL AND status = 'READY' GROUP BY book_id) rs " +
+            "       ON rs.book_id = b.id " +
+            "SET b.available_copies = GREATEST(b.total_copies - COALESCE(br.copies, 0) - COALESCE(co.copies, 0) " +
+            "                                  - COALESCE(rs.copies, 0), 0)",
+            nativeQuery = true)
+    int recomputeAvailableCopies();
+}
@@ -0,0 +1,69 @@
+package com.BookBliss.Repository;
+
+import com.BookBliss.Entity.BookStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookStatsRepository extends JpaRepository<BookStats, Long> {
+
+    List<BookStats> findByBookIdIn(Collection<Long> bookIds);
+
+    /**
+     * Atomically applies a rating delta. The average is assigned first so that it is computed
+     * from the pre-update sum and count regardless of how the database orders assignments.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "book_stats"))
+    @Query(value = "UPDATE book_stats SET " +
+            "average_rating = CASE WHEN rating_count + :countDelta > 0 " +
+            "  THEN (rating_sum + :ratingDelta) / (rating_count + :countDelta) ELSE 0 END, " +
+            "rating_sum = rating_sum + :ratingDelta, " +
+            "rating_count = rating_count + :countDelta, " +
+            "updated_at = NOW() " +
+            "WHERE book_id = :bookId", nativeQuery = true)
+    int applyRatingDelta(@Param("bookId") Long bookId,
+                         @Param("ratingDelta") long ratingDelta,
+                         @Param("countDelta") long countDelta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "book_stats"))
+    @Query(value = "UPDATE book_stats SET borrow_count = GREATEST(borrow_count + :delta, 0), updated_at = NOW() " +
+            "WHERE book_id = :bookId", nativeQuery = true)
+    int applyBorrowDelta(@Param("bookId") Long bookId, @Param("delta") long delta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "book_stats"))
+    @Query(value = "UPDATE book_stats SET wishlist_count = GREATEST(wishlist_count + :delta, 0), updated_at = NOW() " +
+            "WHERE book_id = :bookId", nativeQuery = true)
+    int applyWishlistDelta(@Param("bookId") Long bookId, @Param("delta") long delta);
+
+    /** Replaces the stored figures with freshly computed ones (used by the rebuild job). */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "book_stats"))
+    @Query(value = "INSERT INTO book_stats " +
+            "(book_id, rating_sum, rating_count, average_rating, borrow_count, wishlist_count, updated_at) " +
+            "VALUES (:bookId, :ratingSum, :ratingCount, :averageRating, :borrowCount, :wishlistCount, NOW()) " +
+            "ON DUPLICATE KEY UPDATE rating_sum = VALUES(rating_sum), rating_count = VALUES(rating_count), " +
+            "average_rating = VALUES(average_rating), borrow_count = VALUES(borrow_count), " +
+            "wishlist_count = VALUES(wishlist_count), updated_at = VALUES(updated_at)", nativeQuery = true)
+    int upsert(@Param("bookId") Long bookId,
+               @Param("ratingSum") long ratingSum,
+               @Param("ratingCount") long ratingCount,
+               @Param("averageRating") double averageRating,
+               @Param("borrowCount") long borrowCount,
+               @Param("wishlistCount") long wishlistCount);
+
+    @Modifying
+    @Query("DELETE FROM BookStats s WHERE s.bookId NOT IN (SELECT b.id FROM Book b)")
+    int deleteOrphans();
+}
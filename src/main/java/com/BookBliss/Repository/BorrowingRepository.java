@@ -1,6 +1,7 @@
 package com.BookBliss.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,6 +10,8 @@ import com.BookBliss.Entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,27 +19,67 @@ import org.springframework.stereotype.Repository;
 import com.BookBliss.Entity.Borrowing;
 
 @Repository
-public interface BorrowingRepository extends JpaRepository<Borrowing, Long> {
+public interface BorrowingRepository extends JpaRepository<Borrowing, Long>, JpaSpecificationExecutor<Borrowing> {
     List<Borrowing> findByUserId(Long userId);
     boolean existsByBookIdAndStatus(Long bookId, Borrowing.BorrowingStatus status);
-    boolean existsByJournalIdAndStatus(Long journalId, Borrowing.BorrowingStatus status);
+    boolean existsByJournalIdAndStatusIn(Long journalId, Collection<Borrowing.BorrowingStatus> statuses);
     
  // Added methods
     long countByUserIdAndStatus(Long userId, Borrowing.BorrowingStatus status);
     boolean existsByUserIdAndStatus(Long userId, Borrowing.BorrowingStatus status);
 
-    Optional<Borrowing> findByUserAndBookAndStatus(User user, Book book, Borrowing.BorrowingStatus status);
+    Optional<Borrowing> findFirstByUserAndBookAndStatusIn(User user, Book book, Collection<Borrowing.BorrowingStatus> statuses);
 
     Long countByBookId(Long id);
 
     @Query("SELECT b FROM Borrowing b WHERE b.book.id = :bookId ORDER BY b.borrowDate DESC")
     Optional<Borrowing> findLatestBorrowingByBookId(@Param("bookId") Long bookId);
 
-    Page<Borrowing> findByStatusOrDueDateBefore(Borrowing.BorrowingStatus borrowingStatus, LocalDateTime now, Pageable pageable);
+    Page<Borrowing> findByStatus(Borrowing.BorrowingStatus borrowingStatus, Pageable pageable);
 
     long countByStatus(Borrowing.BorrowingStatus borrowingStatus);
 
-    long countByStatusAndDueDateBefore(Borrowing.BorrowingStatus borrowingStatus, LocalDateTime now);
+    long countByStatusIn(Collection<Borrowing.BorrowingStatus> statuses);
+
+    /** {@code [id, dueDate]} of borrowings with a given status falling due in {@code (from, to]}, earliest first. */
+    @Query("SELECT b.id, b.dueDate FROM Borrowing b WHERE b.status = :status AND b.dueDate > :from AND b.dueDate <= :to " +
+            "ORDER BY b.dueDate, b.id")
+    List<Object[]> findDueBetween(@Param("status") Borrowing.BorrowingStatus status,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to,
+                                  Pageable pageable);
+
+    /** Locks up to {@code limit} active borrowings past their due date and returns {@code [id, user_id]}. */
+    @Query(value = "SELECT id, user_id FROM borrowings WHERE status = 'BORROWED' AND due_date <= :now " +
+            "ORDER BY due_date, id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockDueBorrowings(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Borrowing b SET b.status = :to WHERE b.id IN :ids AND b.status = :from")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("from") Borrowing.BorrowingStatus from,
+                         @Param("to") Borrowing.BorrowingStatus to);
+
+    /** {@code [id, bookId, status]} of a user's borrowings in the given statuses; bookId is null for journals. */
+    @Query("SELECT b.id, bk.id, b.status FROM Borrowing b LEFT JOIN b.book bk " +
+            "WHERE b.user.id = :userId AND b.status IN :statuses")
+    List<Object[]> findCirculationRows(@Param("userId") Long userId,
+                                       @Param("statuses") Collection<Borrowing.BorrowingStatus> statuses);
+
+    /** Locks the given borrowings and returns {@code [id, user_id, book_id, journal_id, status, due_date]}. */
+    @Query(value = "SELECT id, user_id, book_id, journal_id, status, due_date FROM borrowings " +
+            "WHERE id IN (:ids) FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockLoanRows(@Param("ids") Collection<Long> ids);
+
+    /** Locks the active loans of the given books, earliest due first, in the shape of {@link #lockLoanRows}. */
+    @Query(value = "SELECT id, user_id, book_id, journal_id, status, due_date FROM borrowings " +
+            "WHERE book_id IN (:bookIds) AND status IN ('BORROWED', 'OVERDUE') ORDER BY due_date, id FOR UPDATE",
+            nativeQuery = true)
+    List<Object[]> lockActiveLoanRowsByBookIds(@Param("bookIds") Collection<Long> bookIds);
+
+    /** Borrow count per book as [bookId, count] rows. */
+    @Query("SELECT b.book.id, COUNT(b) FROM Borrowing b WHERE b.book.id IN :bookIds GROUP BY b.book.id")
+    List<Object[]> countByBookIds(@Param("bookIds") Collection<Long> bookIds);
 
 
 }
\ No newline at end of file
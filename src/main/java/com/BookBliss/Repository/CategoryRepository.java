@@ -1,13 +1,18 @@
 package com.BookBliss.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -28,4 +33,24 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 	double getAverageBookCount();
 
 	Page<Category> findAll(Specification<Category> spec, Pageable pageable);
+
+	@Modifying
+	@Query("UPDATE Category c SET c.bookCount = GREATEST(c.bookCount + :delta, 0) WHERE c.id IN :ids")
+	int adjustBookCounts(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+
+	/** Recounts one category from the join table. */
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "categories"))
+	@Query(value = "UPDATE categories SET book_count = " +
+			"(SELECT COUNT(*) FROM book_categories WHERE category_id = :categoryId) " +
+			"WHERE id = :categoryId", nativeQuery = true)
+	int recountBookCount(@Param("categoryId") Long categoryId);
+
+	/** Recounts every category from the join table, writing only the rows that drifted. */
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "categories"))
+	@Query(value = "UPDATE categories c SET c.book_count = " +
+			"(SELECT COUNT(*) FROM book_categories bc WHERE bc.category_id = c.id) " +
+			"WHERE c.book_count <> (SELECT COUNT(*) FROM book_categories bc WHERE bc.category_id = c.id)", nativeQuery = true)
+	int reconcileBookCounts();
 }
@@ -3,10 +3,12 @@ package com.BookBliss.Repository;
 import com.BookBliss.Entity.Checkout;
 import com.BookBliss.Entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +27,20 @@ public interface CheckoutRepository extends JpaRepository<Checkout, Long> {
     @Query("SELECT c FROM Checkout c WHERE c.dueDate < :currentDate AND c.status = :status")
     List<Checkout> findOverdueCheckouts(@Param("currentDate") LocalDate currentDate, @Param("status") Checkout.CheckoutStatus status);
 
+    /** {@code [min(id), max(id)]} of checkouts in a status that fell due before {@code currentDate}. */
+    @Query("SELECT MIN(c.id), MAX(c.id) FROM Checkout c WHERE c.status = :status AND c.dueDate < :currentDate")
+    List<Object[]> findOverdueIdRange(@Param("currentDate") LocalDate currentDate, @Param("status") Checkout.CheckoutStatus status);
+
+    @Modifying
+    @Query("UPDATE Checkout c SET c.status = :to, c.updatedAt = :now " +
+            "WHERE c.id BETWEEN :fromId AND :toId AND c.status = :from AND c.dueDate < :currentDate")
+    int transitionOverdueInRange(@Param("fromId") Long fromId,
+                                 @Param("toId") Long toId,
+                                 @Param("currentDate") LocalDate currentDate,
+                                 @Param("from") Checkout.CheckoutStatus from,
+                                 @Param("to") Checkout.CheckoutStatus to,
+                                 @Param("now") LocalDateTime now);
+
     @Query("SELECT c FROM Checkout c WHERE c.bookshelf.id = :bookshelfId")
     Optional<Checkout> findByBookshelfId(@Param("bookshelfId") Long bookshelfId);
 
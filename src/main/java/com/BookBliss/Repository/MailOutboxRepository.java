@@ -0,0 +1,45 @@
+package com.BookBliss.Repository;
+
+import com.BookBliss.Entity.MailOutbox;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    /**
+     * Atomically marks up to {@code limit} due mails as being sent under {@code token}. Concurrent
+     * dispatchers claim disjoint rows, so a mail is handed to at most one of them.
+     */
+    @Modifying
+    @Query(value = "UPDATE mail_outbox SET status = 'SENDING', claim_token = :token, claimed_at = :now " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now ORDER BY next_attempt_at, id LIMIT :limit",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "mail_outbox"))
+    int claimDue(@Param("token") String token, @Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    List<MailOutbox> findByClaimTokenOrderById(String claimToken);
+
+    /** Returns mails claimed by a dispatcher that never reported back (e.g. a crash mid-send). */
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = com.BookBliss.Entity.MailOutbox.Status.PENDING, m.claimToken = null " +
+            "WHERE m.status = com.BookBliss.Entity.MailOutbox.Status.SENDING AND m.claimedAt < :cutoff")
+    int releaseStaleClaims(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM MailOutbox m WHERE m.status = com.BookBliss.Entity.MailOutbox.Status.SENT AND m.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM MailOutbox m WHERE m.status = com.BookBliss.Entity.MailOutbox.Status.FAILED AND m.createdAt < :cutoff")
+    int deleteFailedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,30 @@
+package com.BookBliss.Repository;
+
+import com.BookBliss.Entity.Book;
+import com.BookBliss.Entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Lookups by natural id ({@code Book.isbn}, {@code User.username}). Unlike derived
+ * {@code findBy...} queries these resolve through the natural-id and entity caches, so a
+ * repeated lookup does not reach the database.
+ */
+@Repository
+public class NaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public Optional<Book> findBookByIsbn(String isbn) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Book.class).loadOptional(isbn);
+    }
+
+    public Optional<User> findUserByUsername(String username) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(username);
+    }
+}
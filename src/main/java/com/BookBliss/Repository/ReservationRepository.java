@@ -0,0 +1,76 @@
+package com.BookBliss.Repository;
+
+import com.BookBliss.Entity.Reservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+    /**
+     * Locks the oldest reservations of a title in one status. Concurrent returns of the same
+     * title queue up on these rows, while other titles are not affected.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.book.id = :bookId AND r.status = :status ORDER BY r.id")
+    List<Reservation> lockQueueHead(@Param("bookId") Long bookId,
+                                    @Param("status") Reservation.ReservationStatus status,
+                                    Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> lockById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.user.id = :userId AND r.book.id = :bookId AND r.status = :status")
+    Optional<Reservation> lockByUserAndBook(@Param("userId") Long userId,
+                                            @Param("bookId") Long bookId,
+                                            @Param("status") Reservation.ReservationStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.book.id IN :bookIds AND r.status = :status ORDER BY r.id")
+    List<Reservation> lockByBookIds(@Param("bookIds") Collection<Long> bookIds,
+                                    @Param("status") Reservation.ReservationStatus status);
+
+    boolean existsByUserIdAndBookIdAndStatusIn(Long userId, Long bookId, Collection<Reservation.ReservationStatus> statuses);
+
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.book WHERE r.user.id = :userId ORDER BY r.reservationDate DESC")
+    List<Reservation> findByUserIdWithBook(@Param("userId") Long userId);
+
+    long countByBookIdAndStatusAndIdLessThan(Long bookId, Reservation.ReservationStatus status, Long id);
+
+    /** {@code [id, expirationDate]} of all reservations in a status. */
+    @Query("SELECT r.id, r.expirationDate FROM Reservation r WHERE r.status = :status")
+    List<Object[]> findExpirations(@Param("status") Reservation.ReservationStatus status);
+
+    @Query("SELECT r.id FROM Reservation r WHERE r.status = :status AND r.expirationDate <= :now ORDER BY r.expirationDate")
+    List<Long> findExpiredIds(@Param("status") Reservation.ReservationStatus status,
+                              @Param("now") LocalDateTime now,
+                              Pageable pageable);
+
+    /** Copies are only held by READY reservations, so waiting ones can expire in bulk. */
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = :to WHERE r.status = :from AND r.expirationDate <= :now")
+    int expireAll(@Param("from") Reservation.ReservationStatus from,
+                  @Param("to") Reservation.ReservationStatus to,
+                  @Param("now") LocalDateTime now);
+
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.user JOIN FETCH r.book " +
+            "WHERE r.status = :status AND r.notifiedAt IS NULL ORDER BY r.id")
+    List<Reservation> findUnnotified(@Param("status") Reservation.ReservationStatus status, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Reservation r SET r.notifiedAt = :now WHERE r.id IN :ids")
+    int markNotified(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
@@ -5,6 +5,7 @@ import com.BookBliss.Entity.Journal;
 import com.BookBliss.Entity.Reviews;
 import com.BookBliss.Entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.Query;
@@ -26,4 +27,9 @@ public interface ReviewsRepository extends JpaRepository<Reviews, Long> {
 
     @Query("SELECT COUNT(r) FROM Reviews r WHERE r.book.id = :bookId")
     Long countReviewsByBookId(@Param("bookId") Long bookId);
+
+    /** Rating sum and review count per book as [bookId, sum, count] rows, for a whole batch in one query. */
+    @Query("SELECT r.book.id, SUM(r.rating), COUNT(r) FROM Reviews r " +
+            "WHERE r.book.id IN :bookIds GROUP BY r.book.id")
+    List<Object[]> findRatingStatsByBookIds(@Param("bookIds") Collection<Long> bookIds);
 }
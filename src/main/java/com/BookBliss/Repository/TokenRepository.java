@@ -37,4 +37,13 @@ public interface TokenRepository extends JpaRepository<Token, Long> {
     int deleteAllExpiredTokens(@Param("now") LocalDateTime now);
 
     boolean existsByTokenValueAndRevokedFalse(String tokenValue);
+
+    /** {@code [tokenIdentifier, expiresAt]} of a user's unexpired, unrevoked tokens of one type. */
+    @Query("SELECT t.tokenIdentifier, t.expiresAt FROM Token t " +
+            "WHERE t.user = :user AND t.tokenType = :tokenType AND t.revoked = false AND t.expiresAt > :now")
+    List<Object[]> findActiveTokenIdentifiers(@Param("user") User user, @Param("tokenType") Token.TokenType tokenType, @Param("now") LocalDateTime now);
+
+    /** {@code [tokenIdentifier, expiresAt]} of revoked tokens that have not expired yet. */
+    @Query("SELECT t.tokenIdentifier, t.expiresAt FROM Token t WHERE t.revoked = true AND t.expiresAt > :now")
+    List<Object[]> findRevokedUnexpiredIdentifiers(@Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.BookBliss.Repository;
+
+import com.BookBliss.Entity.TrendingSearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrendingSearchRepository extends JpaRepository<TrendingSearch, String> {
+}
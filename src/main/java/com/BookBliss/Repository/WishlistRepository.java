@@ -2,8 +2,11 @@ package com.BookBliss.Repository;
 
 import com.BookBliss.Entity.WishlistItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +18,8 @@ public interface WishlistRepository extends JpaRepository<WishlistItem, Long> {
     void deleteByUserIdAndBookId(Long userId, Long bookId);
 
     Long countByBookId(Long bookId);
+
+    /** Wishlist count per book as [bookId, count] rows. */
+    @Query("SELECT w.book.id, COUNT(w) FROM WishlistItem w WHERE w.book.id IN :bookIds GROUP BY w.book.id")
+    List<Object[]> countByBookIds(@Param("bookIds") Collection<Long> bookIds);
 }
\ No newline at end of file
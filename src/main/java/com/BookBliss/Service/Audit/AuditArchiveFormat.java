@@ -0,0 +1,272 @@
+package com.BookBliss.Service.Audit;
+
+import com.BookBliss.DTO.Audit.AuditLogDTO;
+import com.BookBliss.Entity.AuditLog;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * On-disk layout of audit archive files ({@code audit_logs-YYYY-MM.aar}).
+ * <p>
+ * A file is an 8-byte magic followed by self-describing blocks that are only ever appended. Each
+ * block has a fixed-size header, which doubles as the sparse index, and a Deflate-compressed
+ * body of length-prefixed rows in id order:
+ * <pre>
+ * int  compressedLength, rawLength, rowCount
+ * long minId, maxId, minTimestamp, maxTimestamp   (timestamps in epoch microseconds, UTC)
+ * long[16] actor bloom filter                     (1024 bits, two probes per actor id)
+ * int  crc32 of the compressed body
+ * </pre>
+ * Readers skip blocks whose id or time range, or actor filter, cannot match. A block cut short
+ * by a crash fails the length check and is treated as the end of the file.
+ */
+final class AuditArchiveFormat {
+
+    static final byte[] MAGIC = "BBAUDIT1".getBytes(StandardCharsets.US_ASCII);
+    static final int BLOOM_WORDS = 16;
+    static final int HEADER_BYTES = 3 * Integer.BYTES + 4 * Long.BYTES + BLOOM_WORDS * Long.BYTES + Integer.BYTES;
+
+    private static final String FILE_PREFIX = "audit_logs-";
+    private static final String FILE_SUFFIX = ".aar";
+
+    private AuditArchiveFormat() {
+    }
+
+    static String fileName(YearMonth month) {
+        return FILE_PREFIX + month + FILE_SUFFIX;
+    }
+
+    /** The month an archive file holds, or {@code null} for other files. */
+    static YearMonth monthOf(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /** Header of one block; {@code offset} is the file position of the header itself. */
+    record BlockHeader(long offset, int compressedLength, int rawLength, int rowCount,
+                       long minId, long maxId, long minMicros, long maxMicros, long[] actorBloom, int crc) {
+
+        long bodyOffset() {
+            return offset + HEADER_BYTES;
+        }
+
+        long end() {
+            return bodyOffset() + compressedLength;
+        }
+
+        boolean overlaps(long fromMicros, long toMicros) {
+            return maxMicros >= fromMicros && minMicros <= toMicros;
+        }
+
+        boolean mightContainActor(long actorId) {
+            for (int bit : bloomBits(actorId)) {
+                if ((actorBloom[bit >>> 6] & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static void writeMagic(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(MAGIC);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, buffer.position());
+        }
+    }
+
+    /** Reads the headers of all complete blocks; an invalid or truncated tail ends the scan. */
+    static List<BlockHeader> scan(FileChannel channel) throws IOException {
+        long size = channel.size();
+        ByteBuffer magic = ByteBuffer.allocate(MAGIC.length);
+        readFully(channel, magic, 0);
+        if (!Arrays.equals(magic.array(), MAGIC)) {
+            throw new IOException("Not an audit archive file");
+        }
+        List<BlockHeader> blocks = new ArrayList<>();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        long position = MAGIC.length;
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(channel, header, position);
+            header.flip();
+            BlockHeader block = readHeader(header, position);
+            if (block.compressedLength() <= 0 || block.end() > size) {
+                break;
+            }
+            blocks.add(block);
+            position = block.end();
+        }
+        return blocks;
+    }
+
+    /** Serializes and compresses rows (in id order) into a complete block, header included. */
+    static ByteBuffer encodeBlock(List<AuditLogDTO> rows, Deflater deflater) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(rows.size() * 128);
+        DataOutputStream out = new DataOutputStream(raw);
+        long[] bloom = new long[BLOOM_WORDS];
+        long minMicros = Long.MAX_VALUE;
+        long maxMicros = Long.MIN_VALUE;
+        for (AuditLogDTO row : rows) {
+            long micros = toMicros(row.getTimestamp());
+            minMicros = Math.min(minMicros, micros);
+            maxMicros = Math.max(maxMicros, micros);
+            for (int bit : bloomBits(row.getActorId())) {
+                bloom[bit >>> 6] |= 1L << (bit & 63);
+            }
+            out.writeLong(row.getId());
+            writeString(out, row.getEntityType().name());
+            out.writeLong(row.getEntityId());
+            writeString(out, row.getAction().name());
+            writeString(out, row.getDetails());
+            out.writeLong(row.getActorId());
+            writeString(out, row.getActorName());
+            out.writeLong(micros);
+            writeString(out, row.getIpAddress());
+        }
+        out.flush();
+        byte[] input = raw.toByteArray();
+
+        deflater.reset();
+        deflater.setInput(input);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(input.length / 4 + 64);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            compressed.write(chunk, 0, deflater.deflate(chunk));
+        }
+        byte[] body = compressed.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        ByteBuffer block = ByteBuffer.allocate(HEADER_BYTES + body.length);
+        block.putInt(body.length).putInt(input.length).putInt(rows.size())
+                .putLong(rows.get(0).getId()).putLong(rows.get(rows.size() - 1).getId())
+                .putLong(minMicros).putLong(maxMicros);
+        for (long word : bloom) {
+            block.putLong(word);
+        }
+        block.putInt((int) crc.getValue()).put(body).flip();
+        return block;
+    }
+
+    /** Inflates and parses the body of {@code block}, read from {@code body}. */
+    static List<AuditLogDTO> decodeBlock(ByteBuffer body, BlockHeader block) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != block.crc()) {
+            throw new IOException("Corrupt audit archive block at offset " + block.offset());
+        }
+        byte[] raw = new byte[block.rawLength()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(body.duplicate());
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                length += inflater.inflate(raw, length, raw.length - length);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt audit archive block at offset " + block.offset(), e);
+        } finally {
+            inflater.end();
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        List<AuditLogDTO> rows = new ArrayList<>(block.rowCount());
+        for (int i = 0; i < block.rowCount(); i++) {
+            rows.add(AuditLogDTO.builder()
+                    .id(in.readLong())
+                    .entityType(AuditLog.EntityType.valueOf(readString(in)))
+                    .entityId(in.readLong())
+                    .action(AuditLog.ActionType.valueOf(readString(in)))
+                    .details(readString(in))
+                    .actorId(in.readLong())
+                    .actorName(readString(in))
+                    .timestamp(fromMicros(in.readLong()))
+                    .ipAddress(readString(in))
+                    .build());
+        }
+        return rows;
+    }
+
+    static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static BlockHeader readHeader(ByteBuffer header, long offset) {
+        int compressedLength = header.getInt();
+        int rawLength = header.getInt();
+        int rowCount = header.getInt();
+        long minId = header.getLong();
+        long maxId = header.getLong();
+        long minMicros = header.getLong();
+        long maxMicros = header.getLong();
+        long[] bloom = new long[BLOOM_WORDS];
+        for (int i = 0; i < BLOOM_WORDS; i++) {
+            bloom[i] = header.getLong();
+        }
+        return new BlockHeader(offset, compressedLength, rawLength, rowCount,
+                minId, maxId, minMicros, maxMicros, bloom, header.getInt());
+    }
+
+    private static int[] bloomBits(long actorId) {
+        long hash = actorId * 0x9E3779B97F4A7C15L;
+        int bits = BLOOM_WORDS * Long.SIZE;
+        return new int[]{(int) ((hash >>> 32) & (bits - 1)), (int) ((hash >>> 11) & (bits - 1))};
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.BookBliss.Service.Audit;
+
+import com.BookBliss.DTO.Audit.AuditLogDTO;
+import com.BookBliss.DTO.Audit.AuditLogSearchCriteria;
+import com.BookBliss.Exception.InvalidOperationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Serves audit queries over archived months straight from the archive files.
+ * <p>
+ * Each file is memory-mapped read-only, in segments of at most 1 GiB that end on block
+ * boundaries, and its block headers are kept as the in-memory index. A query only opens the
+ * months its time range overlaps and only inflates blocks whose time range and actor filter can
+ * match, so archived history never has to be imported back into MySQL. Mappings are reused
+ * until the file grows.
+ */
+@Component
+@Slf4j
+public class AuditArchiveReader {
+
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    private record Segment(long start, long end, MappedByteBuffer buffer) {
+    }
+
+    private record MappedArchive(long size, List<AuditArchiveFormat.BlockHeader> blocks, List<Segment> segments) {
+
+        ByteBuffer body(AuditArchiveFormat.BlockHeader block) {
+            for (Segment segment : segments) {
+                if (block.bodyOffset() >= segment.start() && block.end() <= segment.end()) {
+                    return segment.buffer().slice((int) (block.bodyOffset() - segment.start()), block.compressedLength());
+                }
+            }
+            throw new IllegalStateException("Block at " + block.offset() + " is not mapped");
+        }
+    }
+
+    private final Path archiveDirectory;
+    private final Map<Path, MappedArchive> archives = new ConcurrentHashMap<>();
+
+    public AuditArchiveReader(@Value("${app.audit.archive.dir:audit-archive}") String archiveDirectory) {
+        this.archiveDirectory = Path.of(archiveDirectory);
+    }
+
+    /** Months for which an archive file exists, oldest first. */
+    public List<YearMonth> archivedMonths() {
+        return new ArrayList<>(archiveFiles().keySet());
+    }
+
+    /**
+     * Filters archived rows with the same criteria as the live audit listing. Results are
+     * ordered by {@code timestamp} or {@code id}; the page window is bounded so that the
+     * candidates kept in memory never exceed {@value #MAX_RESULT_WINDOW} rows.
+     */
+    public Page<AuditLogDTO> search(AuditLogSearchCriteria criteria, Pageable pageable) {
+        AuditLogSearchCriteria filter = criteria != null ? criteria : new AuditLogSearchCriteria();
+        if (pageable.getOffset() + pageable.getPageSize() > MAX_RESULT_WINDOW) {
+            throw new InvalidOperationException("Archive results are limited to the first " + MAX_RESULT_WINDOW + " rows; narrow the date range");
+        }
+        Comparator<AuditLogDTO> order = comparatorFor(pageable.getSort());
+        long fromMicros = filter.getStartDate() != null ? AuditArchiveFormat.toMicros(filter.getStartDate()) : Long.MIN_VALUE;
+        long toMicros = filter.getEndDate() != null ? AuditArchiveFormat.toMicros(filter.getEndDate()) : Long.MAX_VALUE;
+
+        int window = (int) pageable.getOffset() + pageable.getPageSize();
+        // Max-heap on the requested order: holds the first `window` matches seen so far
+        PriorityQueue<AuditLogDTO> best = new PriorityQueue<>(window + 1, order.reversed());
+        long total = 0;
+        for (Map.Entry<YearMonth, Path> file : archiveFiles().entrySet()) {
+            if (!monthOverlaps(file.getKey(), filter.getStartDate(), filter.getEndDate())) {
+                continue;
+            }
+            MappedArchive archive = open(file.getValue());
+            for (AuditArchiveFormat.BlockHeader block : archive.blocks()) {
+                if (!block.overlaps(fromMicros, toMicros)
+                        || (filter.getActorId() != null && !block.mightContainActor(filter.getActorId()))) {
+                    continue;
+                }
+                for (AuditLogDTO row : decode(archive, block, file.getValue())) {
+                    if (matches(row, filter)) {
+                        total++;
+                        best.add(row);
+                        if (best.size() > window) {
+                            best.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<AuditLogDTO> sorted = new ArrayList<>(best);
+        sorted.sort(order);
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        return new PageImpl<>(sorted.subList(from, sorted.size()), pageable, total);
+    }
+
+    private Map<YearMonth, Path> archiveFiles() {
+        if (!Files.isDirectory(archiveDirectory)) {
+            return Collections.emptyMap();
+        }
+        TreeMap<YearMonth, Path> files = new TreeMap<>();
+        try (Stream<Path> listing = Files.list(archiveDirectory)) {
+            listing.forEach(path -> {
+                YearMonth month = AuditArchiveFormat.monthOf(path);
+                if (month != null) {
+                    files.put(month, path);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list audit archives in " + archiveDirectory, e);
+        }
+        return files;
+    }
+
+    private MappedArchive open(Path file) {
+        try {
+            long size = Files.size(file);
+            MappedArchive cached = archives.get(file);
+            if (cached != null && cached.size() == size) {
+                return cached;
+            }
+            MappedArchive mapped = map(file);
+            archives.put(file, mapped);
+            return mapped;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open audit archive " + file, e);
+        }
+    }
+
+    private static MappedArchive map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<AuditArchiveFormat.BlockHeader> blocks = AuditArchiveFormat.scan(channel);
+            List<Segment> segments = new ArrayList<>();
+            int first = 0;
+            while (first < blocks.size()) {
+                long start = blocks.get(first).offset();
+                int last = first;
+                while (last + 1 < blocks.size() && blocks.get(last + 1).end() - start <= MAX_SEGMENT_BYTES) {
+                    last++;
+                }
+                long end = blocks.get(last).end();
+                // The mapping stays valid after the channel is closed
+                segments.add(new Segment(start, end, channel.map(FileChannel.MapMode.READ_ONLY, start, end - start)));
+                first = last + 1;
+            }
+            long size = channel.size();
+            return new MappedArchive(size, List.copyOf(blocks), List.copyOf(segments));
+        }
+    }
+
+    private static List<AuditLogDTO> decode(MappedArchive archive, AuditArchiveFormat.BlockHeader block, Path file) {
+        try {
+            return AuditArchiveFormat.decodeBlock(archive.body(block), block);
+        } catch (IOException e) {
+            log.error("Skipping unreadable block of {}: {}", file, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static boolean monthOverlaps(YearMonth month, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+        LocalDateTime nextMonthStart = month.plusMonths(1).atDay(1).atStartOfDay();
+        return (from == null || from.isBefore(nextMonthStart)) && (to == null || !to.isBefore(monthStart));
+    }
+
+    private static boolean matches(AuditLogDTO row, AuditLogSearchCriteria filter) {
+        return (filter.getStartDate() == null || !row.getTimestamp().isBefore(filter.getStartDate()))
+                && (filter.getEndDate() == null || !row.getTimestamp().isAfter(filter.getEndDate()))
+                && (!StringUtils.hasText(filter.getEntityType()) || row.getEntityType().name().equalsIgnoreCase(filter.getEntityType().trim()))
+                && (filter.getEntityId() == null || filter.getEntityId().equals(row.getEntityId()))
+                && (!StringUtils.hasText(filter.getAction()) || row.getAction().name().equalsIgnoreCase(filter.getAction().trim()))
+                && (filter.getActorId() == null || filter.getActorId().equals(row.getActorId()));
+    }
+
+    private static Comparator<AuditLogDTO> comparatorFor(Sort sort) {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.desc("timestamp"));
+        Comparator<AuditLogDTO> comparator = switch (order.getProperty()) {
+            case "timestamp" -> Comparator.comparing(AuditLogDTO::getTimestamp).thenComparing(AuditLogDTO::getId);
+            case "id" -> Comparator.comparing(AuditLogDTO::getId);
+            default -> throw new InvalidOperationException("Archived audit logs can only be sorted by timestamp or id");
+        };
+        return order.isAscending() ? comparator : comparator.reversed();
+    }
+}
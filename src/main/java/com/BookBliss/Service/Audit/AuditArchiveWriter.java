@@ -0,0 +1,96 @@
+package com.BookBliss.Service.Audit;
+
+import com.BookBliss.DTO.Audit.AuditLogDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Appends rows to an audit archive file in {@link AuditArchiveFormat} blocks.
+ * <p>
+ * Opening an existing file drops a block left incomplete by a crash and remembers the highest id
+ * already archived, so re-running an interrupted archive of the same partition appends only the
+ * rows that are missing. Rows must be appended in ascending id order.
+ */
+final class AuditArchiveWriter implements Closeable {
+
+    static final int ROWS_PER_BLOCK = 512;
+
+    private final FileChannel channel;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private final List<AuditLogDTO> pending = new ArrayList<>(ROWS_PER_BLOCK);
+    private long lastArchivedId;
+    private long appended;
+
+    private AuditArchiveWriter(FileChannel channel, long lastArchivedId) {
+        this.channel = channel;
+        this.lastArchivedId = lastArchivedId;
+    }
+
+    static AuditArchiveWriter open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                AuditArchiveFormat.writeMagic(channel);
+                channel.position(AuditArchiveFormat.MAGIC.length);
+                return new AuditArchiveWriter(channel, Long.MIN_VALUE);
+            }
+            List<AuditArchiveFormat.BlockHeader> blocks = AuditArchiveFormat.scan(channel);
+            long end = blocks.isEmpty() ? AuditArchiveFormat.MAGIC.length : blocks.get(blocks.size() - 1).end();
+            channel.truncate(end);
+            channel.position(end);
+            return new AuditArchiveWriter(channel,
+                    blocks.isEmpty() ? Long.MIN_VALUE : blocks.get(blocks.size() - 1).maxId());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Adds a row unless it is already in the file. */
+    void append(AuditLogDTO row) throws IOException {
+        if (row.getId() <= lastArchivedId) {
+            return;
+        }
+        pending.add(row);
+        lastArchivedId = row.getId();
+        appended++;
+        if (pending.size() == ROWS_PER_BLOCK) {
+            writeBlock();
+        }
+    }
+
+    /** Rows accepted by {@link #append} since opening, including those still buffered. */
+    long appendedRows() {
+        return appended;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!pending.isEmpty()) {
+                writeBlock();
+            }
+            channel.force(true);
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        ByteBuffer block = AuditArchiveFormat.encodeBlock(pending, deflater);
+        while (block.hasRemaining()) {
+            channel.write(block);
+        }
+        pending.clear();
+    }
+}
@@ -0,0 +1,403 @@
+package com.BookBliss.Service.Audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes audit entries to {@code audit_logs} off the request path.
+ * <p>
+ * {@link AuditService#logActivity} only captures the entry and offers it to a bounded lock-free
+ * ring buffer. A single background thread drains the buffer, resolves actor names for the whole
+ * batch with one query, and inserts the batch as one JDBC batch, which the driver rewrites into
+ * multi-row inserts ({@code rewriteBatchedStatements}). When the buffer is full the configured
+ * backpressure applies: {@code BLOCK} waits up to {@code block-timeout-ms} for space and then
+ * drops, {@code DROP} drops and counts, and {@code SPILL} appends the entry to a local file that
+ * the writer reads back in batches once the buffer is empty. Remaining entries are written on
+ * shutdown. Delivery from the spill file is at-least-once: a crash during a replay can write
+ * part of it twice.
+ * <p>
+ * Entries are submitted after the logging transaction commits, so the writer never sees
+ * entries of rolled back work and always finds the rows they refer to. An entry whose actor
+ * no longer exists is written without a name. When the database rejects a batch because of its
+ * data rather than its availability, the entries are written one by one and the ones rejected
+ * again are parked in {@code <spill-file>.rejected} instead of being spilled and retried.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter {
+
+    public enum Backpressure {
+        BLOCK, DROP, SPILL
+    }
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs " +
+            "(entity_type, entity_id, action, details, actor_id, actor_name, timestamp, ip_address) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ACTOR_NAMES_SQL = "SELECT id, username FROM users WHERE id IN (:ids)";
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+    private static final long RETRY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditRingBuffer<PendingAuditLog> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Backpressure backpressure;
+    private final long blockTimeoutNanos;
+    private final Path spillFile;
+
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile Thread drainThread;
+    private volatile boolean running;
+    private volatile boolean spillPending;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+                          ObjectMapper objectMapper,
+                          @Value("${app.audit.writer.capacity:8192}") int capacity,
+                          @Value("${app.audit.writer.batch-size:256}") int batchSize,
+                          @Value("${app.audit.writer.flush-interval-ms:200}") long flushIntervalMs,
+                          @Value("${app.audit.writer.backpressure:SPILL}") Backpressure backpressure,
+                          @Value("${app.audit.writer.block-timeout-ms:50}") long blockTimeoutMs,
+                          @Value("${app.audit.writer.spill-file:audit-spill.jsonl}") String spillFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.objectMapper = objectMapper;
+        this.buffer = new AuditRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.backpressure = backpressure;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        this.spillFile = Path.of(spillFile);
+    }
+
+    @PostConstruct
+    public void start() {
+        recoverInterruptedReplay();
+        spillPending = Files.exists(spillFile);
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "audit-log-writer");
+        thread.setDaemon(true);
+        drainThread = thread;
+        thread.start();
+        log.info("Audit log writer started (capacity {}, batch size {}, backpressure {})",
+                buffer.capacity(), batchSize, backpressure);
+    }
+
+    /** Queues an entry; never touches the database on the calling thread. */
+    public void submit(PendingAuditLog entry) {
+        enqueued.incrementAndGet();
+        if (buffer.offer(entry)) {
+            wakeWhenBatchReady();
+            return;
+        }
+        switch (backpressure) {
+            case BLOCK -> {
+                long deadline = System.nanoTime() + blockTimeoutNanos;
+                while (System.nanoTime() < deadline) {
+                    LockSupport.unpark(drainThread);
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                    if (buffer.offer(entry)) {
+                        return;
+                    }
+                }
+                drop();
+            }
+            case DROP -> drop();
+            case SPILL -> spill(entry);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        Thread thread = drainThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(SHUTDOWN_TIMEOUT_MS);
+        }
+        log.info("Audit log writer stopped: {} queued, {} written, {} spilled, {} rejected, {} dropped",
+                enqueued.get(), written.get(), spilled.get(), rejected.get(), dropped.get());
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getSpilledCount() {
+        return spilled.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public int getQueuedCount() {
+        return buffer.size();
+    }
+
+    private void drainLoop() {
+        List<PendingAuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (buffer.drainTo(batch, batchSize) > 0) {
+                writeBatch(batch);
+                continue;
+            }
+            if (spillPending) {
+                replaySpill();
+                continue;
+            }
+            LockSupport.parkNanos(this, flushIntervalNanos);
+        }
+        // Shutdown: write what is still buffered, then anything spilled
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+        }
+        if (spillPending) {
+            replaySpill();
+        }
+    }
+
+    private void wakeWhenBatchReady() {
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(drainThread);
+        }
+    }
+
+    private void writeBatch(List<PendingAuditLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            insert(batch);
+        } catch (Exception e) {
+            if (batch.size() > 1 && isRowError(e)) {
+                log.warn("Audit batch of {} entries rejected; writing them one by one", batch.size(), e);
+                writeEach(batch);
+            } else {
+                writeFailed(batch, e);
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /** Writes entries separately, so that an entry the database rejects cannot take others with it. */
+    private void writeEach(List<PendingAuditLog> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            PendingAuditLog entry = batch.get(i);
+            try {
+                insert(List.of(entry));
+            } catch (Exception e) {
+                if (!isRowError(e)) {
+                    writeFailed(batch.subList(i, batch.size()), e);
+                    return;
+                }
+                reject(entry, e);
+            }
+        }
+    }
+
+    /** The database is unavailable: spill or drop the entries and back off. */
+    private void writeFailed(List<PendingAuditLog> entries, Exception e) {
+        log.error("Failed to write {} audit log entries", entries.size(), e);
+        if (backpressure == Backpressure.SPILL) {
+            entries.forEach(this::spill);
+        } else {
+            dropped.addAndGet(entries.size());
+        }
+        // Give the database a moment before the next attempt
+        LockSupport.parkNanos(RETRY_BACKOFF_NANOS);
+    }
+
+    private void insert(List<PendingAuditLog> entries) {
+        Map<Long, String> actorNames = resolveActorNames(entries);
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (PendingAuditLog entry : entries) {
+            // A user deleted since the entry was logged has no name left; keep the entry anyway
+            String actorName = actorNames.get(entry.entityId());
+            rows.add(new Object[]{
+                    entry.entityType().name(), entry.entityId(), entry.action().name(), entry.details(),
+                    entry.entityId(), actorName, Timestamp.valueOf(entry.timestamp()), entry.ipAddress()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        written.addAndGet(rows.size());
+    }
+
+    /** Errors caused by the data of an entry, which retrying will not fix, as opposed to connection failures. */
+    private static boolean isRowError(Exception e) {
+        return e instanceof NonTransientDataAccessException
+                && !(e instanceof NonTransientDataAccessResourceException);
+    }
+
+    /** The audited entity is the acting user, as in the synchronous implementation. */
+    private Map<Long, String> resolveActorNames(List<PendingAuditLog> batch) {
+        Set<Long> ids = new HashSet<>();
+        for (PendingAuditLog entry : batch) {
+            if (entry.entityId() != null) {
+                ids.add(entry.entityId());
+            }
+        }
+        Map<Long, String> names = new HashMap<>();
+        if (!ids.isEmpty()) {
+            namedJdbcTemplate.query(ACTOR_NAMES_SQL, new MapSqlParameterSource("ids", ids),
+                    rs -> {
+                        names.put(rs.getLong("id"), rs.getString("username"));
+                    });
+        }
+        return names;
+    }
+
+    private void drop() {
+        long total = dropped.incrementAndGet();
+        if (Long.bitCount(total) == 1) {
+            log.warn("Audit buffer full; {} entries dropped so far", total);
+        }
+    }
+
+    /** Parks an entry the database rejects in a separate file, out of the way of replays. */
+    private void reject(PendingAuditLog entry, Exception e) {
+        log.error("Audit entry {} {} of user {} rejected; parking it in {}",
+                entry.entityType(), entry.action(), entry.entityId(), rejectedFile(), e);
+        try {
+            park(objectMapper.writeValueAsString(entry));
+        } catch (IOException ex) {
+            log.error("Could not serialize rejected audit entry", ex);
+            drop();
+        }
+    }
+
+    private void park(String line) {
+        spillLock.lock();
+        try (BufferedWriter writer = Files.newBufferedWriter(rejectedFile(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(line);
+            writer.newLine();
+            rejected.incrementAndGet();
+        } catch (IOException e) {
+            log.error("Could not park audit entry in {}", rejectedFile(), e);
+            drop();
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    private void spill(PendingAuditLog entry) {
+        spillLock.lock();
+        try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(objectMapper.writeValueAsString(entry));
+            writer.newLine();
+            spilled.incrementAndGet();
+            spillPending = true;
+        } catch (IOException e) {
+            log.error("Could not spill audit entry to {}", spillFile, e);
+            drop();
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /** Writes spilled entries back in batches; entries that fail again are spilled anew. */
+    private void replaySpill() {
+        Path replaying = replayingFile();
+        spillLock.lock();
+        try {
+            if (!Files.exists(spillFile)) {
+                spillPending = false;
+                return;
+            }
+            Files.move(spillFile, replaying, StandardCopyOption.REPLACE_EXISTING);
+            spillPending = false;
+        } catch (IOException e) {
+            log.error("Could not read audit spill file {}", spillFile, e);
+            return;
+        } finally {
+            spillLock.unlock();
+        }
+
+        List<PendingAuditLog> batch = new ArrayList<>(batchSize);
+        int replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(objectMapper.readValue(line, PendingAuditLog.class));
+                } catch (IOException e) {
+                    log.error("Unreadable line in audit spill file; parking it", e);
+                    park(line);
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    replayed += batch.size();
+                    writeBatch(batch);
+                }
+            }
+            replayed += batch.size();
+            writeBatch(batch);
+            Files.delete(replaying);
+            log.info("Replayed {} spilled audit entries", replayed);
+        } catch (IOException e) {
+            log.error("Failed to replay audit spill file {}", replaying, e);
+        }
+    }
+
+    /** Puts back a replay file left behind by a crash, so that its entries are replayed again. */
+    private void recoverInterruptedReplay() {
+        Path replaying = replayingFile();
+        if (!Files.exists(replaying)) {
+            return;
+        }
+        try {
+            Files.write(spillFile, Files.readAllBytes(replaying), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            Files.delete(replaying);
+        } catch (IOException e) {
+            log.error("Could not recover interrupted audit replay file {}", replaying, e);
+        }
+    }
+
+    private Path replayingFile() {
+        return spillFile.resolveSibling(spillFile.getFileName() + ".replaying");
+    }
+
+    private Path rejectedFile() {
+        return spillFile.resolveSibling(spillFile.getFileName() + ".rejected");
+    }
+}
@@ -0,0 +1,248 @@
+package com.BookBliss.Service.Audit;
+
+import com.BookBliss.DTO.Audit.AuditLogDTO;
+import com.BookBliss.Entity.AuditLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@code audit_logs} range-partitioned by month and enforces retention.
+ * <p>
+ * On startup an unpartitioned table is converted once: the primary key is widened to
+ * {@code (id, timestamp)}, as MySQL requires the partitioning column in every unique key, and
+ * one partition is created per month from the oldest row up to {@code months-ahead} months in
+ * the future, plus a catch-all {@code p_future}. A daily job splits new months off
+ * {@code p_future} and drops partitions older than {@code retention-months}, after streaming
+ * their rows to a compressed archive file that {@link AuditArchiveReader} can still query. Queries with a time range on {@code timestamp} are
+ * pruned to the partitions they overlap, and dropping a month is a metadata operation instead
+ * of a large {@code DELETE}.
+ * <p>
+ * Maintenance runs on one node at a time under a database lock, and the startup run happens on
+ * a background thread. A failed run is logged and retried by the next one. Archives are written
+ * to {@code archive.dir} of the node that ran the job, which should be shared storage when several
+ * nodes run.
+ */
+@Component
+@Slf4j
+public class AuditPartitionManager {
+
+    private static final String TABLE = "audit_logs";
+    private static final String MAINTENANCE_LOCK = "bookbliss.audit-partitions";
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter BOUNDARY = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String PARTITIONS_SQL = "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION";
+    private static final String ARCHIVE_SQL = "SELECT id, entity_type, entity_id, action, details, actor_id, " +
+            "actor_name, timestamp, ip_address FROM " + TABLE + " PARTITION (%s) ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean archiveEnabled;
+    private final Path archiveDirectory;
+
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate,
+                                 @Value("${app.audit.partitions.enabled:true}") boolean enabled,
+                                 @Value("${app.audit.partitions.months-ahead:3}") int monthsAhead,
+                                 @Value("${app.audit.retention-months:12}") int retentionMonths,
+                                 @Value("${app.audit.archive.enabled:true}") boolean archiveEnabled,
+                                 @Value("${app.audit.archive.dir:audit-archive}") String archiveDirectory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        // Connector/J streams rows one by one instead of buffering the whole partition
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveEnabled = archiveEnabled;
+        this.archiveDirectory = Path.of(archiveDirectory);
+    }
+
+    /** Runs the first maintenance in the background; converting a large table copies all of it. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(() -> runMaintenance(true), "audit-partition-init");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Scheduled(cron = "${app.audit.partitions.maintenance-cron:0 15 3 * * *}")
+    public void maintain() {
+        if (enabled) {
+            runMaintenance(false);
+        }
+    }
+
+    private void runMaintenance(boolean startup) {
+        try {
+            boolean ran = runOnOneNode(() -> {
+                if (startup) {
+                    ensurePartitioned();
+                }
+                maintainPartitions();
+            });
+            if (!ran) {
+                log.debug("Audit log partition maintenance is running on another node");
+            }
+        } catch (DataAccessException e) {
+            log.warn("Audit log partitioning unavailable, keeping the table as is: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Audit log partition maintenance failed; retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Runs {@code work} while holding a MySQL named lock, so that nodes sharing the database do not
+     * reorganize, drop or archive the same partitions at once. Returns false, without running it,
+     * when another node holds the lock.
+     */
+    private boolean runOnOneNode(Runnable work) {
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (PreparedStatement lock = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                lock.setString(1, MAINTENANCE_LOCK);
+                try (ResultSet result = lock.executeQuery()) {
+                    if (!result.next() || result.getInt(1) != 1) {
+                        return false;
+                    }
+                }
+            }
+            try {
+                work.run();
+                return true;
+            } finally {
+                try (PreparedStatement release = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    release.setString(1, MAINTENANCE_LOCK);
+                    release.execute();
+                }
+            }
+        });
+        return Boolean.TRUE.equals(ran);
+    }
+
+    private void maintainPartitions() {
+        TreeMap<YearMonth, String> partitions = monthlyPartitions();
+        if (partitions.isEmpty()) {
+            return;
+        }
+        addUpcomingPartitions(partitions.lastKey());
+        expirePartitions(partitions);
+    }
+
+    private void ensurePartitioned() {
+        if (!jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, TABLE).isEmpty()) {
+            return;
+        }
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(timestamp) FROM " + TABLE, Timestamp.class);
+        YearMonth first = oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : YearMonth.now();
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+
+        StringBuilder definitions = new StringBuilder();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            definitions.append(partitionDefinition(month)).append(", ");
+        }
+        definitions.append("PARTITION ").append(FUTURE_PARTITION).append(" VALUES LESS THAN (MAXVALUE)");
+
+        log.info("Partitioning {} by month from {} to {}", TABLE, first, last);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, timestamp)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " PARTITION BY RANGE COLUMNS(timestamp) (" + definitions + ")");
+    }
+
+    private void addUpcomingPartitions(YearMonth lastExisting) {
+        YearMonth target = YearMonth.now().plusMonths(monthsAhead);
+        for (YearMonth month = lastExisting.plusMonths(1); !month.isAfter(target); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" +
+                    partitionDefinition(month) + ", PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+            log.info("Added audit log partition for {}", month);
+        }
+    }
+
+    private void expirePartitions(TreeMap<YearMonth, String> partitions) {
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        for (var partition : partitions.headMap(oldestKept).entrySet()) {
+            if (archiveEnabled) {
+                archive(partition.getValue(), partition.getKey());
+            }
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition.getValue());
+            log.info("Dropped audit log partition for {}", partition.getKey());
+        }
+    }
+
+    /**
+     * Streams one partition into {@code audit_logs-YYYY-MM.aar}. An archive left by an earlier
+     * run that failed before the drop is resumed rather than rewritten, so rows are never duplicated.
+     */
+    private void archive(String partition, YearMonth month) {
+        Path target = archiveDirectory.resolve(AuditArchiveFormat.fileName(month));
+        try {
+            Files.createDirectories(archiveDirectory);
+            long rows;
+            try (AuditArchiveWriter writer = AuditArchiveWriter.open(target)) {
+                streamingJdbcTemplate.query(String.format(ARCHIVE_SQL, partition), rs -> {
+                    AuditLogDTO row = AuditLogDTO.builder()
+                            .id(rs.getLong("id"))
+                            .entityType(AuditLog.EntityType.valueOf(rs.getString("entity_type")))
+                            .entityId(rs.getLong("entity_id"))
+                            .action(AuditLog.ActionType.valueOf(rs.getString("action")))
+                            .details(rs.getString("details"))
+                            .actorId(rs.getLong("actor_id"))
+                            .actorName(rs.getString("actor_name"))
+                            .timestamp(rs.getTimestamp("timestamp").toLocalDateTime())
+                            .ipAddress(rs.getString("ip_address"))
+                            .build();
+                    try {
+                        writer.append(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                rows = writer.appendedRows();
+            }
+            log.info("Archived {} audit log rows of {} to {}", rows, month, target);
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalStateException("Could not archive audit log partition " + partition, e);
+        }
+    }
+
+    private TreeMap<YearMonth, String> monthlyPartitions() {
+        List<String> names = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, TABLE);
+        TreeMap<YearMonth, String> partitions = new TreeMap<>();
+        for (String name : names) {
+            if (!FUTURE_PARTITION.equals(name) && name.startsWith("p_")) {
+                partitions.put(YearMonth.parse(name.substring(2), PARTITION_SUFFIX), name);
+            }
+        }
+        return partitions;
+    }
+
+    private static String partitionDefinition(YearMonth month) {
+        LocalDateTime upperBound = month.plusMonths(1).atDay(1).atStartOfDay();
+        return "PARTITION p_" + month.format(PARTITION_SUFFIX) + " VALUES LESS THAN ('" + upperBound.format(BOUNDARY) + "')";
+    }
+}
@@ -2,13 +2,15 @@ package com.BookBliss.Service.Audit;
 
 import com.BookBliss.DTO.Audit.AuditLogDTO;
 import com.BookBliss.DTO.Audit.AuditLogSearchCriteria;
+import com.BookBliss.DTO.Common.CursorPage;
+import com.BookBliss.DTO.Common.CursorRequest;
 import com.BookBliss.Entity.AuditLog;
-import com.BookBliss.Entity.User;
-import com.BookBliss.Exception.UserNotFoundException;
+import com.BookBliss.Exception.InvalidOperationException;
 import com.BookBliss.Mapper.AuditLogMapper;
 import com.BookBliss.Repository.AuditLogRepository;
-import com.BookBliss.Repository.UserRepository;
+import com.BookBliss.Utils.KeysetPager;
 
+import jakarta.persistence.criteria.Predicate;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,9 +19,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
 
 @Slf4j
 @Service
@@ -27,43 +37,45 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 public class AuditService {
 
     private final AuditLogRepository auditLogRepository;
-    private final UserRepository userRepository;
     private final AuditLogMapper auditLogMapper;
+    private final KeysetPager keysetPager;
+    private final AuditLogWriter auditLogWriter;
+    private final AuditArchiveReader auditArchiveReader;
+
+    private static final Set<String> SCROLL_SORT_FIELDS = Set.of("id", "timestamp");
 
     public void logActivity(AuditLog.EntityType entityType, Long entityId, AuditLog.ActionType action, String details) {
         try {
-            // Get the current authenticated user
-
-            String actorName = "System";
-            Long actorId=null;
-            if (entityId!=null) {
-                User user=userRepository.findById(
-                        entityId)
-                        .orElseThrow(()-> new UserNotFoundException("User Not Found with Id:"+entityId)) ;
-                actorId = user.getId();
-                actorName = user.getUsername();
+            if (entityId == null) {
+                log.error("Failed to log audit activity: no acting user for {} {}", entityType, action);
+                return;
             }
-
-            // Get the IP address from the request
-            String ipAddress = getClientIpAddress();
-
-            // Create and save the audit log
-            AuditLog auditLog = AuditLog.builder()
-                    .entityType(entityType)
-                    .entityId(entityId)
-                    .action(action)
-                    .details(details)
-                    .actorId(actorId)
-                    .actorName(actorName)
-                    .ipAddress(ipAddress)
-                    .build();
-
-            auditLogRepository.save(auditLog);
+            // Request-scoped data is captured here; the actor name is resolved by the writer
+            PendingAuditLog entry = new PendingAuditLog(
+                    entityType, entityId, action, details, getClientIpAddress(), LocalDateTime.now());
+            submitAfterCommit(entry);
         } catch (Exception e) {
             log.error("Failed to log audit activity: {}", e.getMessage(), e);
         }
     }
 
+    /**
+     * Hands the entry to the writer once the caller's transaction commits, so that the writer
+     * sees the rows it describes and a rolled back change leaves no audit entry.
+     */
+    private void submitAfterCommit(PendingAuditLog entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            auditLogWriter.submit(entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                auditLogWriter.submit(entry);
+            }
+        });
+    }
+
     private String getClientIpAddress() {
         try {
             ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
@@ -93,10 +105,68 @@ public class AuditService {
         return logs.map(auditLogMapper::toDto);
     }
 
+    /** Keyset-paginated variant of {@link #getSystemAuditLogs}, ordered by {@code timestamp} or {@code id}. */
+    public CursorPage<AuditLogDTO> scrollSystemAuditLogs(AuditLogSearchCriteria criteria, CursorRequest cursorRequest) {
+        Specification<AuditLog> spec = criteria == null || criteria.equals(new AuditLogSearchCriteria())
+                ? null
+                : buildSpecification(criteria);
+        return keysetPager.page(auditLogRepository, AuditLog.class, spec, cursorRequest, SCROLL_SORT_FIELDS,
+                logs -> logs.stream().map(auditLogMapper::toDto).toList());
+    }
+
+    /** Searches months that retention has moved out of {@code audit_logs} into archive files. */
+    public Page<AuditLogDTO> getArchivedAuditLogs(AuditLogSearchCriteria criteria, Pageable pageable) {
+        if (criteria != null && criteria.getStartDate() != null && criteria.getEndDate() != null
+                && criteria.getStartDate().isAfter(criteria.getEndDate())) {
+            throw new InvalidOperationException("Start date must not be after end date");
+        }
+        return auditArchiveReader.search(criteria, pageable);
+    }
+
+    /**
+     * Builds the filter for the system audit listing. The time range is applied directly to the
+     * {@code timestamp} column so that MySQL only reads the monthly partitions it overlaps.
+     */
     private Specification<AuditLog> buildSpecification(AuditLogSearchCriteria criteria) {
-        // Implementation of dynamic specification builder based on search criteria
-        // This is a placeholder and would need to be implemented with actual logic
-        return (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria == null) {
+                return cb.conjunction();
+            }
+            if (criteria.getStartDate() != null && criteria.getEndDate() != null
+                    && criteria.getStartDate().isAfter(criteria.getEndDate())) {
+                throw new InvalidOperationException("Start date must not be after end date");
+            }
+            if (criteria.getStartDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("timestamp"), criteria.getStartDate()));
+            }
+            if (criteria.getEndDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("timestamp"), criteria.getEndDate()));
+            }
+            if (StringUtils.hasText(criteria.getEntityType())) {
+                predicates.add(cb.equal(root.get("entityType"),
+                        parseEnum(AuditLog.EntityType.class, criteria.getEntityType(), "entity type")));
+            }
+            if (criteria.getEntityId() != null) {
+                predicates.add(cb.equal(root.get("entityId"), criteria.getEntityId()));
+            }
+            if (StringUtils.hasText(criteria.getAction())) {
+                predicates.add(cb.equal(root.get("action"),
+                        parseEnum(AuditLog.ActionType.class, criteria.getAction(), "action")));
+            }
+            if (criteria.getActorId() != null) {
+                predicates.add(cb.equal(root.get("actorId"), criteria.getActorId()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String label) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException("Unknown audit " + label + ": " + value);
+        }
     }
 
     public Page<AuditLogDTO> getEntityAuditLogs(AuditLog.EntityType entityType, Long entityId, Pageable pageable) {
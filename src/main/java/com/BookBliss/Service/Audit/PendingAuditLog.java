@@ -0,0 +1,17 @@
+package com.BookBliss.Service.Audit;
+
+import com.BookBliss.Entity.AuditLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit entry captured on the request thread, before the actor name is resolved. Also the
+ * line format of the spill file.
+ */
+record PendingAuditLog(AuditLog.EntityType entityType,
+                       Long entityId,
+                       AuditLog.ActionType action,
+                       String details,
+                       String ipAddress,
+                       LocalDateTime timestamp) {
+}
@@ -17,15 +17,19 @@ import com.BookBliss.Exception.*;
 import com.BookBliss.Mapper.UserMapper;
 import com.BookBliss.Repository.OtpRepository;
 import com.BookBliss.Service.Audit.AuditService;
+import com.BookBliss.Service.Cluster.ClusterInvalidationBus;
 import com.BookBliss.Service.Email.EmailServiceImpl;
 import com.BookBliss.Utils.JwtAuthenticationFilter;
 import com.BookBliss.Utils.JwtTokenProvider;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
@@ -38,6 +42,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.BookBliss.Entity.User;
+import com.BookBliss.Repository.NaturalIdRepository;
 import com.BookBliss.Repository.UserRepository;
 
 /**
@@ -52,6 +57,7 @@ import com.BookBliss.Repository.UserRepository;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
+    private final NaturalIdRepository naturalIdRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailServiceImpl emailService;
 
@@ -69,6 +75,10 @@ public class AuthServiceImpl implements AuthService {
 
     private final OtpRepository otpRepository;
 
+    private final ClusterInvalidationBus clusterInvalidationBus;
+
+    private final EntityManagerFactory entityManagerFactory;
+
     // User cache for quick user lookups
     private final Cache<String, User> userCache = Caffeine.newBuilder()
             .expireAfterWrite(1, TimeUnit.HOURS)
@@ -187,7 +197,7 @@ public class AuthServiceImpl implements AuthService {
      * @throws UserNotFoundException if user doesn't exist
      */
     private User getUserFromCacheOrDatabase(String username) {
-        return userCache.get(username, key -> userRepository.findByUsername(key)
+        return userCache.get(username, key -> naturalIdRepository.findUserByUsername(key)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + key)));
     }
 
@@ -245,7 +255,7 @@ public class AuthServiceImpl implements AuthService {
             SecurityContextHolder.clearContext();
 
             // Invalidate user cache
-            userCache.invalidate(user.getUsername());
+            evictUser(user.getUsername());
 
             // Log the user in Audit table
             auditService.logActivity(
@@ -393,7 +403,7 @@ public class AuthServiceImpl implements AuthService {
             userRepository.save(user);
 
             // Invalidate user cache
-            userCache.invalidate(user.getUsername());
+            evictUser(user.getUsername());
 
             // Mark token as used
             tokenService.markTokenAsUsed(resetToken);
@@ -463,6 +473,32 @@ public class AuthServiceImpl implements AuthService {
 //    }
 
 
+    @PostConstruct
+    public void subscribeToClusterInvalidations() {
+        clusterInvalidationBus.subscribe(ClusterInvalidationBus.USERS, message -> evictRemotelyChangedUser(message.getKey()));
+    }
+
+    /**
+     * Drops a user changed on another node from this node's caches, including the second-level
+     * cache that {@link #getUserFromCacheOrDatabase} reloads from. The user's tokens were
+     * revoked with a bulk update, which evicts the whole token region on the writing node only.
+     */
+    private void evictRemotelyChangedUser(String username) {
+        userCache.invalidate(username);
+        org.hibernate.Cache secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        userRepository.findIdByUsername(username)
+                .ifPresent(id -> secondLevelCache.evictEntityData(User.class, id));
+        secondLevelCache.evictEntityData(Token.class);
+    }
+
+    /**
+     * Invalidates a cached user on this node and on the other nodes of the cluster.
+     */
+    private void evictUser(String username) {
+        userCache.invalidate(username);
+        clusterInvalidationBus.publish(ClusterInvalidationBus.USERS, username);
+    }
+
     /**
      * Logs cache statistics for monitoring and debugging.
      * Includes hit rate, miss count, and eviction statistics.
@@ -0,0 +1,78 @@
+package com.BookBliss.Service.Auth;
+
+import com.BookBliss.Repository.TokenRepository;
+import com.BookBliss.Service.Cluster.ClusterInvalidationBus;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of revoked token identifiers (the {@code tokenId} claim), so that authenticating
+ * a request never has to look the token up in the database. Entries are only kept until the
+ * token would have expired anyway; the set is reloaded from {@code tokens} on startup.
+ * Revocations are fanned out to the other nodes through the {@link ClusterInvalidationBus}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationRegistry {
+
+    private final TokenRepository tokenRepository;
+    private final ClusterInvalidationBus clusterInvalidationBus;
+
+    private final Map<String, Long> revokedUntil = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void subscribe() {
+        clusterInvalidationBus.subscribe(ClusterInvalidationBus.TOKEN_REVOCATIONS,
+                message -> record(message.getKey(), message.getExpiresAtMs()));
+    }
+
+    public void revoke(String tokenId, LocalDateTime expiresAt) {
+        if (tokenId == null) {
+            return;
+        }
+        long until = toEpochMillis(expiresAt);
+        record(tokenId, until);
+        clusterInvalidationBus.publish(ClusterInvalidationBus.TOKEN_REVOCATIONS, tokenId, until);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revokedUntil.containsKey(tokenId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevokedTokens() {
+        List<Object[]> rows = tokenRepository.findRevokedUnexpiredIdentifiers(LocalDateTime.now());
+        rows.forEach(row -> record((String) row[0], toEpochMillis((LocalDateTime) row[1])));
+        log.info("Loaded {} revoked tokens into the revocation registry", rows.size());
+    }
+
+    @Scheduled(fixedDelay = 300_000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedUntil.values().removeIf(until -> until < now);
+    }
+
+    private void record(String tokenId, long until) {
+        if (tokenId != null) {
+            revokedUntil.merge(tokenId, until, Math::max);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime expiresAt) {
+        return expiresAt != null
+                ? expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : Long.MAX_VALUE;
+    }
+}
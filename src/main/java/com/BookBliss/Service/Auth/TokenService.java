@@ -3,6 +3,7 @@ package com.BookBliss.Service.Auth;
 import com.BookBliss.DTO.Auth.TokenResponse;
 import com.BookBliss.Entity.Token;
 import com.BookBliss.Entity.User;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.transaction.annotation.Transactional;
@@ -56,6 +57,8 @@ public interface TokenService {
      */
     boolean validateAccessToken(String token, UserDetails userDetails);
 
+    boolean isAccessTokenActive(Claims claims);
+
     /**
      * Log cache statistics
      */
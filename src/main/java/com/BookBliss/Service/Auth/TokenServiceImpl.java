@@ -6,10 +6,16 @@ import com.BookBliss.Entity.User;
 import com.BookBliss.Exception.AuthenticationException;
 import com.BookBliss.Exception.PasswordResetException;
 import com.BookBliss.Repository.TokenRepository;
+import com.BookBliss.Repository.NaturalIdRepository;
 import com.BookBliss.Repository.UserRepository;
+import com.BookBliss.Service.Cluster.ClusterInvalidationBus;
 import com.BookBliss.Utils.JwtTokenProvider;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -25,6 +31,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -40,7 +47,10 @@ public class TokenServiceImpl implements TokenService {
     private final UserDetailsService userDetailsService;
     private final TokenRepository tokenRepository;
     private final UserRepository userRepository;
+    private final NaturalIdRepository naturalIdRepository;
     private final HttpServletRequest request;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final ClusterInvalidationBus clusterInvalidationBus;
 
     @Value("${jwt.refresh-token-renewal-threshold-hours:24}")
     private long refreshTokenRenewalThresholdHours;
@@ -71,6 +81,12 @@ public class TokenServiceImpl implements TokenService {
             .maximumSize(10_000)
             .build();
 
+    @PostConstruct
+    public void subscribeToClusterInvalidations() {
+        clusterInvalidationBus.subscribe(ClusterInvalidationBus.USER_REFRESH_TOKENS,
+                message -> evictCachedRefreshTokens(message.getKey()));
+    }
+
     /**
      * Creates a new token of the specified type for a user
      *
@@ -98,7 +114,7 @@ public class TokenServiceImpl implements TokenService {
                 .ipAddress(getClientIP())
                 .userAgent(request.getHeader("User-Agent"))
                 .deviceInfo(extractDeviceInfo(request.getHeader("User-Agent")))
-                .tokenIdentifier(UUID.randomUUID().toString())
+                .tokenIdentifier(identifierOf(tokenType, tokenValue))
                 .build();
 
         Token savedToken = tokenRepository.save(token);
@@ -180,7 +196,7 @@ public class TokenServiceImpl implements TokenService {
     @Override
     @Transactional
     public void storeRefreshToken(String refreshToken, String username) {
-        User user = userRepository.findByUsername(username)
+        User user = naturalIdRepository.findUserByUsername(username)
                 .orElseThrow(() -> new AuthenticationException("User not found: " + username));
 
         // Store in cache for quick lookups
@@ -209,6 +225,7 @@ public class TokenServiceImpl implements TokenService {
 
         // Add to blacklist
         tokenBlacklist.put(refreshToken, true);
+        revokeJwt(refreshToken);
 
         log.info("Refresh token invalidated: {} records updated", updated);
     }
@@ -235,13 +252,25 @@ public class TokenServiceImpl implements TokenService {
     public void blacklistToken(String token) {
         if (token != null) {
             tokenBlacklist.put(token, true);
+            revokeJwt(token);
             log.debug("Token added to blacklist");
         }
     }
 
     @Override
     public boolean isTokenBlacklisted(String token) {
-        return token != null && tokenBlacklist.getIfPresent(token) != null;
+        if (token == null) {
+            return false;
+        }
+        if (tokenBlacklist.getIfPresent(token) != null) {
+            return true;
+        }
+        // Tokens blacklisted on another node only reach this one as revoked token ids
+        try {
+            return tokenRevocationRegistry.isRevoked(jwtTokenProvider.extractTokenId(jwtTokenProvider.parseClaims(token)));
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
     }
 
     @Override
@@ -345,13 +374,18 @@ public class TokenServiceImpl implements TokenService {
         if (isTokenBlacklisted(token)) {
             return false;
         }
+        Claims claims = jwtTokenProvider.parseClaims(token);
+        return isAccessTokenActive(claims) && claims.getSubject().equals(userDetails.getUsername());
+    }
 
-        // Check if token exists in database
-        if (tokenRepository.existsByTokenValueAndRevokedFalse(token)) {
-            return jwtTokenProvider.validateToken(token, userDetails);
-        }
-
-        return false;
+    /**
+     * Stateless access token check against already verified claims: refresh tokens are not
+     * accepted as access tokens and revoked ones are rejected from the in-memory registry.
+     */
+    @Override
+    public boolean isAccessTokenActive(Claims claims) {
+        return !jwtTokenProvider.isRefreshToken(claims)
+                && !tokenRevocationRegistry.isRevoked(jwtTokenProvider.extractTokenId(claims));
     }
 
     @Override
@@ -371,12 +405,15 @@ public class TokenServiceImpl implements TokenService {
     @Transactional
     public void revokeAllUserTokens(User user, Token.TokenType tokenType) {
         LocalDateTime now = LocalDateTime.now();
+        for (Object[] row : tokenRepository.findActiveTokenIdentifiers(user, tokenType, now)) {
+            tokenRevocationRegistry.revoke((String) row[0], (LocalDateTime) row[1]);
+        }
         int revokedCount = tokenRepository.revokeAllUserTokens(user, tokenType, now);
 
-        // Clear any cached tokens for this user
+        // Clear any cached tokens for this user, here and on the other nodes
         if (tokenType == Token.TokenType.REFRESH) {
-            // Evict from cache based on username
-            tokenCache.asMap().entrySet().removeIf(entry -> entry.getValue().equals(user.getUsername()));
+            evictCachedRefreshTokens(user.getUsername());
+            clusterInvalidationBus.publish(ClusterInvalidationBus.USER_REFRESH_TOKENS, user.getUsername());
         }
 
         log.info("Revoked {} tokens for user: {}", revokedCount, user.getUsername());
@@ -541,12 +578,50 @@ public class TokenServiceImpl implements TokenService {
                 // Also remove from cache
                 tokenCache.invalidate(oldToken.getTokenValue());
                 tokenBlacklist.put(oldToken.getTokenValue(), true);
+                tokenRevocationRegistry.revoke(oldToken.getTokenIdentifier(), oldToken.getExpiresAt());
 
                 log.debug("Revoked old token for user: {}", user.getUsername());
             }
         }
     }
 
+    /**
+     * JWTs are stored under their {@code tokenId} claim so that revocations can be keyed by the
+     * claim the authentication filter sees; other token types get a random identifier.
+     */
+    private String identifierOf(Token.TokenType tokenType, String tokenValue) {
+        if (tokenType == Token.TokenType.ACCESS || tokenType == Token.TokenType.REFRESH) {
+            try {
+                return jwtTokenProvider.extractTokenId(tokenValue);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.warn("Could not read token id from {} token", tokenType);
+            }
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    private void evictCachedRefreshTokens(String username) {
+        tokenCache.asMap().entrySet().removeIf(entry -> {
+            if (entry.getValue().equals(username)) {
+                tokenMetadataCache.invalidate(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void revokeJwt(String token) {
+        try {
+            Claims claims = jwtTokenProvider.parseClaims(token);
+            tokenRevocationRegistry.revoke(jwtTokenProvider.extractTokenId(claims),
+                    LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()));
+        } catch (ExpiredJwtException e) {
+            // Already unusable
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Not revoking unparseable token: {}", e.getMessage());
+        }
+    }
+
     private String getClientIP() {
         String xfHeader = request.getHeader("X-Forwarded-For");
         if (xfHeader == null || xfHeader.isEmpty() || "unknown".equalsIgnoreCase(xfHeader)) {
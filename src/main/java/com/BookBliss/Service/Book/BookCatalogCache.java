@@ -0,0 +1,124 @@
+package com.BookBliss.Service.Book;
+
+import com.BookBliss.Config.CacheConfig;
+import com.BookBliss.DTO.Books.BookDetailsDTO;
+import com.BookBliss.DTO.Books.BookSearchResponse;
+import com.BookBliss.DTO.Books.BookSummaryDTO;
+import com.BookBliss.Entity.Book;
+import com.BookBliss.Events.Books.BookChangedEvent;
+import com.BookBliss.Events.Books.BookDetailsChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The one cache of catalog reads shared by the public and admin book services.
+ * <p>
+ * Regions are defined in {@link CacheConfig}: book entities and detail DTOs keyed by book id,
+ * SQL search results keyed by query, and the recent-books list. Nothing is written into the
+ * regions on the write paths; entries are only loaded on a miss and are evicted once a
+ * {@link BookChangedEvent} or {@link BookDetailsChangedEvent} commits, so a load can never put
+ * back the state a committed write just replaced. The same events evict the book from the
+ * Hibernate second-level cache, which cannot see atomic SQL updates, ledger write-backs or
+ * changes relayed from other nodes.
+ */
+@Component
+@Slf4j
+public class BookCatalogCache {
+
+    private static final String RECENT_KEY = "recent";
+
+    private final Cache<Long, Book> books;
+    private final Cache<Long, BookDetailsDTO> bookDetails;
+    private final Cache<String, List<BookSearchResponse>> bookSearch;
+    private final Cache<String, List<BookSummaryDTO>> recentBooks;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public BookCatalogCache(CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.books = region(cacheManager, CacheConfig.BOOKS);
+        this.bookDetails = region(cacheManager, CacheConfig.BOOK_DETAILS);
+        this.bookSearch = region(cacheManager, CacheConfig.BOOK_SEARCH);
+        this.recentBooks = region(cacheManager, CacheConfig.RECENT_BOOKS);
+    }
+
+    public Book getBook(Long id, Function<Long, Book> loader) {
+        return books.get(id, loader);
+    }
+
+    public BookDetailsDTO getDetails(Long id, Function<Long, BookDetailsDTO> loader) {
+        return bookDetails.get(id, loader);
+    }
+
+    public List<BookSearchResponse> getSearch(String key, Function<String, List<BookSearchResponse>> loader) {
+        return bookSearch.get(key, loader);
+    }
+
+    public List<BookSummaryDTO> getRecent(Function<String, List<BookSummaryDTO>> loader) {
+        return recentBooks.get(RECENT_KEY, loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        evictBook(event.getBookId());
+        // Titles, authors and ISBNs feed search results; any change may add or drop matches
+        bookSearch.invalidateAll();
+        recentBooks.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookDetailsChanged(BookDetailsChangedEvent event) {
+        event.getBookIds().forEach(this::evictBook);
+        recentBooks.invalidateAll();
+    }
+
+    public void evictBook(Long id) {
+        books.invalidate(id);
+        bookDetails.invalidate(id);
+        org.hibernate.Cache secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        secondLevelCache.evictEntityData(Book.class, id);
+        secondLevelCache.evictCollectionData(Book.class.getName() + ".categories", id);
+    }
+
+    public void invalidateAll() {
+        books.invalidateAll();
+        bookDetails.invalidateAll();
+        bookSearch.invalidateAll();
+        recentBooks.invalidateAll();
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.stats-log-interval-ms:300000}")
+    public void logStats() {
+        Map.of(CacheConfig.BOOKS, books, CacheConfig.BOOK_DETAILS, bookDetails, CacheConfig.BOOK_SEARCH, bookSearch)
+                .forEach((name, cache) -> {
+                    CacheStats stats = cache.stats();
+                    log.info("Catalog cache '{}' - Size: {}, Hit rate: {}%, Hit count: {}, Miss count: {}, Eviction count: {}",
+                            name,
+                            cache.estimatedSize(),
+                            String.format("%.2f", stats.hitRate() * 100),
+                            stats.hitCount(),
+                            stats.missCount(),
+                            stats.evictionCount());
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Cache<K, V> region(CacheManager cacheManager, String name) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(name);
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            throw new IllegalStateException("Cache region '" + name + "' is not a Caffeine cache");
+        }
+        return (Cache<K, V>) (Cache<?, ?>) caffeineCache.getNativeCache();
+    }
+}
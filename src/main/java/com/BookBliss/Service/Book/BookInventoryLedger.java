@@ -0,0 +1,373 @@
+package com.BookBliss.Service.Book;
+
+import com.BookBliss.Events.Books.BookChangedEvent;
+import com.BookBliss.Events.Books.BookDetailsChangedEvent;
+import com.BookBliss.Exception.ResourceNotFoundException;
+import com.BookBliss.Repository.BookRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind ledger of available copies for titles under heavy borrow contention.
+ * <p>
+ * When enabled ({@code app.inventory.ledger.enabled}), {@link BookInventoryService} admits or
+ * rejects reservations against in-memory counts guarded by lock stripes instead of updating the
+ * {@code books} row on every request. Accumulated deltas are written back in book id order as
+ * one JDBC batch per flush. A reservation whose transaction rolls back is handed back to the
+ * ledger. Counts are loaded lazily from {@code books.available_copies} and dropped again when a
+ * book is changed through the admin paths, after flushing what is pending.
+ * <p>
+ * Unflushed deltas are lost on a crash, so on startup the ledger rebuilds
+ * {@code available_copies} as total copies minus the copies still out on active borrowings and
+ * checkouts.
+ * <p>
+ * Counts live in one node's memory, so the ledger must only run on one node. It holds a MySQL
+ * named lock ({@code GET_LOCK}) on a dedicated connection for as long as it runs: a node that
+ * cannot take the lock at startup fails to start, and a node that loses it (connection or
+ * database restart) writes back its deltas, drops its counts and falls back to conditional
+ * updates until it holds the lock again. The lock takes one connection out of the pool.
+ */
+@Component
+@Slf4j
+public class BookInventoryLedger {
+
+    private static final int STRIPES = 64;
+    private static final String APPLY_DELTA_SQL = "UPDATE books SET available_copies = available_copies + ? WHERE id = ?";
+    private static final String LOAD_SQL = "SELECT available_copies FROM books WHERE id = ?";
+    private static final String LEASE_NAME = "bookbliss.inventory-ledger";
+
+    /** Counts for one book. Only read or written while holding the book's stripe lock. */
+    private static final class Slot {
+        private int available;
+        private int pending;
+
+        private Slot(int available) {
+            this.available = available;
+        }
+    }
+
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate requiresNew;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final boolean recoverOnStartup;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private Connection leaseConnection;
+    private volatile boolean leaseHeld;
+
+    public BookInventoryLedger(BookRepository bookRepository,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${app.inventory.ledger.enabled:false}") boolean enabled,
+                               @Value("${app.inventory.ledger.recover-on-startup:true}") boolean recoverOnStartup) {
+        this.bookRepository = bookRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = jdbcTemplate.getDataSource();
+        this.transactionTemplate = transactionTemplate;
+        this.requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.recoverOnStartup = recoverOnStartup;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /** Whether reservations go through the ledger: it is enabled and this node holds the lease. */
+    public boolean isEnabled() {
+        return enabled && leaseHeld;
+    }
+
+    @PostConstruct
+    public void acquireLease() {
+        if (enabled && !tryAcquireLease()) {
+            throw new IllegalStateException("app.inventory.ledger.enabled is set, but another node holds the " +
+                    "inventory ledger lock; the ledger keeps counts in memory and must run on a single node");
+        }
+    }
+
+    /** Takes {@code quantity} copies if available; returns false when the title is short. */
+    public boolean tryReserve(Long bookId, int quantity) {
+        ReentrantLock lock = stripeFor(bookId);
+        lock.lock();
+        try {
+            Slot slot = slotFor(bookId);
+            if (slot.available < quantity) {
+                return false;
+            }
+            slot.available -= quantity;
+            slot.pending -= quantity;
+        } finally {
+            lock.unlock();
+        }
+        onRollback(() -> adjust(bookId, quantity));
+        return true;
+    }
+
+    public void release(Long bookId, int quantity) {
+        adjust(bookId, quantity);
+        onRollback(() -> adjust(bookId, -quantity));
+    }
+
+    /** Writes all pending deltas back to {@code books}, ordered by book id. */
+    @Scheduled(fixedDelayString = "${app.inventory.ledger.flush-interval-ms:500}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        boolean held = verifyLease();
+        writeBack();
+        if (!held) {
+            dropAll();
+        }
+    }
+
+    private void writeBack() {
+        SortedMap<Long, Integer> deltas = new TreeMap<>();
+        for (Map.Entry<Long, Slot> entry : slots.entrySet()) {
+            ReentrantLock lock = stripeFor(entry.getKey());
+            lock.lock();
+            try {
+                Slot slot = entry.getValue();
+                if (slot.pending != 0) {
+                    deltas.put(entry.getKey(), slot.pending);
+                    slot.pending = 0;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((bookId, delta) -> rows.add(new Object[]{delta, bookId}));
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, rows));
+        } catch (Exception e) {
+            log.error("Failed to flush inventory deltas for {} books, retrying on next flush", deltas.size(), e);
+            deltas.forEach(this::restorePending);
+            return;
+        }
+        // Views cached between the reservation and this write-back still hold the old row
+        eventPublisher.publishEvent(new BookDetailsChangedEvent(this, deltas.keySet()));
+    }
+
+    /** Drops the cached count of a book changed outside the ledger, persisting its pending delta first. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (enabled) {
+            drop(event.getBookId());
+        }
+    }
+
+    /**
+     * Persists the pending delta of a book in its own transaction and forgets its count, so that
+     * the next reservation reloads it from {@code books}.
+     */
+    public void drop(Long bookId) {
+        ReentrantLock lock = stripeFor(bookId);
+        lock.lock();
+        try {
+            Slot slot = slots.remove(bookId);
+            if (slot != null && slot.pending != 0) {
+                // After commit the finished transaction's connection is still bound; write in a new one
+                int pending = slot.pending;
+                requiresNew.executeWithoutResult(status -> jdbcTemplate.update(APPLY_DELTA_SQL, pending, bookId));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Rebuilds available copies from the circulation tables, undoing deltas lost in a crash. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayFromCirculation() {
+        if (!isEnabled() || !recoverOnStartup) {
+            return;
+        }
+        Integer updated = transactionTemplate.execute(status -> bookRepository.recomputeAvailableCopies());
+        log.info("Inventory ledger enabled; recomputed available copies for {} books", updated);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!enabled) {
+            return;
+        }
+        writeBack();
+        releaseLease();
+    }
+
+    /** Checks that the lease connection still holds the lock, re-acquiring it if it was lost. */
+    private synchronized boolean verifyLease() {
+        if (leaseConnection != null) {
+            try (PreparedStatement statement = leaseConnection.prepareStatement("SELECT IS_USED_LOCK(?) = CONNECTION_ID()");
+                 ResultSet result = statement.executeQuery()) {
+                if (result.next() && result.getInt(1) == 1) {
+                    return true;
+                }
+            } catch (SQLException e) {
+                log.warn("Inventory ledger lock check failed: {}", e.getMessage());
+            }
+            closeLeaseConnection();
+        }
+        if (tryAcquireLease()) {
+            log.info("Inventory ledger lock re-acquired");
+            return true;
+        }
+        if (leaseHeld) {
+            log.error("Inventory ledger lock lost; falling back to conditional updates until it can be re-acquired");
+        }
+        leaseHeld = false;
+        return false;
+    }
+
+    private synchronized boolean tryAcquireLease() {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                statement.setString(1, LEASE_NAME);
+                try (ResultSet result = statement.executeQuery()) {
+                    if (result.next() && result.getInt(1) == 1) {
+                        leaseConnection = connection;
+                        leaseHeld = true;
+                        return true;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("Could not take the inventory ledger lock: {}", e.getMessage());
+        }
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Nothing left to release
+            }
+        }
+        return false;
+    }
+
+    private synchronized void releaseLease() {
+        if (leaseConnection == null) {
+            return;
+        }
+        try (PreparedStatement statement = leaseConnection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LEASE_NAME);
+            statement.execute();
+        } catch (SQLException e) {
+            log.warn("Could not release the inventory ledger lock: {}", e.getMessage());
+        }
+        closeLeaseConnection();
+        leaseHeld = false;
+    }
+
+    private synchronized void closeLeaseConnection() {
+        try {
+            leaseConnection.close();
+        } catch (SQLException ignored) {
+            // Closing the connection is what frees the lock
+        }
+        leaseConnection = null;
+    }
+
+    /** Forgets all counts after their deltas were written back; reservations then go to the database. */
+    private void dropAll() {
+        for (Long bookId : new ArrayList<>(slots.keySet())) {
+            drop(bookId);
+        }
+    }
+
+    private void adjust(Long bookId, int delta) {
+        ReentrantLock lock = stripeFor(bookId);
+        lock.lock();
+        try {
+            Slot slot = slotFor(bookId);
+            slot.available += delta;
+            slot.pending += delta;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void restorePending(Long bookId, int delta) {
+        ReentrantLock lock = stripeFor(bookId);
+        lock.lock();
+        try {
+            Slot slot = slots.get(bookId);
+            if (slot != null) {
+                slot.pending += delta;
+            } else {
+                // Evicted meanwhile; the reload already read the row without this delta
+                jdbcTemplate.update(APPLY_DELTA_SQL, delta, bookId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Callers hold the stripe lock. */
+    private Slot slotFor(Long bookId) {
+        Slot slot = slots.get(bookId);
+        if (slot == null) {
+            List<Integer> available = jdbcTemplate.queryForList(LOAD_SQL, Integer.class, bookId);
+            if (available.isEmpty()) {
+                throw new ResourceNotFoundException("Book not found with ID: " + bookId);
+            }
+            slot = new Slot(available.get(0) != null ? available.get(0) : 0);
+            slots.put(bookId, slot);
+        }
+        return slot;
+    }
+
+    private ReentrantLock stripeFor(Long bookId) {
+        return stripes[(Long.hashCode(bookId) & 0x7fffffff) % STRIPES];
+    }
+
+    private void onRollback(Runnable compensation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        compensation.run();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.BookBliss.Service.Book;
+
+import com.BookBliss.Entity.Book;
+import com.BookBliss.Events.Books.BookDetailsChangedEvent;
+import com.BookBliss.Exception.InvalidOperationException;
+import com.BookBliss.Exception.ResourceNotFoundException;
+import com.BookBliss.Repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reserves and releases book copies with conditional atomic updates.
+ * <p>
+ * Availability is checked and decremented by a single {@code UPDATE ... WHERE available_copies >= n},
+ * so concurrent borrowers can neither oversell a title nor lose each other's decrements, and the
+ * row lock is only held from that statement until the surrounding transaction commits. When the
+ * {@link BookInventoryLedger} is enabled, reservations are decided in memory instead and written
+ * back in batches. Every change publishes a {@link BookDetailsChangedEvent} for the cached views.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookInventoryService {
+
+    private final BookRepository bookRepository;
+    private final BookInventoryLedger bookInventoryLedger;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void reserve(Long bookId, int quantity) {
+        if (!tryReserve(bookId, quantity)) {
+            throw insufficientCopies(bookId, quantity);
+        }
+    }
+
+    /**
+     * Like {@link #reserve}, but reports a short title by returning false instead of throwing,
+     * so callers can carry on in the same transaction without it being marked rollback-only.
+     */
+    @Transactional
+    public boolean tryReserve(Long bookId, int quantity) {
+        validateQuantity(quantity);
+        boolean reserved = bookInventoryLedger.isEnabled()
+                ? bookInventoryLedger.tryReserve(bookId, quantity)
+                : bookRepository.reserveCopies(bookId, quantity) > 0;
+        if (reserved) {
+            publishChange(bookId);
+        }
+        return reserved;
+    }
+
+    /**
+     * All-or-nothing reservation of several titles. Books are updated in id order so that two
+     * overlapping multi-item reservations cannot deadlock; if any title is short, the exception
+     * rolls back the reservations already made in this transaction.
+     */
+    @Transactional
+    public void reserveAll(Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            reserve(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Transactional
+    public void release(Long bookId, int quantity) {
+        validateQuantity(quantity);
+        if (bookInventoryLedger.isEnabled()) {
+            bookInventoryLedger.release(bookId, quantity);
+        } else if (bookRepository.releaseCopies(bookId, quantity) == 0) {
+            throw new ResourceNotFoundException("Book not found with ID: " + bookId);
+        }
+        publishChange(bookId);
+    }
+
+    @Transactional
+    public void releaseAll(Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            release(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Adds copies to both the available and the total stock. Stock changes always go to the
+     * database, so that the caller can read the new availability back from {@code books}.
+     */
+    @Transactional
+    public void addStock(Long bookId, int quantity) {
+        validateQuantity(quantity);
+        bypassLedger(bookId);
+        if (bookRepository.releaseCopies(bookId, quantity) == 0) {
+            throw new ResourceNotFoundException("Book not found with ID: " + bookId);
+        }
+        bookRepository.adjustTotalCopies(bookId, quantity);
+        publishChange(bookId);
+    }
+
+    /** Withdraws available copies from stock; the total never drops below what is available. */
+    @Transactional
+    public void removeStock(Long bookId, int quantity) {
+        validateQuantity(quantity);
+        bypassLedger(bookId);
+        if (bookRepository.reserveCopies(bookId, quantity) == 0) {
+            throw insufficientCopies(bookId, quantity);
+        }
+        bookRepository.adjustTotalCopies(bookId, -quantity);
+        publishChange(bookId);
+    }
+
+    /** Writes back the ledger's pending delta for a book, so the database holds its current count. */
+    private void bypassLedger(Long bookId) {
+        if (bookInventoryLedger.isEnabled()) {
+            bookInventoryLedger.drop(bookId);
+        }
+    }
+
+    private void publishChange(Long bookId) {
+        eventPublisher.publishEvent(new BookDetailsChangedEvent(this, List.of(bookId)));
+    }
+
+    private RuntimeException insufficientCopies(Long bookId, int quantity) {
+        Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + bookId));
+        log.debug("Reservation of {} copies of book {} rejected", quantity, bookId);
+        return new InvalidOperationException("Book '" + book.getTitle() +
+                "' doesn't have enough available copies. Requested: " +
+                quantity + ", Available: " + book.getAvailableCopies());
+    }
+
+    private void validateQuantity(int quantity) {
+        if (quantity <= 0) {
+            throw new InvalidOperationException("Quantity must be greater than zero");
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.BookBliss.Service.Book;
 
 import com.BookBliss.DTO.Books.*;
+import com.BookBliss.DTO.Common.CursorPage;
+import com.BookBliss.DTO.Common.CursorRequest;
 import com.BookBliss.Entity.Book;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -20,6 +22,8 @@ public interface BookService {
 
     List<BookSearchResponse> searchBooks(String query, int limit);
 
+    List<BookSearchResponse> autocomplete(String prefix, int limit);
+
     List<Book> getRecentlyAddedBooks();
 
     List<BookSummaryDTO> getRecentBooksPreview();
@@ -27,6 +31,9 @@ public interface BookService {
     // Add new methods for specification-based filtering
     Page<BookSummaryDTO> findBooksByFilter(BookFilterDTO filterDTO, Pageable pageable);
 
+    // Keyset-paginated variant of findBooksByFilter for deep browsing
+    CursorPage<BookSummaryDTO> scrollBooks(BookFilterDTO filterDTO, CursorRequest cursorRequest);
+
     // Advanced search method
     Page<BookSummaryDTO> searchBooksCriteria(String keyword, Pageable pageable);
 
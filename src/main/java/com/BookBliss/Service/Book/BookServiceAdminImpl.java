@@ -3,25 +3,28 @@ package com.BookBliss.Service.Book;
 import com.BookBliss.DTO.Admin.BookManagement.AdminBookDetailsDTO;
 import com.BookBliss.DTO.Admin.BookManagement.BookSearchCriteria;
 import com.BookBliss.DTO.Books.BookAddingDTO;
-import com.BookBliss.DTO.Books.BookPreviewDTO;
-import com.BookBliss.DTO.Books.BookSearchResponse;
 import com.BookBliss.Entity.Book;
 import com.BookBliss.Entity.Category;
+import com.BookBliss.Events.Books.BookChangedEvent;
 import com.BookBliss.Exception.DuplicateResourceException;
 import com.BookBliss.Exception.InvalidOperationException;
 import com.BookBliss.Exception.ResourceNotFoundException;
 import com.BookBliss.Mapper.BookMapper;
 import com.BookBliss.Repository.BookRepository;
 import com.BookBliss.Repository.CategoryRepository;
+import com.BookBliss.Repository.NaturalIdRepository;
 import com.BookBliss.Repository.SearchHistoryRepository;
 import com.BookBliss.Service.Borrowing.BorrowingServiceImpl;
+import com.BookBliss.Service.Category.CategoryBookCounter;
+import com.BookBliss.Service.Reservation.HoldQueueService;
 import com.BookBliss.Service.Review.ReviewsServiceImpl;
 import com.BookBliss.Service.Wishlist.WishlistServiceImpl;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -31,7 +34,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,24 +41,14 @@ public class BookServiceAdminImpl implements BookServiceAdmin{
 
     private static final Logger log = LoggerFactory.getLogger(BookServiceImpl.class);
 
-    private final Cache<Long, Book> bookCache = Caffeine.newBuilder()
-            .expireAfterWrite(1, TimeUnit.HOURS)
-            .maximumSize(10_000)
-            .recordStats()
-            .build();
-
-    private final Cache<String, List<BookPreviewDTO>> recentBooksCache = Caffeine.newBuilder()
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .maximumSize(1)
-            .build();
+    @Autowired
+    private BookRepository bookRepository;
 
-    private final Cache<String, List<BookSearchResponse>> searchCache = Caffeine.newBuilder()
-            .expireAfterWrite(10, TimeUnit.MINUTES)
-            .maximumSize(1000)
-            .build();
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    private BookRepository bookRepository;
+    private NaturalIdRepository naturalIdRepository;
 
     @Autowired
     private CategoryRepository categoryRepository;
@@ -76,20 +68,30 @@ public class BookServiceAdminImpl implements BookServiceAdmin{
     @Autowired
     private WishlistServiceImpl wishlistService;
 
+    @Autowired
+    private BookStatsEnricher bookStatsEnricher;
+
+    @Autowired
+    private BookStatsService bookStatsService;
+
+    @Autowired
+    private BookInventoryService bookInventoryService;
+
+    @Autowired
+    private CategoryBookCounter categoryBookCounter;
+
+    @Autowired
+    private HoldQueueService holdQueueService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public Page<AdminBookDetailsDTO> getAllBooksAdmin(Pageable pageable) {
         Page<Book> books = bookRepository.findAll(pageable);
 
-
         // Map using the batch-fetched data
-        return books.map(book -> {
-            AdminBookDetailsDTO basicDto = bookMapper.toAdminBookDetailsDTO(book);
-            // Enrich with pre-fetched data
-            basicDto.setBorrowCount(borrowingService.getBorrowingCountByBook(book.getId()));
-            basicDto.setAverageRating(reviewsService.getAverageBookRating(book.getId()));
-            basicDto.setReviewCount(reviewsService.countReviewsByBook(book.getId()));
-            return basicDto;
-        });
+        return bookStatsEnricher.toAdminPage(books);
     }
 
     @Override
@@ -97,10 +99,7 @@ public class BookServiceAdminImpl implements BookServiceAdmin{
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + id));
         AdminBookDetailsDTO dto=bookMapper.toAdminBookDetailsDTO(book);
-
-        dto.setBorrowCount(borrowingService.getBorrowingCountByBook(book.getId()));
-        dto.setAverageRating(reviewsService.getAverageBookRating(book.getId()));
-        dto.setReviewCount(reviewsService.countReviewsByBook(book.getId()));
+        bookStatsEnricher.applyStats(dto, bookStatsEnricher.loadStats(book.getId()));
         return dto;
     }
 
@@ -114,12 +113,11 @@ public class BookServiceAdminImpl implements BookServiceAdmin{
     @Transactional
     @Override
     public AdminBookDetailsDTO addBookAdmin(BookAddingDTO bookAddingDTO) {
-        if(bookRepository.findByIsbn(bookAddingDTO.getIsbn())!=null){
+        if(naturalIdRepository.findBookByIsbn(bookAddingDTO.getIsbn()).isPresent()){
             throw new DuplicateResourceException("A book with ISBN " + bookAddingDTO.getIsbn() + " already exists");
         }
         Book book = saveBookWithCategories(bookAddingDTO);
-        bookCache.put(book.getId(), book);
-        recentBooksCache.invalidateAll();
+        publishChange(book.getId(), BookChangedEvent.ChangeType.CREATED);
         return bookMapper.toAdminBookDetailsDTO(book);
     }
 
@@ -128,10 +126,9 @@ public class BookServiceAdminImpl implements BookServiceAdmin{
     public List<AdminBookDetailsDTO> addBooksAdmin(List<BookAddingDTO> bookAddingDTOs) {
         List<Book> savedBooks = bookAddingDTOs.stream()
                 .map(this::saveBookWithCategories)
-                .peek(book -> bookCache.put(book.getId(), book))
                 .toList();
+        savedBooks.forEach(book -> publishChange(book.getId(), BookChangedEvent.ChangeType.CREATED));
 
-        recentBooksCache.invalidateAll();
         return savedBooks.stream()
                 .map(bookMapper::toAdminBookDetailsDTO)
                 .collect(Collectors.toList());
@@ -143,9 +140,11 @@ public class BookServiceAdminImpl implements BookServiceAdmin{
         Book existingBook = bookRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + id));
 
+        Set<Category> previousCategories = new HashSet<>(existingBook.getCategories());
         updateBookFields(existingBook, updatedBookDTO);
         Book savedBook = bookRepository.save(existingBook);
-        bookCache.put(id, savedBook);
+        categoryBookCounter.categoriesChanged(previousCategories, savedBook.getCategories());
+        publishChange(id, BookChangedEvent.ChangeType.UPDATED);
         return bookMapper.toAdminBookDetailsDTO(savedBook);
     }
 
@@ -153,9 +152,10 @@ public class BookServiceAdminImpl implements BookServiceAdmin{
     @Override
     public void deleteBook(Long id) {
         bookRepository.findById(id).ifPresent(book -> {
+            categoryBookCounter.categoriesChanged(book.getCategories(), Set.of());
             bookRepository.delete(book);
-            bookCache.invalidate(id);
-            recentBooksCache.invalidateAll();
+            bookStatsService.remove(id);
+            publishChange(id, BookChangedEvent.ChangeType.DELETED);
         });
     }
 
@@ -179,17 +179,18 @@ public class BookServiceAdminImpl implements BookServiceAdmin{
     @Transactional
     @Override
     public AdminBookDetailsDTO incrementAvailableCopiesAdmin(Long bookId, int incrementBy) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + bookId));
-
         if (incrementBy <= 0) {
             throw new InvalidOperationException("Increment value must be positive");
         }
 
-        book.setAvailableCopies(book.getAvailableCopies() + incrementBy);
-        book.setTotalCopies(book.getTotalCopies() + incrementBy);
-        Book savedBook = bookRepository.save(book);
-        bookCache.put(bookId, savedBook);
+        bookInventoryService.addStock(bookId, incrementBy);
+        // New copies go to waiting holds first, as returned ones do
+        holdQueueService.allocate(bookId, incrementBy);
+        Book savedBook = bookRepository.findById(bookId)
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + bookId));
+        // The copies were changed by native updates; read them back rather than from the caches
+        entityManager.refresh(savedBook);
+        publishChange(bookId, BookChangedEvent.ChangeType.UPDATED);
 
         return bookMapper.toAdminBookDetailsDTO(savedBook);
     }
@@ -197,21 +198,16 @@ public class BookServiceAdminImpl implements BookServiceAdmin{
     @Transactional
     @Override
     public AdminBookDetailsDTO decrementAvailableCopiesAdmin(Long bookId, int decrementBy) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + bookId));
-
         if (decrementBy <= 0) {
             throw new InvalidOperationException("Decrement value must be positive");
         }
 
-        if (book.getAvailableCopies() < decrementBy) {
-            throw new InvalidOperationException("Cannot decrement more copies than available");
-        }
-
-        book.setAvailableCopies(book.getAvailableCopies() - decrementBy);
-        book.setTotalCopies(Math.max(book.getTotalCopies() - decrementBy, book.getAvailableCopies()));
-        Book savedBook = bookRepository.save(book);
-        bookCache.put(bookId, savedBook);
+        bookInventoryService.removeStock(bookId, decrementBy);
+        Book savedBook = bookRepository.findById(bookId)
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + bookId));
+        // The copies were changed by native updates; read them back rather than from the caches
+        entityManager.refresh(savedBook);
+        publishChange(bookId, BookChangedEvent.ChangeType.UPDATED);
 
         return bookMapper.toAdminBookDetailsDTO(savedBook);
     }
@@ -265,11 +261,17 @@ public class BookServiceAdminImpl implements BookServiceAdmin{
 //        return statistics;
 //    }
 
+    private void publishChange(Long bookId, BookChangedEvent.ChangeType changeType) {
+        eventPublisher.publishEvent(new BookChangedEvent(this, bookId, changeType));
+    }
+
     private Book saveBookWithCategories(BookAddingDTO dto) {
         Book book = bookMapper.convertToEntity(dto);
         Set<Category> categories = mapCategoryNamesToEntities(dto.getCategories());
         book.setCategories(categories);
-        return bookRepository.save(book);
+        Book savedBook = bookRepository.save(book);
+        categoryBookCounter.categoriesChanged(Set.of(), categories);
+        return savedBook;
     }
 
     private Set<Category> mapCategoryNamesToEntities(List<String> categoryNames) {
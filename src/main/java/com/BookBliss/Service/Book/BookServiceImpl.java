@@ -1,26 +1,32 @@
 package com.BookBliss.Service.Book;
 
 import com.BookBliss.DTO.Books.*;
+import com.BookBliss.DTO.Common.CursorPage;
+import com.BookBliss.DTO.Common.CursorRequest;
 import com.BookBliss.Entity.*;
 import com.BookBliss.Exception.InvalidOperationException;
 import com.BookBliss.Exception.ResourceNotFoundException;
 import com.BookBliss.Mapper.BookMapper;
 import com.BookBliss.Repository.BookRepository;
 import com.BookBliss.Repository.CategoryRepository;
-import com.BookBliss.Repository.SearchHistoryRepository;
 import com.BookBliss.Service.Borrowing.BorrowingServiceImpl;
 import com.BookBliss.Service.Review.ReviewsServiceImpl;
+import com.BookBliss.Service.Search.BookAutocompleteIndex;
+import com.BookBliss.Service.Search.BookCatalogIndexer;
+import com.BookBliss.Service.Search.BookFuzzyIndex;
+import com.BookBliss.Service.Search.BookSearchIndex;
+import com.BookBliss.Service.Search.IndexedBook;
+import com.BookBliss.Service.Search.SearchHistoryRecorder;
+import com.BookBliss.Service.Search.TrendingSearchTracker;
 import com.BookBliss.Service.Wishlist.WishlistServiceImpl;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.BookBliss.Utils.KeysetPager;
 import io.micrometer.common.util.StringUtils;
-import jakarta.annotation.PostConstruct;
 ;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -28,40 +34,26 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
 public class BookServiceImpl implements BookService {
     private static final Logger log = LoggerFactory.getLogger(BookServiceImpl.class);
-
-    private final Cache<Long, Book> bookCache = Caffeine.newBuilder()
-            .expireAfterWrite(1, TimeUnit.HOURS)
-            .maximumSize(10_000)
-            .recordStats()
-            .build();
-
-    private final Cache<String, List<BookPreviewDTO>> recentBooksCache = Caffeine.newBuilder()
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .maximumSize(1)
-            .build();
-
-    private final Cache<String, List<BookSearchResponse>> searchCache = Caffeine.newBuilder()
-            .expireAfterWrite(10, TimeUnit.MINUTES)
-            .maximumSize(1000)
-            .build();
+    private static final int MAX_INDEX_SEARCH_RESULTS = 1000;
+    private static final int TRENDING_SEARCH_COUNT = 10;
+    private static final Set<String> SCROLL_SORT_FIELDS = Set.of("id", "title", "author", "createdAt");
 
     @Autowired
     private BookRepository bookRepository;
 
     @Autowired
-    private CategoryRepository categoryRepository;
+    private BookCatalogCache bookCatalogCache;
 
     @Autowired
-    private BookMapper bookMapper;
+    private CategoryRepository categoryRepository;
 
     @Autowired
-    private SearchHistoryRepository searchHistoryRepository;
+    private BookMapper bookMapper;
 
     @Autowired
     private BorrowingServiceImpl borrowingService;
@@ -72,18 +64,34 @@ public class BookServiceImpl implements BookService {
     @Autowired
     private WishlistServiceImpl wishlistService;
 
+    @Autowired
+    private BookStatsEnricher bookStatsEnricher;
+
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
+    @Autowired
+    private BookCatalogIndexer bookCatalogIndexer;
+
+    @Autowired
+    private BookAutocompleteIndex bookAutocompleteIndex;
+
+    @Autowired
+    private BookFuzzyIndex bookFuzzyIndex;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private SearchHistoryRecorder searchHistoryRecorder;
+
+    @Autowired
+    private TrendingSearchTracker trendingSearchTracker;
+
 
     @Override
     public BookDetailsDTO getBookById(Long id) {
-        Book book = bookCache.get(id, key -> bookRepository.findById(key)
-                .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + id)));
-        BookDetailsDTO dto= bookMapper.convertToDetailsDTO(book);
-            dto.setAverageRatingGreaterThan(reviewsService.getAverageBookRating(book.getId()));
-            dto.setBorrowCount(borrowingService.getBorrowingCountByBook(book.getId()));
-            dto.setIsNew(this.isBookNew(book.getId()));
-            dto.setRatingCount(reviewsService.countReviewsByBook(book.getId()));
-            dto.setWishlistedCount(wishlistService.getBookWishlistCount(book.getId()));
-        return dto;
+        return bookCatalogCache.getDetails(id, key -> bookStatsEnricher.toDetailsDTO(findBook(key)));
     }
 
     /**
@@ -100,8 +108,13 @@ public class BookServiceImpl implements BookService {
 
     @Override
     public List<BookSearchResponse> searchBooks(String query, int limit) {
+        if (bookCatalogIndexer.isReady()) {
+            return bookSearchIndex.search(query, limit, true).stream()
+                    .map(IndexedBook::toSearchResponse)
+                    .collect(Collectors.toList());
+        }
         String cacheKey = query.toLowerCase() + "_" + limit;
-        return searchCache.get(cacheKey, k -> bookRepository.searchBooks(query.toLowerCase(), limit)
+        return bookCatalogCache.getSearch(cacheKey, k -> bookRepository.searchBooks(query.toLowerCase(), limit)
                 .stream()
                 .map(book -> new BookSearchResponse(
                         book.getId(),
@@ -113,16 +126,20 @@ public class BookServiceImpl implements BookService {
                 .collect(Collectors.toList()));
     }
 
+    @Override
+    public List<BookSearchResponse> autocomplete(String prefix, int limit) {
+        if (!bookCatalogIndexer.isReady()) {
+            return searchBooks(prefix, limit);
+        }
+        return bookAutocompleteIndex.complete(prefix, limit).stream()
+                .map(IndexedBook::toSearchResponse)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<BookSummaryDTO> getRecentBooksPreview() {
-        List<Book> books =  bookRepository.findTop8ByOrderByCreatedAtDesc();
-         return books.stream().map(book ->{
-            BookSummaryDTO dto= bookMapper.convertToSummaryDTO(book);
-            dto.setAverageRating(reviewsService.getAverageBookRating(book.getId()));
-            dto.setIsNew(this.isBookNew(book.getId()));
-            dto.setRatingCount(reviewsService.countReviewsByBook(book.getId()));
-            dto.setBorrowCount(borrowingService.getBorrowingCountByBook(book.getId()));
-            return dto;}).toList();
+        return bookCatalogCache.getRecent(k ->
+                bookStatsEnricher.toSummaryDTOs(bookRepository.findTop8ByOrderByCreatedAtDesc()));
 
     }
 
@@ -135,8 +152,7 @@ public class BookServiceImpl implements BookService {
 
     @Override
     public List<BookSummaryDTO> getSimilarBooks(Long bookId, int limit) {
-        Book originalBook = bookRepository.findById(bookId)
-                .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + bookId));
+        Book originalBook = bookCatalogCache.getBook(bookId, this::findBookWithCategories);
 
         Set<Category> bookCategories = originalBook.getCategories();
         String author = originalBook.getAuthor();
@@ -148,15 +164,13 @@ public class BookServiceImpl implements BookService {
                 PageRequest.of(0, limit)
         );
 
-        return similarBooks.stream()
-                .map(this::cacheAndConvertToDTO)
-                .collect(Collectors.toList());
+        return bookStatsEnricher.toSummaryDTOs(similarBooks);
     }
 
     @Override
     public Page<BookSummaryDTO> getBooksByAuthor(String authorName, Pageable pageable) {
-        return bookRepository.findByAuthorContainingIgnoreCase(authorName, pageable)
-                .map(this::cacheAndConvertToDTO);
+        Page<Book> books = bookRepository.findByAuthorContainingIgnoreCase(authorName, pageable);
+        return bookStatsEnricher.toSummaryPage(books);
     }
 
 
@@ -166,14 +180,16 @@ public class BookServiceImpl implements BookService {
     }
 
 
-    private BookSummaryDTO cacheAndConvertToDTO(Book book) {
-        bookCache.put(book.getId(), book);
-        BookSummaryDTO dto= bookMapper.convertToSummaryDTO(book);
-        dto.setAverageRating(reviewsService.getAverageBookRating(book.getId()));
-        dto.setIsNew(this.isBookNew(book.getId()));
-        dto.setRatingCount(reviewsService.countReviewsByBook(book.getId()));
-        dto.setBorrowCount(borrowingService.getBorrowingCountByBook(book.getId()));
-        return dto;
+    private Book findBook(Long id) {
+        return bookRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + id));
+    }
+
+    /** Cached entities outlive their session, so categories are fetched up front. */
+    private Book findBookWithCategories(Long id) {
+        return bookRepository.findAllWithCategoriesByIdIn(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + id));
     }
 
     private Book saveBookWithCategories(BookAddingDTO dto) {
@@ -211,24 +227,6 @@ public class BookServiceImpl implements BookService {
         book.setCategories(mapCategoryNamesToEntities(dto.getCategories()));
     }
 
-    @PostConstruct
-    private void logCacheStats() {
-        Timer timer = new Timer(true);
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                CacheStats stats = bookCache.stats();
-                log.info("Book Cache Stats - Hit rate: {}%, Hit count: {}, Miss count: {}, Load count: {}, Eviction count: {}",
-                        String.format("%.2f", stats.hitRate() * 100),
-                        stats.hitCount(),
-                        stats.missCount(),
-                        stats.loadCount(),
-                        stats.evictionCount()
-                );
-            }
-        }, 0, TimeUnit.MINUTES.toMillis(5));
-    }
-
     // feb 6
     public DynamicSearchResponse dynamicSearch(String query, Long userId, int limit) {
         if (StringUtils.isBlank(query)) {
@@ -238,8 +236,20 @@ public class BookServiceImpl implements BookService {
         // Sanitize and normalize the query
         String sanitizedQuery = sanitizeSearchQuery(query);
 
-        // Get exact matches
-        List<BookSearchResponse> exactMatches = searchBooks(sanitizedQuery, limit);
+        // Get exact matches: popular prefix completions first, topped up with ranked full-text hits
+        List<BookSearchResponse> exactMatches = autocomplete(sanitizedQuery, limit);
+        if (exactMatches.size() < limit && bookCatalogIndexer.isReady()) {
+            Set<Long> seen = exactMatches.stream().map(BookSearchResponse::getId).collect(Collectors.toSet());
+            exactMatches = new ArrayList<>(exactMatches);
+            for (BookSearchResponse match : searchBooks(sanitizedQuery, limit)) {
+                if (exactMatches.size() >= limit) {
+                    break;
+                }
+                if (seen.add(match.getId())) {
+                    exactMatches.add(match);
+                }
+            }
+        }
 
         // Get suggested matches using fuzzy search
         List<BookSearchResponse> suggestedMatches = searchBooksWithFuzzyMatch(sanitizedQuery, limit);
@@ -247,20 +257,14 @@ public class BookServiceImpl implements BookService {
         // Get trending searches (always available)
         List<String> trendingSearches = getTrendingSearches();
 
-        // Get user's recent searches if userId is available
+        // Get user's recent searches if userId is available; served from memory after the first call
         List<String> recentSearches = userId != null ?
                 getRecentSearches(userId) :
                 Collections.emptyList();
 
-        // Update search history if userId is available
-        if (userId != null) {
-            try {
-                updateSearchHistory(sanitizedQuery, userId);
-            } catch (Exception e) {
-                log.warn("Failed to update search history for user {}", userId, e);
-                // Continue processing - don't fail the search if history update fails
-            }
-        }
+        // Buffer the search; history rows are upserted in batches off the request thread
+        searchHistoryRecorder.record(userId, sanitizedQuery);
+        trendingSearchTracker.record(userId, sanitizedQuery);
 
         return new DynamicSearchResponse(
                 exactMatches,
@@ -282,8 +286,24 @@ public class BookServiceImpl implements BookService {
     }
 
     private List<BookSearchResponse> searchBooksWithFuzzyMatch(String query, int limit) {
+        if (bookCatalogIndexer.isReady()) {
+            // Typo-tolerant matches first, then books matching only some of the query words
+            Map<Long, IndexedBook> suggestions = new LinkedHashMap<>();
+            bookFuzzyIndex.search(query, limit).forEach(book -> suggestions.put(book.getId(), book));
+            if (suggestions.size() < limit) {
+                for (IndexedBook book : bookSearchIndex.search(query, limit, false)) {
+                    suggestions.putIfAbsent(book.getId(), book);
+                    if (suggestions.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+            return suggestions.values().stream()
+                    .map(IndexedBook::toSearchResponse)
+                    .collect(Collectors.toList());
+        }
         String cacheKey = "fuzzy_" + query.toLowerCase() + "_" + limit;
-        return searchCache.get(cacheKey, k -> bookRepository.searchBooksWithFuzzyMatch(query.toLowerCase(), limit)
+        return bookCatalogCache.getSearch(cacheKey, k -> bookRepository.searchBooksWithFuzzyMatch(query.toLowerCase(), limit)
                 .stream()
                 .map(book -> new BookSearchResponse(
                         book.getId(),
@@ -294,35 +314,8 @@ public class BookServiceImpl implements BookService {
                 .collect(Collectors.toList()));
     }
 
-    private void updateSearchHistory(String searchTerm, Long userId) {
-        if (userId == null || StringUtils.isBlank(searchTerm)) {
-            return;
-        }
-
-        try {
-            SearchHistory searchHistory = searchHistoryRepository
-                    .findByUserIdAndSearchTerm(userId, searchTerm.toLowerCase())
-                    .orElse(SearchHistory.builder()
-                            .userId(userId)
-                            .searchTerm(searchTerm.toLowerCase())
-                            .searchCount(0)
-                            .build());
-
-            searchHistory.setSearchCount(searchHistory.getSearchCount() + 1);
-            searchHistory.setSearchedAt(LocalDateTime.now());
-            searchHistoryRepository.save(searchHistory);
-        } catch (Exception e) {
-            log.error("Error updating search history for user {} and term {}", userId, searchTerm, e);
-            throw new InvalidOperationException("Failed to update search history");
-        }
-    }
-
     public List<String> getTrendingSearches() {
-        return searchHistoryRepository
-                .findTop10ByOrderBySearchCountDesc()
-                .stream()
-                .map(SearchHistory::getSearchTerm)
-                .collect(Collectors.toList());
+        return trendingSearchTracker.topTerms(TRENDING_SEARCH_COUNT);
     }
 
     public List<String> getRecentSearches(Long userId) {
@@ -331,11 +324,7 @@ public class BookServiceImpl implements BookService {
         }
 
         try {
-            return searchHistoryRepository
-                    .findTop10ByUserIdOrderBySearchedAtDesc(userId)
-                    .stream()
-                    .map(SearchHistory::getSearchTerm)
-                    .collect(Collectors.toList());
+            return searchHistoryRecorder.recentSearches(userId);
         } catch (Exception e) {
             log.error("Error fetching recent searches for user {}", userId, e);
             return Collections.emptyList();
@@ -347,28 +336,49 @@ public class BookServiceImpl implements BookService {
     public Page<BookSummaryDTO> findBooksByFilter(BookFilterDTO filterDTO, Pageable pageable) {
         Specification<Book> spec = BookSpecification.buildFromFilterDTO(filterDTO);
         Page<Book> Books= bookRepository.findAll(spec, pageable);
-        return Books.map(book -> {
-            BookSummaryDTO dto= bookMapper.convertToSummaryDTO(book);
-            dto.setAverageRating(reviewsService.getAverageBookRating(book.getId()));
-            dto.setIsNew(this.isBookNew(book.getId()));
-            dto.setRatingCount(reviewsService.countReviewsByBook(book.getId()));
-            dto.setBorrowCount(borrowingService.getBorrowingCountByBook(book.getId()));
-            return dto;
-        });
+        return bookStatsEnricher.toSummaryPage(Books);
+    }
+
+    @Override
+    public CursorPage<BookSummaryDTO> scrollBooks(BookFilterDTO filterDTO, CursorRequest cursorRequest) {
+        // An empty filter lets estimated counts come from the table statistics
+        Specification<Book> spec = filterDTO == null || filterDTO.equals(new BookFilterDTO())
+                ? null
+                : BookSpecification.buildFromFilterDTO(filterDTO);
+        return keysetPager.page(bookRepository, Book.class, spec, cursorRequest, SCROLL_SORT_FIELDS,
+                bookStatsEnricher::toSummaryDTOs);
     }
 
     @Override
     public Page<BookSummaryDTO> searchBooksCriteria(String keyword, Pageable pageable) {
+        // Relevance-ordered results come from the in-memory index; explicit sorts still go to the database
+        if (bookCatalogIndexer.isReady() && pageable.getSort().isUnsorted() && StringUtils.isNotBlank(keyword)) {
+            return searchBooksFromIndex(keyword, pageable);
+        }
         Specification<Book> spec = BookSpecification.keywordSearch(keyword);
         Page<Book> Books= bookRepository.findAll(spec, pageable);
-        return Books.map(book ->{
-            BookSummaryDTO dto= bookMapper.convertToSummaryDTO(book);
-            dto.setAverageRating(reviewsService.getAverageBookRating(book.getId()));
-            dto.setIsNew(this.isBookNew(book.getId()));
-            dto.setRatingCount(reviewsService.countReviewsByBook(book.getId()));
-            dto.setBorrowCount(borrowingService.getBorrowingCountByBook(book.getId()));
-            return dto;
-        });
+        return bookStatsEnricher.toSummaryPage(Books);
+    }
+
+
+    private Page<BookSummaryDTO> searchBooksFromIndex(String keyword, Pageable pageable) {
+        List<Long> matchingIds = bookSearchIndex.search(keyword, MAX_INDEX_SEARCH_RESULTS, true).stream()
+                .map(IndexedBook::getId)
+                .toList();
+
+        int start = (int) Math.min(pageable.getOffset(), matchingIds.size());
+        int end = Math.min(start + pageable.getPageSize(), matchingIds.size());
+        List<Long> pageIds = matchingIds.subList(start, end);
+
+        // Load only the requested page by primary key, keeping the relevance order
+        Map<Long, Book> booksById = bookRepository.findAllWithCategoriesByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Book::getId, book -> book));
+        List<Book> pageBooks = pageIds.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new PageImpl<>(bookStatsEnricher.toSummaryDTOs(pageBooks), pageable, matchingIds.size());
     }
 
 
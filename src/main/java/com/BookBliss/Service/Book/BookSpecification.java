@@ -3,9 +3,8 @@ package com.BookBliss.Service.Book;
 import com.BookBliss.DTO.Admin.BookManagement.BookSearchCriteria;
 import com.BookBliss.DTO.Books.BookFilterDTO;
 import com.BookBliss.Entity.Book;
-import com.BookBliss.Entity.Borrowing;
+import com.BookBliss.Entity.BookStats;
 import com.BookBliss.Entity.Category;
-import com.BookBliss.Entity.Reviews;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
@@ -13,6 +12,7 @@ import org.springframework.util.StringUtils;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import jakarta.persistence.criteria.Subquery;
 
 import java.time.LocalDateTime;
@@ -232,41 +232,38 @@ public class BookSpecification {
         };
     }
 
-    // Method for average rating filter
+    // Method for average rating filter, served from the indexed book_stats projection
     public static Specification<Book> hasAverageRatingGreaterThan(Double minRating) {
         return (root, query, criteriaBuilder) -> {
             if (minRating == null) {
                 return criteriaBuilder.conjunction();
             }
 
-            Subquery<Double> reviewSubquery = query.subquery(Double.class);
-            var reviewRoot = reviewSubquery.from(Reviews.class);
-            reviewSubquery.select(criteriaBuilder.avg(reviewRoot.get("rating")))
-                    .where(criteriaBuilder.equal(reviewRoot.get("book"), root));
+            Subquery<Long> statsSubquery = query.subquery(Long.class);
+            Root<BookStats> statsRoot = statsSubquery.from(BookStats.class);
+            statsSubquery.select(statsRoot.get("bookId"))
+                    .where(
+                            criteriaBuilder.greaterThanOrEqualTo(statsRoot.get("averageRating"), minRating),
+                            criteriaBuilder.greaterThan(statsRoot.get("ratingCount"), 0L)
+                    );
 
-            return criteriaBuilder.greaterThanOrEqualTo(
-                    reviewSubquery,
-                    minRating
-            );
+            return root.get("id").in(statsSubquery);
         };
     }
 
-    // Method for borrow count filter
+    // Method for borrow count filter, served from the indexed book_stats projection
     public static Specification<Book> hasBorrowCountGreaterThan(Long minBorrowCount) {
         return (root, query, criteriaBuilder) -> {
-            if (minBorrowCount == null) {
+            if (minBorrowCount == null || minBorrowCount <= 0) {
                 return criteriaBuilder.conjunction();
             }
 
-            Subquery<Long> borrowSubquery = query.subquery(Long.class);
-            var borrowRoot = borrowSubquery.from(Borrowing.class);
-            borrowSubquery.select(criteriaBuilder.count(borrowRoot.get("id")))
-                    .where(criteriaBuilder.equal(borrowRoot.get("book"), root));
+            Subquery<Long> statsSubquery = query.subquery(Long.class);
+            Root<BookStats> statsRoot = statsSubquery.from(BookStats.class);
+            statsSubquery.select(statsRoot.get("bookId"))
+                    .where(criteriaBuilder.greaterThanOrEqualTo(statsRoot.get("borrowCount"), minBorrowCount));
 
-            return criteriaBuilder.greaterThanOrEqualTo(
-                    borrowSubquery,
-                    minBorrowCount.longValue()
-            );
+            return root.get("id").in(statsSubquery);
         };
     }
 
@@ -0,0 +1,104 @@
+package com.BookBliss.Service.Book;
+
+import com.BookBliss.DTO.Admin.BookManagement.AdminBookDetailsDTO;
+import com.BookBliss.DTO.Books.BookDetailsDTO;
+import com.BookBliss.DTO.Books.BookStatsDTO;
+import com.BookBliss.DTO.Books.BookSummaryDTO;
+import com.BookBliss.Entity.Book;
+import com.BookBliss.Mapper.BookMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Batch enrichment stage for book listings.
+ * <p>
+ * Instead of issuing rating, review, borrow and wishlist lookups per row, the stats for a whole
+ * page are read from the {@code book_stats} projection with a single {@code IN (...)} query and
+ * then applied to the DTOs in memory. The "new" flag is derived from {@code createdAt} on the
+ * already loaded entity.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookStatsEnricher {
+
+    private static final int NEW_BOOK_WEEKS = 1;
+
+    private final BookStatsService bookStatsService;
+    private final BookMapper bookMapper;
+
+    public Map<Long, BookStatsDTO> loadStats(Collection<Long> bookIds) {
+        return bookStatsService.getStats(bookIds);
+    }
+
+    public BookStatsDTO loadStats(Long bookId) {
+        return loadStats(List.of(bookId)).getOrDefault(bookId, BookStatsDTO.empty(bookId));
+    }
+
+    public List<BookSummaryDTO> toSummaryDTOs(List<Book> books) {
+        Map<Long, BookStatsDTO> stats = loadStats(books.stream().map(Book::getId).toList());
+        LocalDateTime newSince = newSince();
+        return books.stream()
+                .map(book -> toSummaryDTO(book, stats.get(book.getId()), newSince))
+                .collect(Collectors.toList());
+    }
+
+    public Page<BookSummaryDTO> toSummaryPage(Page<Book> books) {
+        Map<Long, BookStatsDTO> stats = loadStats(books.getContent().stream().map(Book::getId).toList());
+        LocalDateTime newSince = newSince();
+        return books.map(book -> toSummaryDTO(book, stats.get(book.getId()), newSince));
+    }
+
+    public Page<AdminBookDetailsDTO> toAdminPage(Page<Book> books) {
+        Map<Long, BookStatsDTO> stats = loadStats(books.getContent().stream().map(Book::getId).toList());
+        return books.map(book -> {
+            AdminBookDetailsDTO dto = bookMapper.toAdminBookDetailsDTO(book);
+            applyStats(dto, stats.get(book.getId()));
+            return dto;
+        });
+    }
+
+    public BookDetailsDTO toDetailsDTO(Book book) {
+        BookDetailsDTO dto = bookMapper.convertToDetailsDTO(book);
+        BookStatsDTO stats = loadStats(book.getId());
+        dto.setAverageRatingGreaterThan(stats.getAverageRating());
+        dto.setRatingCount(stats.getRatingCount());
+        dto.setBorrowCount(stats.getBorrowCount());
+        dto.setWishlistedCount(stats.getWishlistCount());
+        dto.setIsNew(isNew(book, newSince()));
+        return dto;
+    }
+
+    public void applyStats(AdminBookDetailsDTO dto, BookStatsDTO stats) {
+        if (stats == null) {
+            stats = BookStatsDTO.empty(dto.getId());
+        }
+        dto.setAverageRating(stats.getAverageRating());
+        dto.setReviewCount(stats.getRatingCount());
+        dto.setBorrowCount(stats.getBorrowCount());
+    }
+
+    private BookSummaryDTO toSummaryDTO(Book book, BookStatsDTO stats, LocalDateTime newSince) {
+        if (stats == null) {
+            stats = BookStatsDTO.empty(book.getId());
+        }
+        BookSummaryDTO dto = bookMapper.convertToSummaryDTO(book);
+        dto.setAverageRating(stats.getAverageRating());
+        dto.setRatingCount(stats.getRatingCount());
+        dto.setBorrowCount(stats.getBorrowCount());
+        dto.setIsNew(isNew(book, newSince));
+        return dto;
+    }
+
+    private boolean isNew(Book book, LocalDateTime newSince) {
+        return book.getCreatedAt() != null && book.getCreatedAt().isAfter(newSince);
+    }
+
+    private LocalDateTime newSince() {
+        return LocalDateTime.now().minusWeeks(NEW_BOOK_WEEKS);
+    }
+}
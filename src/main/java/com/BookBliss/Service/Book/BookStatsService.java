@@ -0,0 +1,175 @@
+package com.BookBliss.Service.Book;
+
+import com.BookBliss.DTO.Books.BookStatsDTO;
+import com.BookBliss.Entity.BookStats;
+import com.BookBliss.Events.Books.BookDetailsChangedEvent;
+import com.BookBliss.Repository.BookRepository;
+import com.BookBliss.Repository.BookStatsRepository;
+import com.BookBliss.Repository.BorrowingRepository;
+import com.BookBliss.Repository.ReviewsRepository;
+import com.BookBliss.Repository.WishlistRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.IntSupplier;
+
+/**
+ * Maintains the {@code book_stats} projection.
+ * <p>
+ * Write paths call the {@code record*} methods inside their own transaction, which apply atomic
+ * counter/sum updates to the book's row. A scheduled rebuild recomputes every row from the
+ * reviews, borrowings and wishlist tables in id-ordered batches to repair any drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookStatsService {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final BookStatsRepository bookStatsRepository;
+    private final BookRepository bookRepository;
+    private final ReviewsRepository reviewsRepository;
+    private final BorrowingRepository borrowingRepository;
+    private final WishlistRepository wishlistRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.book-stats.seed-on-startup:true}")
+    private boolean seedOnStartup;
+
+    @Transactional
+    public void recordReviewAdded(Long bookId, int rating) {
+        apply(bookId, () -> bookStatsRepository.applyRatingDelta(bookId, rating, 1));
+    }
+
+    @Transactional
+    public void recordReviewRemoved(Long bookId, int rating) {
+        apply(bookId, () -> bookStatsRepository.applyRatingDelta(bookId, -rating, -1));
+    }
+
+    @Transactional
+    public void recordRatingChanged(Long bookId, int oldRating, int newRating) {
+        if (oldRating != newRating) {
+            apply(bookId, () -> bookStatsRepository.applyRatingDelta(bookId, newRating - oldRating, 0));
+        }
+    }
+
+    @Transactional
+    public void recordBorrow(Long bookId, int delta) {
+        apply(bookId, () -> bookStatsRepository.applyBorrowDelta(bookId, delta));
+    }
+
+    @Transactional
+    public void recordWishlist(Long bookId, int delta) {
+        apply(bookId, () -> bookStatsRepository.applyWishlistDelta(bookId, delta));
+    }
+
+    @Transactional
+    public void remove(Long bookId) {
+        bookStatsRepository.deleteById(bookId);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, BookStatsDTO> getStats(Collection<Long> bookIds) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, BookStatsDTO> stats = new HashMap<>();
+        for (BookStats row : bookStatsRepository.findByBookIdIn(new HashSet<>(bookIds))) {
+            stats.put(row.getBookId(), toDTO(row));
+        }
+        return stats;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, BookStatsDTO> getAllStats() {
+        Map<Long, BookStatsDTO> stats = new HashMap<>();
+        for (BookStats row : bookStatsRepository.findAll()) {
+            stats.put(row.getBookId(), toDTO(row));
+        }
+        return stats;
+    }
+
+    /**
+     * Recomputes every row from the source tables. Runs nightly by default; each batch of
+     * {@value #REBUILD_BATCH_SIZE} books is committed separately.
+     */
+    @Scheduled(cron = "${app.book-stats.rebuild-cron:0 30 3 * * ?}")
+    public void rebuildAll() {
+        log.info("Rebuilding book_stats projection");
+        long lastId = 0L;
+        int rebuilt = 0;
+        while (true) {
+            List<Long> ids = bookRepository.findIdsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> rebuild(ids));
+            rebuilt += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+        Integer orphans = transactionTemplate.execute(status -> bookStatsRepository.deleteOrphans());
+        log.info("Rebuilt book_stats for {} books, removed {} orphaned rows", rebuilt, orphans);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedIfIncomplete() {
+        if (seedOnStartup && bookStatsRepository.count() < bookRepository.count()) {
+            rebuildAll();
+        }
+    }
+
+    /** Runs an atomic update and falls back to recomputing the row when it does not exist yet. */
+    private void apply(Long bookId, IntSupplier update) {
+        if (bookId == null) {
+            return;
+        }
+        if (update.getAsInt() == 0) {
+            // The source tables already contain the current write once flushed
+            bookStatsRepository.flush();
+            rebuild(List.of(bookId));
+        }
+        eventPublisher.publishEvent(new BookDetailsChangedEvent(this, List.of(bookId)));
+    }
+
+    private void rebuild(Collection<Long> bookIds) {
+        Map<Long, long[]> figures = new HashMap<>();
+        bookIds.forEach(id -> figures.put(id, new long[4]));
+
+        for (Object[] row : reviewsRepository.findRatingStatsByBookIds(bookIds)) {
+            long[] f = figures.get((Long) row[0]);
+            f[0] = ((Number) row[1]).longValue();
+            f[1] = ((Number) row[2]).longValue();
+        }
+        for (Object[] row : borrowingRepository.countByBookIds(bookIds)) {
+            figures.get((Long) row[0])[2] = ((Number) row[1]).longValue();
+        }
+        for (Object[] row : wishlistRepository.countByBookIds(bookIds)) {
+            figures.get((Long) row[0])[3] = ((Number) row[1]).longValue();
+        }
+
+        figures.forEach((bookId, f) -> bookStatsRepository.upsert(
+                bookId, f[0], f[1], f[1] > 0 ? (double) f[0] / f[1] : 0.0, f[2], f[3]));
+    }
+
+    private BookStatsDTO toDTO(BookStats row) {
+        return BookStatsDTO.builder()
+                .bookId(row.getBookId())
+                .averageRating(row.getAverageRating())
+                .ratingCount(row.getRatingCount())
+                .borrowCount(row.getBorrowCount())
+                .wishlistCount(row.getWishlistCount())
+                .build();
+    }
+}
@@ -0,0 +1,193 @@
+package com.BookBliss.Service.Borrowing;
+
+import com.BookBliss.Entity.Borrowing;
+import com.BookBliss.Events.Borrowings.BorrowingDueDateSetEvent;
+import com.BookBliss.Events.Borrowings.BorrowingsOverdueEvent;
+import com.BookBliss.Repository.BorrowingRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves borrowings from BORROWED to OVERDUE when their due date passes.
+ * <p>
+ * Upcoming due dates are kept in memory in due-date order, loaded one horizon at a time from the
+ * {@code (status, due_date)} index and topped up by {@link BorrowingDueDateSetEvent}s for new
+ * borrowings. A single timer thread sleeps until the earliest of them and then flips every
+ * borrowing that is due in set-based batches ({@code SELECT ... FOR UPDATE} followed by one
+ * {@code UPDATE ... WHERE id IN}), publishing a {@link BorrowingsOverdueEvent} per batch.
+ * <p>
+ * Each wake sweeps all due rows through the index, not only the ones held in memory, so a
+ * borrowing missed by the in-memory queue (capped load, other node, restart) is still flipped
+ * at the next wake, at the latest one horizon later. Because the update re-checks the status,
+ * several nodes can run the scheduler at the same time.
+ */
+@Component
+@Slf4j
+public class BorrowingDueDateScheduler {
+
+    private record Due(LocalDateTime dueDate, Long borrowingId) {
+    }
+
+    private static final Comparator<Due> DUE_ORDER =
+            Comparator.comparing(Due::dueDate).thenComparing(Due::borrowingId);
+
+    private final BorrowingRepository borrowingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Duration horizon;
+    private final int maxLoaded;
+    private final int batchSize;
+    private final Duration retryDelay;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "borrowing-due-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this
+    private final TreeSet<Due> upcoming = new TreeSet<>(DUE_ORDER);
+    private LocalDateTime loadedUntil;
+    private LocalDateTime nextWakeAt;
+    private ScheduledFuture<?> nextWake;
+
+    public BorrowingDueDateScheduler(BorrowingRepository borrowingRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${app.borrowing.due-scheduler.enabled:true}") boolean enabled,
+                                     @Value("${app.borrowing.due-scheduler.horizon-minutes:60}") long horizonMinutes,
+                                     @Value("${app.borrowing.due-scheduler.max-loaded:10000}") int maxLoaded,
+                                     @Value("${app.borrowing.due-scheduler.batch-size:500}") int batchSize,
+                                     @Value("${app.borrowing.due-scheduler.retry-delay-ms:30000}") long retryDelayMs) {
+        this.borrowingRepository = borrowingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.horizon = Duration.ofMinutes(horizonMinutes);
+        this.maxLoaded = maxLoaded;
+        this.batchSize = batchSize;
+        this.retryDelay = Duration.ofMillis(retryDelayMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            // The first wake also catches up on everything that fell due while the application was down
+            timer.execute(this::wake);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDueDateSet(BorrowingDueDateSetEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            // Due dates beyond the loaded horizon are picked up by the load that reaches them
+            if (loadedUntil == null || event.getDueDate().isAfter(loadedUntil)) {
+                return;
+            }
+            upcoming.add(new Due(event.getDueDate(), event.getBorrowingId()));
+            if (nextWakeAt == null || event.getDueDate().isBefore(nextWakeAt)) {
+                scheduleWake(event.getDueDate());
+            }
+        }
+    }
+
+    /** Runs on the timer thread only. */
+    private void wake() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transitionDue(now);
+            synchronized (this) {
+                upcoming.headSet(new Due(now, Long.MAX_VALUE), true).clear();
+                if (loadedUntil == null || !now.isBefore(loadedUntil)) {
+                    loadHorizon(now);
+                }
+                LocalDateTime next = upcoming.isEmpty() ? loadedUntil : upcoming.first().dueDate();
+                scheduleWake(next.isBefore(loadedUntil) ? next : loadedUntil);
+            }
+        } catch (Exception e) {
+            log.error("Due-date sweep failed, retrying in {}: {}", retryDelay, e.getMessage(), e);
+            synchronized (this) {
+                scheduleWake(now.plus(retryDelay));
+            }
+        }
+    }
+
+    /** Flips every borrowing due at {@code now}, one locked batch per transaction. */
+    private void transitionDue(LocalDateTime now) {
+        int transitioned = 0;
+        List<Object[]> batch;
+        do {
+            batch = transactionTemplate.execute(status -> {
+                List<Object[]> rows = borrowingRepository.lockDueBorrowings(now, batchSize);
+                if (!rows.isEmpty()) {
+                    borrowingRepository.transitionStatus(column(rows, 0),
+                            Borrowing.BorrowingStatus.BORROWED, Borrowing.BorrowingStatus.OVERDUE);
+                }
+                return rows;
+            });
+            if (batch != null && !batch.isEmpty()) {
+                transitioned += batch.size();
+                eventPublisher.publishEvent(new BorrowingsOverdueEvent(this, column(batch, 0), column(batch, 1)));
+            }
+        } while (batch != null && batch.size() == batchSize);
+        if (transitioned > 0) {
+            log.info("Marked {} borrowings as overdue", transitioned);
+        }
+    }
+
+    /** Callers hold the monitor. */
+    private void loadHorizon(LocalDateTime now) {
+        LocalDateTime until = now.plus(horizon);
+        List<Object[]> rows = borrowingRepository.findDueBetween(
+                Borrowing.BorrowingStatus.BORROWED, now, until, PageRequest.of(0, maxLoaded));
+        for (Object[] row : rows) {
+            upcoming.add(new Due((LocalDateTime) row[1], ((Number) row[0]).longValue()));
+        }
+        // With a capped load, only the range actually read is known to be complete
+        loadedUntil = rows.size() == maxLoaded ? (LocalDateTime) rows.get(rows.size() - 1)[1] : until;
+        log.debug("Loaded {} due dates up to {}", rows.size(), loadedUntil);
+    }
+
+    /** Callers hold the monitor. */
+    private void scheduleWake(LocalDateTime at) {
+        if (nextWake != null) {
+            nextWake.cancel(false);
+        }
+        long delayMs = Math.max(0, Duration.between(LocalDateTime.now(), at).toMillis());
+        nextWakeAt = at;
+        nextWake = timer.schedule(this::wake, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static List<Long> column(List<Object[]> rows, int index) {
+        List<Long> values = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            values.add(((Number) row[index]).longValue());
+        }
+        return values;
+    }
+}
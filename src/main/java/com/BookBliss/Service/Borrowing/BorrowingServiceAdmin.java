@@ -1,6 +1,8 @@
 package com.BookBliss.Service.Borrowing;
 
 import com.BookBliss.DTO.Admin.BorrowingManagement.*;
+import com.BookBliss.DTO.Common.CursorPage;
+import com.BookBliss.DTO.Common.CursorRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -10,6 +12,7 @@ public interface BorrowingServiceAdmin {
 
     Page<AdminBorrowingDetailsDTO> getAllBorrowingsForAdmin(Pageable pageable);
     Page<AdminBorrowingDetailsDTO> searchBorrowings(BorrowingSearchCriteria criteria, Pageable pageable);
+    CursorPage<AdminBorrowingDetailsDTO> scrollBorrowings(BorrowingSearchCriteria criteria, CursorRequest cursorRequest);
     AdminBorrowingDetailsDTO getAdminBorrowingDetails(Long borrowingId);
     AdminBorrowingDetailsDTO updateBorrowingStatus(Long borrowingId, BorrowingStatusUpdateDTO statusUpdateDTO);
   //  AdminBorrowingDetailsDTO extendBorrowingDueDate(Long borrowingId, BorrowingExtensionDTO extensionDTO);
@@ -19,4 +22,6 @@ public interface BorrowingServiceAdmin {
     Page<AdminBorrowingDetailsDTO> getOverdueBorrowings(Pageable pageable);
     BorrowingStatisticsDTO getBorrowingStatistics();
     void deleteBorrowingByAdmin(Long borrowingId);
+    BulkCirculationDTOs.BulkCirculationReport checkOutBulk(BulkCirculationDTOs.BulkCheckOutRequest request);
+    BulkCirculationDTOs.BulkCirculationReport checkInBulk(BulkCirculationDTOs.BulkCheckInRequest request);
 }
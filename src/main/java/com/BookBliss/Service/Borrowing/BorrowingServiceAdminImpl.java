@@ -4,6 +4,9 @@ import com.BookBliss.DTO.Admin.BorrowingManagement.AdminBorrowingDetailsDTO;
 import com.BookBliss.DTO.Admin.BorrowingManagement.BorrowingSearchCriteria;
 import com.BookBliss.DTO.Admin.BorrowingManagement.BorrowingStatisticsDTO;
 import com.BookBliss.DTO.Admin.BorrowingManagement.BorrowingStatusUpdateDTO;
+import com.BookBliss.DTO.Admin.BorrowingManagement.BulkCirculationDTOs;
+import com.BookBliss.DTO.Common.CursorPage;
+import com.BookBliss.DTO.Common.CursorRequest;
 import com.BookBliss.Entity.Book;
 import com.BookBliss.Entity.Borrowing;
 import com.BookBliss.Entity.Journal;
@@ -16,6 +19,10 @@ import com.BookBliss.Repository.BookRepository;
 import com.BookBliss.Repository.BorrowingRepository;
 import com.BookBliss.Repository.JournalRepository;
 import com.BookBliss.Repository.UserRepository;
+import com.BookBliss.Service.Book.BookInventoryService;
+import com.BookBliss.Service.Book.BookStatsService;
+import com.BookBliss.Service.Reservation.HoldQueueService;
+import com.BookBliss.Utils.KeysetPager;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -28,6 +35,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
@@ -43,13 +51,20 @@ import java.util.*;
 public class BorrowingServiceAdminImpl implements BorrowingServiceAdmin{
     private static final int MAX_EXTENSION_COUNT = 3;
     private static final int DEFAULT_EXTENSION_DAYS = 7;
-    private static final BigDecimal FINE_RATE_PER_DAY = new BigDecimal("10.0");
+    static final BigDecimal FINE_RATE_PER_DAY = new BigDecimal("10.0");
+    private static final Set<String> SCROLL_SORT_FIELDS = Set.of("id", "borrowDate", "dueDate");
 
     private final BorrowingRepository borrowingRepository;
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
     private final JournalRepository journalRepository;
     private final BorrowingMapper adminBorrowingMapper;
+    private final BookStatsService bookStatsService;
+    private final BookInventoryService bookInventoryService;
+    private final KeysetPager keysetPager;
+    private final HoldQueueService holdQueueService;
+    private final UserCirculationCache circulationCache;
+    private final BulkCirculationService bulkCirculationService;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -142,6 +157,29 @@ public class BorrowingServiceAdminImpl implements BorrowingServiceAdmin{
         return new PageImpl<>(borrowingDetailsDTOs, pageable, totalCount);
     }
 
+    /**
+     * Keyset-paginated search over the same criteria as {@link #searchBorrowings}. Rows are
+     * ordered by {@code id}, {@code borrowDate} or {@code dueDate}; the criteria's own sort
+     * fields are ignored because the cursor fixes the order.
+     */
+    @Override
+    public CursorPage<AdminBorrowingDetailsDTO> scrollBorrowings(BorrowingSearchCriteria criteria, CursorRequest cursorRequest) {
+        return keysetPager.page(borrowingRepository, Borrowing.class, searchSpecification(criteria), cursorRequest,
+                SCROLL_SORT_FIELDS, borrowings -> borrowings.stream()
+                        .map(this::mapToAdminBorrowingDetailsDTO)
+                        .toList());
+    }
+
+    private Specification<Borrowing> searchSpecification(BorrowingSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            Join<Borrowing, User> userJoin = root.join("user", JoinType.INNER);
+            Join<Borrowing, Book> bookJoin = root.join("book", JoinType.LEFT);
+            Join<Borrowing, Journal> journalJoin = root.join("journal", JoinType.LEFT);
+            List<Predicate> predicates = createPredicates(criteria, cb, root, userJoin, bookJoin, journalJoin);
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
     /**
      * Helper method to create predicates for borrowing search queries.
      * This avoids duplication between main query and count query.
@@ -260,7 +298,7 @@ public class BorrowingServiceAdminImpl implements BorrowingServiceAdmin{
 
         if (criteria.getIsCurrentlyOverdue() != null && criteria.getIsCurrentlyOverdue()) {
             predicates.add(cb.lessThan(borrowing.get("dueDate"), LocalDateTime.now()));
-            predicates.add(cb.equal(borrowing.get("status"), Borrowing.BorrowingStatus.BORROWED));
+            predicates.add(borrowing.get("status").in(Borrowing.ACTIVE_STATUSES));
         }
 
         // Extension criteria
@@ -326,6 +364,7 @@ public class BorrowingServiceAdminImpl implements BorrowingServiceAdmin{
         }
 
         Borrowing updatedBorrowing = borrowingRepository.save(borrowing);
+        circulationCache.borrowingChanged(updatedBorrowing);
         log.info("Successfully updated borrowing status for ID: {}", borrowingId);
 
         return mapToAdminBorrowingDetailsDTO(updatedBorrowing);
@@ -416,6 +455,7 @@ public class BorrowingServiceAdminImpl implements BorrowingServiceAdmin{
         borrowing.setStatus(Borrowing.BorrowingStatus.RETURNED);
 
         Borrowing returnedBorrowing = borrowingRepository.save(borrowing);
+        circulationCache.borrowingChanged(returnedBorrowing);
         log.info("Successfully processed return for borrowing ID: {}, fine amount: {}",
                 borrowingId, borrowing.getFineAmount());
 
@@ -474,10 +514,9 @@ public class BorrowingServiceAdminImpl implements BorrowingServiceAdmin{
     public Page<AdminBorrowingDetailsDTO> getOverdueBorrowings(Pageable pageable) {
         log.info("Fetching overdue borrowings");
 
-        Page<Borrowing> overdueBorrowings = borrowingRepository.findByStatusOrDueDateBefore(
-                Borrowing.BorrowingStatus.OVERDUE,
-                LocalDateTime.now(),
-                pageable);
+        // BorrowingDueDateScheduler flips borrowings to OVERDUE as they fall due
+        Page<Borrowing> overdueBorrowings = borrowingRepository.findByStatus(
+                Borrowing.BorrowingStatus.OVERDUE, pageable);
 
         List<AdminBorrowingDetailsDTO> borrowingDetailsDTOs = overdueBorrowings.stream()
                 .map(this::mapToAdminBorrowingDetailsDTO)
@@ -496,18 +535,13 @@ public class BorrowingServiceAdminImpl implements BorrowingServiceAdmin{
         long totalBorrowings = borrowingRepository.count();
         statistics.setTotalBorrowings(totalBorrowings);
 
-        // Active borrowings
-        long activeBorrowings = borrowingRepository.countByStatus(Borrowing.BorrowingStatus.BORROWED);
+        // Active borrowings, overdue ones included
+        long activeBorrowings = borrowingRepository.countByStatusIn(Borrowing.ACTIVE_STATUSES);
         statistics.setTotalActiveBorrowings(activeBorrowings);
 
         // Overdue borrowings
         long overdueBorrowings = borrowingRepository.countByStatus(Borrowing.BorrowingStatus.OVERDUE);
-
-        // Also include borrowings that are past due date but not marked as overdue yet
-        long pastDueDateCount = borrowingRepository.countByStatusAndDueDateBefore(
-                Borrowing.BorrowingStatus.BORROWED, LocalDateTime.now());
-
-        statistics.setTotalOverdueBorrowings(overdueBorrowings + pastDueDateCount);
+        statistics.setTotalOverdueBorrowings(overdueBorrowings);
 
         // Returned borrowings
         long returnedBorrowings = borrowingRepository.countByStatus(Borrowing.BorrowingStatus.RETURNED);
@@ -557,17 +591,30 @@ public class BorrowingServiceAdminImpl implements BorrowingServiceAdmin{
                 .orElseThrow(() -> new ResourceNotFoundException("Borrowing not found with ID: " + borrowingId));
 
         // If it's an active borrowing, return the item to inventory
-        if (borrowing.getStatus() == Borrowing.BorrowingStatus.BORROWED ||
-                borrowing.getStatus() == Borrowing.BorrowingStatus.OVERDUE) {
+        if (Borrowing.ACTIVE_STATUSES.contains(borrowing.getStatus())) {
             handleItemReturn(borrowing);
         }
 
         borrowingRepository.delete(borrowing);
+        circulationCache.borrowingDeleted(borrowing);
+        if (borrowing.getBook() != null) {
+            bookStatsService.recordBorrow(borrowing.getBook().getId(), -1);
+        }
         log.info("Successfully deleted borrowing with ID: {}", borrowingId);
     }
 
     // Helper methods
 
+    @Override
+    public BulkCirculationDTOs.BulkCirculationReport checkOutBulk(BulkCirculationDTOs.BulkCheckOutRequest request) {
+        return bulkCirculationService.checkOut(request);
+    }
+
+    @Override
+    public BulkCirculationDTOs.BulkCirculationReport checkInBulk(BulkCirculationDTOs.BulkCheckInRequest request) {
+        return bulkCirculationService.checkIn(request);
+    }
+
     private AdminBorrowingDetailsDTO mapToAdminBorrowingDetailsDTO(Borrowing borrowing) {
         AdminBorrowingDetailsDTO dto = adminBorrowingMapper.toAdminDTO(borrowing);
 
@@ -624,9 +671,8 @@ public class BorrowingServiceAdminImpl implements BorrowingServiceAdmin{
     // Reuse existing methods from BorrowingServiceImpl
     private void handleItemReturn(Borrowing borrowing) {
         if (borrowing.getBook() != null) {
-            Book book = borrowing.getBook();
-            book.setAvailableCopies(book.getAvailableCopies() + 1);
-            bookRepository.save(book);
+            bookInventoryService.release(borrowing.getBook().getId(), 1);
+            holdQueueService.allocate(borrowing.getBook().getId(), 1);
         } else if (borrowing.getJournal() != null) {
             Journal journal = borrowing.getJournal();
             journal.setAvailableCopies(journal.getAvailableCopies() + 1);
@@ -8,6 +8,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import com.BookBliss.DTO.Borrowing.BorrowingStatusResponse;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
@@ -16,6 +17,7 @@ import com.BookBliss.Entity.Book;
 import com.BookBliss.Entity.Borrowing;
 import com.BookBliss.Entity.Journal;
 import com.BookBliss.Entity.User;
+import com.BookBliss.Events.Borrowings.BorrowingDueDateSetEvent;
 import com.BookBliss.Exception.InvalidOperationException;
 import com.BookBliss.Exception.ResourceNotFoundException;
 import com.BookBliss.Mapper.BorrowingMapper;
@@ -23,6 +25,9 @@ import com.BookBliss.Repository.BookRepository;
 import com.BookBliss.Repository.BorrowingRepository;
 import com.BookBliss.Repository.JournalRepository;
 import com.BookBliss.Repository.UserRepository;
+import com.BookBliss.Service.Book.BookInventoryService;
+import com.BookBliss.Service.Book.BookStatsService;
+import com.BookBliss.Service.Reservation.HoldQueueService;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -33,8 +38,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class BorrowingServiceImpl implements BorrowingService{
     
-    private static final int MAX_ACTIVE_BORROWINGS = 5;
-    private static final int DEFAULT_BORROW_DAYS = 14;
+    static final int MAX_ACTIVE_BORROWINGS = 5;
+    static final int DEFAULT_BORROW_DAYS = 14;
     private static final BigDecimal FINE_RATE_PER_DAY = new BigDecimal("100.0");
 
     private final BorrowingRepository borrowingRepository;
@@ -42,6 +47,11 @@ public class BorrowingServiceImpl implements BorrowingService{
     private final BookRepository bookRepository;
     private final JournalRepository journalRepository;
     private final BorrowingMapper borrowingMapper;
+    private final BookStatsService bookStatsService;
+    private final BookInventoryService bookInventoryService;
+    private final HoldQueueService holdQueueService;
+    private final UserCirculationCache circulationCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -49,25 +59,11 @@ public class BorrowingServiceImpl implements BorrowingService{
         User user = userRepository.findById(borrowingDTO.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + borrowingDTO.getUserId()));
 
-        Book book = bookRepository.findById(borrowingDTO.getBookId())
-                .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + borrowingDTO.getBookId()));
-
         // Check if user already has an active borrowing for this book
-        Optional<Borrowing> existingBorrowing = borrowingRepository.findByUserAndBookAndStatus(
-                user,
-                book,
-                Borrowing.BorrowingStatus.BORROWED
-        );
-
-        if (existingBorrowing.isPresent()) {
-            Borrowing existing = existingBorrowing.get();
-            if (existing.getStatus() == Borrowing.BorrowingStatus.BORROWED) {
-                throw new InvalidOperationException("You have already borrowed this book. You can start reading.");
-            }
+        if (circulationCache.get(user.getId()).hasBorrowedBook(borrowingDTO.getBookId())) {
+            throw new InvalidOperationException("You have already borrowed this book. You can start reading.");
         }
 
-        int availableCopies = book.getAvailableCopies();
-
         validateUserBorrowingLimit(user);
         validateUserHasNoOverdue(user);
 
@@ -88,9 +84,13 @@ public class BorrowingServiceImpl implements BorrowingService{
         }
 
         borrowing.setStatus(Borrowing.BorrowingStatus.BORROWED);
-        book.setAvailableCopies(availableCopies - 1);
 
         Borrowing savedBorrowing = borrowingRepository.save(borrowing);
+        if (savedBorrowing.getBook() != null) {
+            bookStatsService.recordBorrow(savedBorrowing.getBook().getId(), 1);
+        }
+        circulationCache.borrowingChanged(savedBorrowing);
+        eventPublisher.publishEvent(new BorrowingDueDateSetEvent(this, savedBorrowing.getId(), savedBorrowing.getDueDate()));
         log.info("Created new borrowing with ID: {} for user: {}", savedBorrowing.getId(), user.getUsername());
 
         return borrowingMapper.toDto(savedBorrowing);
@@ -166,6 +166,7 @@ public class BorrowingServiceImpl implements BorrowingService{
 
         borrowingMapper.updateEntityFromDto(borrowingDTO, borrowing);
         Borrowing updatedBorrowing = borrowingRepository.save(borrowing);
+        circulationCache.borrowingChanged(updatedBorrowing);
         log.info("Updated borrowing with ID: {}", id);
         return borrowingMapper.toDto(updatedBorrowing);
     }
@@ -187,6 +188,7 @@ public class BorrowingServiceImpl implements BorrowingService{
         borrowing.setReturnDate(LocalDateTime.now());
         
         Borrowing returnedBorrowing = borrowingRepository.save(borrowing);
+        circulationCache.borrowingChanged(returnedBorrowing);
         log.info("Returned borrowing with ID: {}, fine amount: {}", id, borrowing.getFineAmount());
         return borrowingMapper.toDto(returnedBorrowing);
     }
@@ -197,29 +199,29 @@ public class BorrowingServiceImpl implements BorrowingService{
         Borrowing borrowing = borrowingRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Borrowing not found with ID: " + id));
         
-        if (borrowing.getStatus() == Borrowing.BorrowingStatus.BORROWED) {
+        if (Borrowing.ACTIVE_STATUSES.contains(borrowing.getStatus())) {
             throw new InvalidOperationException("Cannot delete an active borrowing");
         }
         
         borrowingRepository.delete(borrowing);
+        circulationCache.borrowingDeleted(borrowing);
+        if (borrowing.getBook() != null) {
+            bookStatsService.recordBorrow(borrowing.getBook().getId(), -1);
+        }
         log.info("Deleted borrowing with ID: {}", id);
     }
 
-    // to implement..............
     @Override
     public void validateUserBorrowingLimit(User user) {
-        long activeBorrowings = borrowingRepository.countByUserIdAndStatus(
-            user.getId(), Borrowing.BorrowingStatus.BORROWED);
-       if (activeBorrowings >= MAX_ACTIVE_BORROWINGS) {
+        int activeBorrowings = circulationCache.get(user.getId()).activeCount();
+        if (activeBorrowings >= MAX_ACTIVE_BORROWINGS) {
             throw new InvalidOperationException("User has reached maximum borrowing limit of " + MAX_ACTIVE_BORROWINGS);
         }
     }
 
     @Override
     public void validateUserHasNoOverdue(User user) {
-        boolean hasOverdue = borrowingRepository.existsByUserIdAndStatus(
-            user.getId(), Borrowing.BorrowingStatus.OVERDUE);
-        if (hasOverdue) {
+        if (circulationCache.get(user.getId()).hasOverdue()) {
             throw new InvalidOperationException("User has overdue items and cannot borrow more");
         }
     }
@@ -228,12 +230,11 @@ public class BorrowingServiceImpl implements BorrowingService{
     public void handleBookBorrowing(Borrowing borrowing, Long bookId) {
         Book book = bookRepository.findById(bookId)
             .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + bookId));
-        if (book.getAvailableCopies() < 1) {
-            throw new InvalidOperationException("No copies available for borrowing");
+        // A copy held for this user's reservation was already taken out of inventory
+        if (borrowing.getUser() == null || !holdQueueService.claimHold(borrowing.getUser().getId(), bookId)) {
+            bookInventoryService.reserve(bookId, 1);
         }
-        book.setAvailableCopies(book.getAvailableCopies() - 1);
         borrowing.setBook(book);
-        bookRepository.save(book);
     }
 
     @Override
@@ -251,9 +252,8 @@ public class BorrowingServiceImpl implements BorrowingService{
     @Override
     public void handleItemReturn(Borrowing borrowing) {
         if (borrowing.getBook() != null) {
-            Book book = borrowing.getBook();
-            book.setAvailableCopies(book.getAvailableCopies() + 1);
-            bookRepository.save(book);
+            bookInventoryService.release(borrowing.getBook().getId(), 1);
+            holdQueueService.allocate(borrowing.getBook().getId(), 1);
         } else if (borrowing.getJournal() != null) {
             Journal journal = borrowing.getJournal();
             journal.setAvailableCopies(journal.getAvailableCopies() + 1);
@@ -292,8 +292,10 @@ public class BorrowingServiceImpl implements BorrowingService{
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + bookId));
 
-        Optional<Borrowing> existingBorrowing = borrowingRepository
-                .findByUserAndBookAndStatus(user, book, Borrowing.BorrowingStatus.BORROWED);
+        // Most views are of books the user has not borrowed; only a borrowed one needs its dates loaded
+        Optional<Borrowing> existingBorrowing = circulationCache.get(userId).hasBorrowedBook(bookId)
+                ? borrowingRepository.findFirstByUserAndBookAndStatusIn(user, book, Borrowing.ACTIVE_STATUSES)
+                : Optional.empty();
 
         if (existingBorrowing.isPresent()) {
             Borrowing borrowing = existingBorrowing.get();
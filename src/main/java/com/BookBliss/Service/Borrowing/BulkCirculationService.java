@@ -0,0 +1,417 @@
+package com.BookBliss.Service.Borrowing;
+
+import com.BookBliss.DTO.Admin.BorrowingManagement.BulkCirculationDTOs.BulkCheckInRequest;
+import com.BookBliss.DTO.Admin.BorrowingManagement.BulkCirculationDTOs.BulkCheckOutRequest;
+import com.BookBliss.DTO.Admin.BorrowingManagement.BulkCirculationDTOs.BulkCirculationReport;
+import com.BookBliss.DTO.Admin.BorrowingManagement.BulkCirculationDTOs.BulkItemResult;
+import com.BookBliss.DTO.Admin.BorrowingManagement.BulkCirculationDTOs.CheckOutItem;
+import com.BookBliss.DTO.Admin.BorrowingManagement.BulkCirculationDTOs.ItemOutcome;
+import com.BookBliss.Entity.Borrowing;
+import com.BookBliss.Entity.Journal;
+import com.BookBliss.Entity.User;
+import com.BookBliss.Events.Borrowings.BorrowingDueDateSetEvent;
+import com.BookBliss.Exception.InvalidOperationException;
+import com.BookBliss.Repository.BookRepository;
+import com.BookBliss.Repository.BorrowingRepository;
+import com.BookBliss.Repository.JournalRepository;
+import com.BookBliss.Repository.UserRepository;
+import com.BookBliss.Service.Book.BookInventoryService;
+import com.BookBliss.Service.Book.BookStatsService;
+import com.BookBliss.Service.Reservation.HoldQueueService;
+import com.BookBliss.Service.Reservation.HoldQueueService.HoldKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Batch check-out and check-in for the circulation desk.
+ * <p>
+ * A batch is handled in one transaction with a fixed number of statements per step instead of
+ * per item: ISBNs, users and loans are fetched with one {@code IN} query each, eligibility is
+ * decided in memory from the {@link UserCirculationCache}, ready holds are claimed in one locking
+ * query, inventory is reserved or released once per distinct title in id order, and borrowings
+ * are inserted or returned with JDBC batches. Items that cannot be processed are reported with
+ * their outcome and do not fail the rest of the batch.
+ */
+@Component
+@Slf4j
+public class BulkCirculationService {
+
+    private static final String INSERT_SQL = "INSERT INTO borrowings (user_id, book_id, borrow_date, due_date, status) " +
+            "VALUES (?, ?, ?, ?, 'BORROWED')";
+    // Loans are locked before this runs; the status condition only guards against rows changed by other means
+    private static final String RETURN_SQL = "UPDATE borrowings SET status = 'RETURNED', return_date = ?, " +
+            "fine_amount = COALESCE(?, fine_amount) WHERE id = ? AND status IN ('BORROWED', 'OVERDUE')";
+
+    /** A loan as read by the locking queries. */
+    private record Loan(Long id, Long userId, Long bookId, Long journalId,
+                        Borrowing.BorrowingStatus status, LocalDateTime dueDate) {
+
+        static Loan of(Object[] row) {
+            return new Loan(toLong(row[0]), toLong(row[1]), toLong(row[2]), toLong(row[3]),
+                    Borrowing.BorrowingStatus.valueOf((String) row[4]), toLocalDateTime(row[5]));
+        }
+    }
+
+    /** Eligibility of one borrower while a check-out batch is decided. */
+    private static final class Borrower {
+        private int active;
+        private final boolean overdue;
+        private final Set<Long> books;
+
+        private Borrower(UserCirculationCache.CirculationSummary summary) {
+            this.active = summary.activeCount();
+            this.overdue = summary.hasOverdue();
+            this.books = new HashSet<>(summary.borrowedBooks().values());
+        }
+    }
+
+    private final BorrowingRepository borrowingRepository;
+    private final BookRepository bookRepository;
+    private final UserRepository userRepository;
+    private final JournalRepository journalRepository;
+    private final BookInventoryService bookInventoryService;
+    private final BookStatsService bookStatsService;
+    private final HoldQueueService holdQueueService;
+    private final UserCirculationCache circulationCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxItems;
+    private final int batchSize;
+
+    public BulkCirculationService(BorrowingRepository borrowingRepository,
+                                  BookRepository bookRepository,
+                                  UserRepository userRepository,
+                                  JournalRepository journalRepository,
+                                  BookInventoryService bookInventoryService,
+                                  BookStatsService bookStatsService,
+                                  HoldQueueService holdQueueService,
+                                  UserCirculationCache circulationCache,
+                                  ApplicationEventPublisher eventPublisher,
+                                  JdbcTemplate jdbcTemplate,
+                                  @Value("${app.borrowing.bulk.max-items:1000}") int maxItems,
+                                  @Value("${app.borrowing.bulk.batch-size:500}") int batchSize) {
+        this.borrowingRepository = borrowingRepository;
+        this.bookRepository = bookRepository;
+        this.userRepository = userRepository;
+        this.journalRepository = journalRepository;
+        this.bookInventoryService = bookInventoryService;
+        this.bookStatsService = bookStatsService;
+        this.holdQueueService = holdQueueService;
+        this.circulationCache = circulationCache;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxItems = maxItems;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public BulkCirculationReport checkOut(BulkCheckOutRequest request) {
+        long started = System.currentTimeMillis();
+        List<CheckOutItem> items = request.getItems() != null ? request.getItems() : List.of();
+        validateSize(items.size());
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime dueDate = now.plusDays(request.getBorrowingDays() != null
+                ? request.getBorrowingDays() : BorrowingServiceImpl.DEFAULT_BORROW_DAYS);
+
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+        Map<String, Long> bookIds = resolveIsbns(items.stream().map(CheckOutItem::getIsbn).toList());
+        Set<Long> userIds = userRepository.findAllById(items.stream().map(CheckOutItem::getUserId).collect(Collectors.toSet()))
+                .stream().map(User::getId).collect(Collectors.toSet());
+
+        // Eligibility, in request order so that earlier items take the remaining allowance first
+        Map<Long, Borrower> borrowers = new HashMap<>();
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            CheckOutItem item = items.get(i);
+            Long bookId = bookIds.get(normalize(item.getIsbn()));
+            ItemOutcome rejection = null;
+            if (!userIds.contains(item.getUserId())) {
+                rejection = ItemOutcome.USER_NOT_FOUND;
+            } else if (bookId == null) {
+                rejection = ItemOutcome.BOOK_NOT_FOUND;
+            } else {
+                Borrower borrower = borrowers.computeIfAbsent(item.getUserId(), id -> new Borrower(circulationCache.get(id)));
+                if (borrower.overdue) {
+                    rejection = ItemOutcome.HAS_OVERDUE;
+                } else if (borrower.books.contains(bookId)) {
+                    rejection = ItemOutcome.ALREADY_BORROWED;
+                } else if (borrower.active >= BorrowingServiceImpl.MAX_ACTIVE_BORROWINGS) {
+                    rejection = ItemOutcome.LIMIT_REACHED;
+                } else {
+                    borrower.books.add(bookId);
+                    borrower.active++;
+                    accepted.add(i);
+                }
+            }
+            results[i] = result(i, item.getIsbn(), rejection).userId(item.getUserId()).bookId(bookId).build();
+        }
+
+        // Copies held for the borrower were already taken out of inventory
+        Set<HoldKey> claimed = holdQueueService.claimHolds(accepted.stream()
+                .map(i -> new HoldKey(results[i].getUserId(), results[i].getBookId()))
+                .toList());
+        Map<Long, List<Integer>> needingCopies = new TreeMap<>();
+        List<Integer> granted = new ArrayList<>();
+        for (Integer i : accepted) {
+            if (claimed.contains(new HoldKey(results[i].getUserId(), results[i].getBookId()))) {
+                granted.add(i);
+            } else {
+                needingCopies.computeIfAbsent(results[i].getBookId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+        needingCopies.forEach((bookId, indexes) -> {
+            int copies = reserveUpTo(bookId, indexes.size());
+            granted.addAll(indexes.subList(0, copies));
+            indexes.subList(copies, indexes.size()).forEach(i -> reject(results[i], ItemOutcome.NO_COPIES));
+        });
+        granted.sort(null);
+
+        List<Long> borrowingIds = insertBorrowings(granted.stream()
+                .map(i -> new Object[]{results[i].getUserId(), results[i].getBookId(),
+                        Timestamp.valueOf(now), Timestamp.valueOf(dueDate)})
+                .toList());
+        Map<Long, Integer> borrowsPerBook = new TreeMap<>();
+        for (int k = 0; k < granted.size(); k++) {
+            BulkItemResult result = results[granted.get(k)];
+            result.setOutcome(ItemOutcome.CHECKED_OUT);
+            result.setBorrowingId(borrowingIds.get(k));
+            result.setDueDate(dueDate);
+            circulationCache.loanChanged(result.getUserId(), result.getBorrowingId(), result.getBookId(),
+                    Borrowing.BorrowingStatus.BORROWED);
+            eventPublisher.publishEvent(new BorrowingDueDateSetEvent(this, result.getBorrowingId(), dueDate));
+            borrowsPerBook.merge(result.getBookId(), 1, Integer::sum);
+        }
+        borrowsPerBook.forEach(bookStatsService::recordBorrow);
+
+        return report(results, started, "check-out");
+    }
+
+    @Transactional
+    public BulkCirculationReport checkIn(BulkCheckInRequest request) {
+        long started = System.currentTimeMillis();
+        List<Long> borrowingIds = request.getBorrowingIds() != null ? request.getBorrowingIds() : List.of();
+        List<String> isbns = request.getIsbns() != null ? request.getIsbns() : List.of();
+        validateSize(borrowingIds.size() + isbns.size());
+
+        BulkItemResult[] results = new BulkItemResult[borrowingIds.size() + isbns.size()];
+        Map<Integer, Loan> returning = new TreeMap<>();
+        Set<Long> taken = new HashSet<>();
+
+        Map<Long, Loan> loansById = new HashMap<>();
+        if (!borrowingIds.isEmpty()) {
+            for (Object[] row : borrowingRepository.lockLoanRows(new HashSet<>(borrowingIds))) {
+                Loan loan = Loan.of(row);
+                loansById.put(loan.id(), loan);
+            }
+        }
+        for (int i = 0; i < borrowingIds.size(); i++) {
+            Loan loan = loansById.get(borrowingIds.get(i));
+            ItemOutcome rejection = null;
+            if (loan == null) {
+                rejection = ItemOutcome.BORROWING_NOT_FOUND;
+            } else if (!Borrowing.ACTIVE_STATUSES.contains(loan.status())) {
+                rejection = ItemOutcome.ALREADY_RETURNED;
+            } else if (!taken.add(loan.id())) {
+                rejection = ItemOutcome.DUPLICATE;
+            } else {
+                returning.put(i, loan);
+            }
+            results[i] = result(i, String.valueOf(borrowingIds.get(i)), rejection).build();
+        }
+
+        Map<String, Long> bookIds = resolveIsbns(isbns);
+        Map<Long, List<Loan>> activeByBook = new HashMap<>();
+        if (!bookIds.isEmpty()) {
+            for (Object[] row : borrowingRepository.lockActiveLoanRowsByBookIds(new HashSet<>(bookIds.values()))) {
+                Loan loan = Loan.of(row);
+                activeByBook.computeIfAbsent(loan.bookId(), id -> new ArrayList<>()).add(loan);
+            }
+        }
+        for (int j = 0; j < isbns.size(); j++) {
+            int index = borrowingIds.size() + j;
+            Long bookId = bookIds.get(normalize(isbns.get(j)));
+            ItemOutcome rejection = null;
+            if (bookId == null) {
+                rejection = ItemOutcome.BOOK_NOT_FOUND;
+            } else {
+                List<Loan> candidates = activeByBook.getOrDefault(bookId, List.of()).stream()
+                        .filter(loan -> !taken.contains(loan.id()))
+                        .filter(loan -> request.getUserId() == null || request.getUserId().equals(loan.userId()))
+                        .toList();
+                if (candidates.isEmpty()) {
+                    rejection = ItemOutcome.NO_ACTIVE_LOAN;
+                } else if (request.getUserId() == null && candidates.size() > 1) {
+                    rejection = ItemOutcome.AMBIGUOUS;
+                } else {
+                    // The loan due first, in case the borrower has several
+                    taken.add(candidates.get(0).id());
+                    returning.put(index, candidates.get(0));
+                }
+            }
+            results[index] = result(index, isbns.get(j), rejection).bookId(bookId).build();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(returning.size());
+        Map<Long, Integer> bookCopies = new TreeMap<>();
+        Map<Long, Integer> journalCopies = new TreeMap<>();
+        returning.forEach((index, loan) -> {
+            BigDecimal fine = calculateFine(loan.dueDate(), now);
+            rows.add(new Object[]{Timestamp.valueOf(now), fine, loan.id()});
+            BulkItemResult result = results[index];
+            result.setOutcome(ItemOutcome.CHECKED_IN);
+            result.setBorrowingId(loan.id());
+            result.setUserId(loan.userId());
+            result.setBookId(loan.bookId());
+            result.setDueDate(loan.dueDate());
+            result.setFineAmount(fine);
+            if (loan.bookId() != null) {
+                bookCopies.merge(loan.bookId(), 1, Integer::sum);
+            } else if (loan.journalId() != null) {
+                journalCopies.merge(loan.journalId(), 1, Integer::sum);
+            }
+            circulationCache.loanChanged(loan.userId(), loan.id(), loan.bookId(), Borrowing.BorrowingStatus.RETURNED);
+        });
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(RETURN_SQL, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+
+        bookCopies.forEach((bookId, copies) -> {
+            bookInventoryService.release(bookId, copies);
+            holdQueueService.allocate(bookId, copies);
+        });
+        if (!journalCopies.isEmpty()) {
+            List<Journal> journals = journalRepository.findAllById(journalCopies.keySet());
+            journals.forEach(journal -> journal.setAvailableCopies(
+                    journal.getAvailableCopies() + journalCopies.get(journal.getId())));
+            journalRepository.saveAll(journals);
+        }
+
+        return report(results, started, "check-in");
+    }
+
+    /** Reserves as many of {@code wanted} copies as are available; one statement unless the title runs short. */
+    private int reserveUpTo(Long bookId, int wanted) {
+        if (bookInventoryService.tryReserve(bookId, wanted)) {
+            return wanted;
+        }
+        int reserved = 0;
+        while (wanted > 1 && reserved < wanted && bookInventoryService.tryReserve(bookId, 1)) {
+            reserved++;
+        }
+        return reserved;
+    }
+
+    /** Inserts the rows as JDBC batches and returns the generated ids in row order. */
+    private List<Long> insertBorrowings(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> ids = new ArrayList<>(rows.size());
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    for (Object[] row : rows.subList(from, Math.min(from + batchSize, rows.size()))) {
+                        statement.setLong(1, (Long) row[0]);
+                        statement.setLong(2, (Long) row[1]);
+                        statement.setTimestamp(3, (Timestamp) row[2]);
+                        statement.setTimestamp(4, (Timestamp) row[3]);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return ids;
+        });
+    }
+
+    private Map<String, Long> resolveIsbns(Collection<String> isbns) {
+        Set<String> distinct = isbns.stream()
+                .map(BulkCirculationService::normalize)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Long> bookIds = new HashMap<>();
+        if (!distinct.isEmpty()) {
+            for (Object[] row : bookRepository.findIdsByIsbns(distinct)) {
+                bookIds.put((String) row[1], (Long) row[0]);
+            }
+        }
+        return bookIds;
+    }
+
+    private BigDecimal calculateFine(LocalDateTime dueDate, LocalDateTime now) {
+        if (!now.isAfter(dueDate)) {
+            return null;
+        }
+        long daysOverdue = ChronoUnit.DAYS.between(dueDate, now);
+        return BigDecimal.valueOf(daysOverdue).multiply(BorrowingServiceAdminImpl.FINE_RATE_PER_DAY);
+    }
+
+    private void validateSize(int items) {
+        if (items == 0) {
+            throw new InvalidOperationException("At least one item is required");
+        }
+        if (items > maxItems) {
+            throw new InvalidOperationException("A batch can contain at most " + maxItems + " items");
+        }
+    }
+
+    private BulkCirculationReport report(BulkItemResult[] results, long started, String operation) {
+        int succeeded = (int) Arrays.stream(results).filter(BulkItemResult::isSuccess).count();
+        BulkCirculationReport report = BulkCirculationReport.builder()
+                .requested(results.length)
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .durationMs(System.currentTimeMillis() - started)
+                .items(List.of(results))
+                .build();
+        log.info("Bulk {}: {} of {} items processed in {} ms",
+                operation, succeeded, results.length, report.getDurationMs());
+        return report;
+    }
+
+    private static BulkItemResult.BulkItemResultBuilder result(int index, String reference, ItemOutcome rejection) {
+        return BulkItemResult.builder()
+                .index(index)
+                .reference(reference)
+                .outcome(rejection)
+                .success(rejection == null);
+    }
+
+    private static void reject(BulkItemResult result, ItemOutcome outcome) {
+        result.setOutcome(outcome);
+        result.setSuccess(false);
+    }
+
+    private static String normalize(String isbn) {
+        return isbn != null && !isbn.isBlank() ? isbn.trim() : null;
+    }
+
+    private static Long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
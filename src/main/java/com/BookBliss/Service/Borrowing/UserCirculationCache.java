@@ -0,0 +1,159 @@
+package com.BookBliss.Service.Borrowing;
+
+import com.BookBliss.Entity.Borrowing;
+import com.BookBliss.Events.Borrowings.BorrowingsOverdueEvent;
+import com.BookBliss.Repository.BorrowingRepository;
+import com.BookBliss.Service.Cluster.ClusterInvalidationBus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Bounded per-user cache of circulation state used by the borrow eligibility checks.
+ * <p>
+ * A summary holds the ids of the user's BORROWED and OVERDUE borrowings and the books they
+ * cover, loaded with one query on first use. Borrowing writes report the new status of the
+ * borrowing they changed; the change is applied to a cached summary after the transaction
+ * commits, and a rolled back write changes nothing. Changes are keyed by borrowing id, so
+ * applying one to a summary that was loaded after the commit already saw it is harmless.
+ * Bulk status changes ({@link BorrowingsOverdueEvent}) evict the affected users.
+ * <p>
+ * Every committed change also evicts the user on the other nodes through the
+ * {@link ClusterInvalidationBus}, so they reload the summary on next use. The write TTL bounds
+ * how long a change made outside these paths, or an invalidation lost in transit, can go unnoticed.
+ */
+@Component
+@Slf4j
+public class UserCirculationCache {
+
+    /**
+     * Circulation state of one user. {@code borrowedBooks} maps every active loan, BORROWED or
+     * OVERDUE, to its book; {@code overdueBorrowings} are the ones among them that are overdue.
+     * Immutable; changes produce a new summary.
+     */
+    public record CirculationSummary(Map<Long, Long> borrowedBooks, Set<Long> overdueBorrowings) {
+
+        static final CirculationSummary EMPTY = new CirculationSummary(Map.of(), Set.of());
+
+        /** Active loans, overdue ones included. */
+        public int activeCount() {
+            return borrowedBooks.size();
+        }
+
+        public boolean hasOverdue() {
+            return !overdueBorrowings.isEmpty();
+        }
+
+        public boolean hasBorrowedBook(Long bookId) {
+            return bookId != null && borrowedBooks.containsValue(bookId);
+        }
+
+        CirculationSummary with(Long borrowingId, Long bookId, Borrowing.BorrowingStatus status) {
+            Map<Long, Long> borrowed = new HashMap<>(borrowedBooks);
+            Set<Long> overdue = new HashSet<>(overdueBorrowings);
+            borrowed.remove(borrowingId);
+            overdue.remove(borrowingId);
+            if (status != null && Borrowing.ACTIVE_STATUSES.contains(status)) {
+                // Journal loans count towards the limit but have no book; 0 never matches a book id
+                borrowed.put(borrowingId, bookId != null ? bookId : 0L);
+            }
+            if (status == Borrowing.BorrowingStatus.OVERDUE) {
+                overdue.add(borrowingId);
+            }
+            return new CirculationSummary(Map.copyOf(borrowed), Set.copyOf(overdue));
+        }
+    }
+
+    private final BorrowingRepository borrowingRepository;
+    private final ClusterInvalidationBus clusterInvalidationBus;
+    private final Cache<Long, CirculationSummary> summaries;
+
+    public UserCirculationCache(BorrowingRepository borrowingRepository,
+                                ClusterInvalidationBus clusterInvalidationBus,
+                                @Value("${app.borrowing.circulation-cache.max-users:50000}") long maxUsers,
+                                @Value("${app.borrowing.circulation-cache.expire-after-write-minutes:10}") long expireMinutes) {
+        this.borrowingRepository = borrowingRepository;
+        this.clusterInvalidationBus = clusterInvalidationBus;
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+                .build();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        clusterInvalidationBus.subscribe(ClusterInvalidationBus.USER_CIRCULATION,
+                message -> summaries.invalidate(Long.valueOf(message.getKey())));
+    }
+
+    public CirculationSummary get(Long userId) {
+        return summaries.get(userId, this::load);
+    }
+
+    /** Records the current status of a borrowing that was created or changed. */
+    public void borrowingChanged(Borrowing borrowing) {
+        record(borrowing, borrowing.getStatus());
+    }
+
+    /** Records that a borrowing was deleted. */
+    public void borrowingDeleted(Borrowing borrowing) {
+        record(borrowing, null);
+    }
+
+    /**
+     * Records the new status of a loan written without an entity, as bulk writes do; a null
+     * status means the loan was deleted.
+     */
+    public void loanChanged(Long userId, Long borrowingId, Long bookId, Borrowing.BorrowingStatus status) {
+        Runnable apply = () -> {
+            summaries.asMap().computeIfPresent(userId, (id, summary) -> summary.with(borrowingId, bookId, status));
+            clusterInvalidationBus.publish(ClusterInvalidationBus.USER_CIRCULATION, userId.toString());
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBorrowingsOverdue(BorrowingsOverdueEvent event) {
+        summaries.invalidateAll(event.getUserIds());
+        event.getUserIds().forEach(userId ->
+                clusterInvalidationBus.publish(ClusterInvalidationBus.USER_CIRCULATION, userId.toString()));
+    }
+
+    private void record(Borrowing borrowing, Borrowing.BorrowingStatus status) {
+        if (borrowing.getUser() == null || borrowing.getId() == null) {
+            return;
+        }
+        // Captured now; the entity may change again before the transaction commits
+        loanChanged(borrowing.getUser().getId(), borrowing.getId(),
+                borrowing.getBook() != null ? borrowing.getBook().getId() : null, status);
+    }
+
+    private CirculationSummary load(Long userId) {
+        CirculationSummary summary = CirculationSummary.EMPTY;
+        for (Object[] row : borrowingRepository.findCirculationRows(userId, Borrowing.ACTIVE_STATUSES)) {
+            summary = summary.with((Long) row[0], (Long) row[1], (Borrowing.BorrowingStatus) row[2]);
+        }
+        log.debug("Loaded circulation summary of user {}: {} active, overdue={}",
+                userId, summary.activeCount(), summary.hasOverdue());
+        return summary;
+    }
+}
@@ -4,9 +4,7 @@ import com.BookBliss.Entity.Book;
 import com.BookBliss.Entity.Category;
 import com.BookBliss.Repository.BookRepository;
 import com.BookBliss.Repository.CategoryRepository;
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -15,15 +13,15 @@ import org.springframework.stereotype.Service;
 @Transactional
 public class BookCategoryService {
 
-    @PersistenceContext
-    private EntityManager entityManager;
-
     @Autowired
     private BookRepository bookRepository;
 
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CategoryBookCounter categoryBookCounter;
+
     /**
      * Add a category to a book and update the book count
      */
@@ -34,11 +32,12 @@ public class BookCategoryService {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new EntityNotFoundException("Category not found"));
 
+        if (book.getCategories().contains(category)) {
+            return;
+        }
         book.addCategory(category);
         bookRepository.save(book);
-
-        // Update book count - use direct SQL for efficiency
-        updateCategoryBookCount(categoryId);
+        categoryBookCounter.adjust(categoryId, 1);
     }
 
     /**
@@ -51,37 +50,26 @@ public class BookCategoryService {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new EntityNotFoundException("Category not found"));
 
+        if (!book.getCategories().contains(category)) {
+            return;
+        }
         book.removeCategory(category);
         bookRepository.save(book);
-
-        // Update book count - use direct SQL for efficiency
-        updateCategoryBookCount(categoryId);
+        categoryBookCounter.adjust(categoryId, -1);
     }
 
     /**
-     * Update the book count for a category using SQL
+     * Recount the books of a category from the join table
      */
-    @Transactional
     public void updateCategoryBookCount(Long categoryId) {
-        // Direct SQL update to avoid fetching the collection
-        entityManager.createNativeQuery(
-                        "UPDATE categories SET book_count = " +
-                                "(SELECT COUNT(*) FROM book_categories WHERE category_id = :categoryId) " +
-                                "WHERE id = :categoryId"
-                )
-                .setParameter("categoryId", categoryId)
-                .executeUpdate();
+        categoryBookCounter.recount(categoryId);
     }
 
     /**
-     * Update book counts for all categories
+     * Recount the books of all categories
      */
-    @Transactional
     public void updateAllCategoryBookCounts() {
-        entityManager.createNativeQuery(
-                "UPDATE categories c SET book_count = " +
-                        "(SELECT COUNT(*) FROM book_categories bc WHERE bc.category_id = c.id)"
-        ).executeUpdate();
+        categoryBookCounter.reconcile();
     }
 }
 
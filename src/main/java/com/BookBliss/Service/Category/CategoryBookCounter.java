@@ -0,0 +1,121 @@
+package com.BookBliss.Service.Category;
+
+import com.BookBliss.Entity.Category;
+import com.BookBliss.Repository.CategoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code categories.book_count} in step with {@code Book.categories}.
+ * <p>
+ * Book writes report the categories they add and remove. The deltas are summed per category
+ * for the surrounding transaction and applied just before it commits, one
+ * {@code UPDATE ... SET book_count = book_count + :delta} per distinct delta, so a bulk import
+ * into one category costs a single statement. Join table changes made by other means (native
+ * SQL, manual edits) are corrected by a periodic reconciliation that rewrites only the counts
+ * that drifted.
+ */
+@Component
+@Slf4j
+public class CategoryBookCounter {
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public CategoryBookCounter(CategoryRepository categoryRepository, TransactionTemplate transactionTemplate) {
+        this.categoryRepository = categoryRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /** Records that a book moved from the {@code before} categories to the {@code after} ones. */
+    public void categoriesChanged(Collection<Category> before, Collection<Category> after) {
+        Set<Long> beforeIds = idsOf(before);
+        Set<Long> afterIds = idsOf(after);
+        for (Long id : afterIds) {
+            if (!beforeIds.contains(id)) {
+                adjust(id, 1);
+            }
+        }
+        for (Long id : beforeIds) {
+            if (!afterIds.contains(id)) {
+                adjust(id, -1);
+            }
+        }
+    }
+
+    public void adjust(Long categoryId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> categoryRepository.adjustBookCounts(List.of(categoryId), delta));
+            return;
+        }
+        pendingDeltas().merge(categoryId, delta, Integer::sum);
+    }
+
+    /** Recounts one category from the join table. */
+    public void recount(Long categoryId) {
+        transactionTemplate.executeWithoutResult(status -> categoryRepository.recountBookCount(categoryId));
+    }
+
+    /** Recounts all categories; returns how many counts had drifted. */
+    @Scheduled(fixedDelayString = "${app.category.count-reconcile-interval-ms:3600000}",
+            initialDelayString = "${app.category.count-reconcile-initial-delay-ms:60000}")
+    public int reconcile() {
+        Integer corrected = transactionTemplate.execute(status -> categoryRepository.reconcileBookCounts());
+        if (corrected != null && corrected > 0) {
+            log.warn("Corrected drifted book counts of {} categories", corrected);
+        }
+        return corrected != null ? corrected : 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Integer> pendingDeltas() {
+        Map<Long, Integer> deltas = (Map<Long, Integer>) TransactionSynchronizationManager.getResource(this);
+        if (deltas == null) {
+            // Sorted so that concurrent commits update category rows in the same order
+            Map<Long, Integer> created = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    apply(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CategoryBookCounter.this);
+                }
+            });
+            deltas = created;
+        }
+        return deltas;
+    }
+
+    private void apply(Map<Long, Integer> deltas) {
+        Map<Integer, List<Long>> idsByDelta = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .collect(Collectors.groupingBy(Map.Entry::getValue, TreeMap::new,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+        idsByDelta.forEach((delta, ids) -> categoryRepository.adjustBookCounts(ids, delta));
+        deltas.clear();
+    }
+
+    private static Set<Long> idsOf(Collection<Category> categories) {
+        if (categories == null) {
+            return Set.of();
+        }
+        return categories.stream()
+                .map(Category::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+}
@@ -8,6 +8,8 @@ import com.BookBliss.DTO.Admin.CategoryManagement.AdminCategoryDetailsDTO;
 import com.BookBliss.DTO.Admin.CategoryManagement.CategoryCreateUpdateDTO;
 import com.BookBliss.DTO.Admin.CategoryManagement.CategorySearchCriteria;
 import com.BookBliss.DTO.Admin.CategoryManagement.BookSummaryDTO;
+import com.BookBliss.DTO.Common.CursorPage;
+import com.BookBliss.DTO.Common.CursorRequest;
 import com.BookBliss.Entity.Category;
 
 public interface CategoryService {
@@ -33,6 +35,7 @@ public interface CategoryService {
     void deleteCategoryAdmin(Long id);
     Page<AdminCategoryDetailsDTO> searchCategories(CategorySearchCriteria criteria, Pageable pageable);
     Page<BookSummaryDTO> getCategoryBooks(Long categoryId, Pageable pageable);
+    CursorPage<BookSummaryDTO> scrollCategoryBooks(Long categoryId, CursorRequest cursorRequest);
     Map<String, Object> getCategoryStatistics();
     // AdminCategoryDetailsDTO mergeCategories(CategoryMergeDTO mergeDTO);
 }
@@ -2,18 +2,21 @@ package com.BookBliss.Service.Category;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import com.BookBliss.Mapper.CategoryMapper;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,16 +26,22 @@ import com.BookBliss.DTO.Admin.CategoryManagement.CategoryCreateUpdateDTO;
 import com.BookBliss.DTO.Admin.CategoryManagement.CategoryMergeDTO;
 import com.BookBliss.DTO.Admin.CategoryManagement.CategorySearchCriteria;
 import com.BookBliss.DTO.Admin.CategoryManagement.BookSummaryDTO;
+import com.BookBliss.DTO.Common.CursorPage;
+import com.BookBliss.DTO.Common.CursorRequest;
 import com.BookBliss.Entity.Book;
 import com.BookBliss.Entity.Category;
+import com.BookBliss.Events.Books.BookChangedEvent;
 import com.BookBliss.Exception.DuplicateResourceException;
 import com.BookBliss.Exception.ResourceNotFoundException;
 import com.BookBliss.Repository.BookRepository;
 import com.BookBliss.Repository.CategoryRepository;
+import com.BookBliss.Utils.KeysetPager;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
 
+    private static final Set<String> CATEGORY_BOOKS_SORT_FIELDS = Set.of("id", "title");
+
     @Autowired
     private CategoryRepository categoryRepository;
 
@@ -42,6 +51,15 @@ public class CategoryServiceImpl implements CategoryService {
     @Autowired
     private CategoryMapper categoryMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private CategoryBookCounter categoryBookCounter;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -72,10 +90,8 @@ public class CategoryServiceImpl implements CategoryService {
     /**
      * Get all categories with pagination for admin panel.
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public Page<AdminCategoryDetailsDTO> getAllCategoriesAdmin(Pageable pageable) {
-        // Make sure book counts are in sync
-        updateAllCategoryBookCounts();
         return categoryRepository.findAll(pageable)
                 .map(this::convertToAdminCategoryDetailsDTO);
     }
@@ -92,11 +108,9 @@ public class CategoryServiceImpl implements CategoryService {
     /**
      * Get a category by ID for admin panel with detailed information.
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public AdminCategoryDetailsDTO getCategoryByIdAdmin(Long id) {
         Category category = getCategoryById(id);
-        // Update book count before returning
-        updateCategoryBookCount(id);
         return convertToAdminCategoryDetailsDTO(category);
     }
 
@@ -172,11 +186,8 @@ public class CategoryServiceImpl implements CategoryService {
     public void deleteCategoryAdmin(Long id) {
         Category category = getCategoryById(id);
 
-        // Update book count before checking
-        updateCategoryBookCount(id);
-        category = getCategoryById(id); // Refresh the entity
-
-        if (category.getBookCount() > 0) {
+        // Check the join table itself rather than the maintained counter
+        if (bookRepository.countByCategoriesId(id) > 0) {
             throw new IllegalStateException("Cannot delete category with existing books. Use merge function instead.");
         }
 
@@ -193,11 +204,7 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + id));
 
-        // Update book count before checking
-        updateCategoryBookCount(id);
-        category = getCategoryById(id); // Refresh the entity
-
-        if (category.getBookCount() > 0) {
+        if (bookRepository.countByCategoriesId(id) > 0) {
             throw new IllegalStateException("Cannot delete category with existing books.");
         }
 
@@ -208,10 +215,8 @@ public class CategoryServiceImpl implements CategoryService {
      * Get categories with more than a specified number of books.
      */
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<Category> getCategoriesWithBookCountGreaterThan(int count) {
-        // Ensure all book counts are accurate
-        updateAllCategoryBookCounts();
         return categoryRepository.findByBookCountGreaterThan(count);
     }
 
@@ -224,10 +229,7 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = categoryRepository.findByName(categoryName)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with name: " + categoryName));
 
-        // Use direct SQL update to avoid concurrency issues
-        entityManager.createQuery("UPDATE categories c SET c.bookCount = c.bookCount + 1 WHERE c.id = :id")
-                .setParameter("id", category.getId())
-                .executeUpdate();
+        categoryBookCounter.adjust(category.getId(), 1);
     }
 
     /**
@@ -243,45 +245,30 @@ public class CategoryServiceImpl implements CategoryService {
             throw new IllegalStateException("Book count cannot be negative.");
         }
 
-        // Use direct SQL update to avoid concurrency issues
-        entityManager.createQuery("UPDATE categories c SET c.bookCount = c.bookCount - 1 WHERE c.id = :id AND c.bookCount > 0")
-                .setParameter("id", category.getId())
-                .executeUpdate();
+        categoryBookCounter.adjust(category.getId(), -1);
     }
 
     /**
-     * Update book count for a specific category using the actual relationship table data
+     * Recount the books of a specific category from the relationship table.
+     * Counts are maintained on book writes, so this is only needed to repair drift.
      */
-    @Transactional
     public void updateCategoryBookCount(Long categoryId) {
-        entityManager.createNativeQuery(
-                        "UPDATE categories SET book_count = " +
-                                "(SELECT COUNT(*) FROM book_categories WHERE category_id = :categoryId) " +
-                                "WHERE id = :categoryId"
-                )
-                .setParameter("categoryId", categoryId)
-                .executeUpdate();
+        categoryBookCounter.recount(categoryId);
     }
 
     /**
-     * Update book counts for all categories using the actual relationship table data
+     * Recount the books of all categories from the relationship table, as the scheduled
+     * reconciliation does.
      */
-    @Transactional
     public void updateAllCategoryBookCounts() {
-        entityManager.createNativeQuery(
-                "UPDATE categories c SET book_count = " +
-                        "(SELECT COUNT(*) FROM book_categories bc WHERE bc.category_id = c.id)"
-        ).executeUpdate();
+        categoryBookCounter.reconcile();
     }
 
     /**
      * Search categories based on criteria using JPA Specification.
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public Page<AdminCategoryDetailsDTO> searchCategories(CategorySearchCriteria criteria, Pageable pageable) {
-        // Ensure book counts are accurate
-        updateAllCategoryBookCounts();
-
         Specification<Category> spec = buildCategorySpecification(criteria);
         Page<Category> categories = categoryRepository.findAll(spec, pageable);
 
@@ -324,36 +311,80 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     /**
-     * Get books in a category with pagination - improved to use the join table directly.
+     * Get books in a category with pagination. The page is limited and projected in the database,
+     * so only the requested rows are read.
      */
     public Page<BookSummaryDTO> getCategoryBooks(Long categoryId, Pageable pageable) {
+        getCategoryById(categoryId);
+        return bookRepository.findSummariesByCategoryId(categoryId, pageable);
+    }
+
+    /**
+     * Keyset-paginated variant of {@link #getCategoryBooks}, ordered by {@code title} or {@code id}.
+     * Each page seeks past the last row of the previous one instead of skipping an offset, and
+     * estimated totals come from the category's stored book count.
+     */
+    @Override
+    public CursorPage<BookSummaryDTO> scrollCategoryBooks(Long categoryId, CursorRequest cursorRequest) {
         Category category = getCategoryById(categoryId);
+        Sort sort = keysetPager.sortFor(cursorRequest, CATEGORY_BOOKS_SORT_FIELDS);
+        Map<String, Object> after = keysetPager.decodeCursor(cursorRequest.getCursor(), Book.class, sort);
+
+        boolean byTitle = "title".equals(cursorRequest.getSort());
+        String direction = cursorRequest.getDirection().isAscending() ? "ASC" : "DESC";
+        String seek = cursorRequest.getDirection().isAscending() ? ">" : "<";
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.BookBliss.DTO.Admin.CategoryManagement.BookSummaryDTO(b.id, b.title, b.author, b.isbn) " +
+                "FROM Book b JOIN b.categories c WHERE c.id = :categoryId");
+        if (!after.isEmpty()) {
+            jpql.append(byTitle
+                    ? " AND (b.title " + seek + " :title OR (b.title = :title AND b.id " + seek + " :id))"
+                    : " AND b.id " + seek + " :id");
+        }
+        jpql.append(byTitle ? " ORDER BY b.title " + direction + ", b.id " + direction : " ORDER BY b.id " + direction);
 
-        // Using a more efficient query with the join table
-        List<Book> books = entityManager.createQuery(
-                        "SELECT b FROM Book b JOIN b.categories c WHERE c.id = :categoryId", Book.class)
+        TypedQuery<BookSummaryDTO> query = entityManager.createQuery(jpql.toString(), BookSummaryDTO.class)
                 .setParameter("categoryId", categoryId)
-                .getResultList();
-
-        // Manual pagination
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), books.size());
-
-        List<Book> pageContent = start < end ? books.subList(start, end) : List.of();
-        List<BookSummaryDTO> bookDTOs = pageContent.stream()
-                .map(this::convertToBookSummaryDTO)
-                .collect(Collectors.toList());
+                .setMaxResults(cursorRequest.getSize() + 1);
+        if (!after.isEmpty()) {
+            query.setParameter("id", after.get("id"));
+            if (byTitle) {
+                query.setParameter("title", after.get("title"));
+            }
+        }
+        List<BookSummaryDTO> rows = query.getResultList();
+
+        boolean hasNext = rows.size() > cursorRequest.getSize();
+        List<BookSummaryDTO> content = hasNext ? rows.subList(0, cursorRequest.getSize()) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            BookSummaryDTO last = content.get(content.size() - 1);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (byTitle) {
+                keys.put("title", last.getTitle());
+            }
+            keys.put("id", last.getId());
+            nextCursor = keysetPager.encodeCursor(sort, keys);
+        }
 
-        return new PageImpl<>(bookDTOs, pageable, books.size());
+        CursorPage.CursorPageBuilder<BookSummaryDTO> page = CursorPage.<BookSummaryDTO>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor);
+        switch (cursorRequest.getCount()) {
+            case EXACT -> page.totalElements(bookRepository.countByCategoriesId(categoryId)).totalEstimated(false);
+            case ESTIMATED -> page.totalElements((long) category.getBookCount()).totalEstimated(true);
+            case NONE -> {
+            }
+        }
+        return page.build();
     }
 
     /**
      * Get statistics about categories.
      */
     public Map<String, Object> getCategoryStatistics() {
-        // Update all category book counts to ensure accuracy
-        updateAllCategoryBookCounts();
-
         Map<String, Object> stats = new HashMap<>();
 
         stats.put("totalCategories", categoryRepository.count());
@@ -373,26 +404,25 @@ public class CategoryServiceImpl implements CategoryService {
         Category sourceCategory = getCategoryById(mergeDTO.getSourceCategoryId());
         Category targetCategory = getCategoryById(mergeDTO.getTargetCategoryId());
 
-        // Refresh book counts to ensure accuracy
-        updateCategoryBookCount(sourceCategory.getId());
-        updateCategoryBookCount(targetCategory.getId());
-
-        // Reload entities after update
-        sourceCategory = getCategoryById(mergeDTO.getSourceCategoryId());
-        targetCategory = getCategoryById(mergeDTO.getTargetCategoryId());
-
-        if (sourceCategory.getBookCount() == 0) {
+        if (bookRepository.countByCategoriesId(sourceCategory.getId()) == 0) {
             throw new IllegalStateException("Source category has no books to merge.");
         }
 
+        // Books of the source category change categories; collect them before rewriting the join table
+        @SuppressWarnings("unchecked")
+        List<Number> movedBookIds = entityManager.createNativeQuery(
+                        "SELECT book_id FROM book_categories WHERE category_id = :categoryId")
+                .setParameter("categoryId", sourceCategory.getId())
+                .getResultList();
+
         // Use SQL to directly update the join table - most efficient approach
         int updatedRows = entityManager.createNativeQuery(
                         "INSERT INTO book_categories (book_id, category_id) " +
                                 "SELECT bc.book_id, :targetCategoryId " +
-                                "FROM book_category bc " +
+                                "FROM book_categories bc " +
                                 "WHERE bc.category_id = :sourceCategoryId " +
                                 "AND bc.book_id NOT IN (" +
-                                "  SELECT book_id FROM book_category " +
+                                "  SELECT book_id FROM book_categories " +
                                 "  WHERE category_id = :targetCategoryId" +
                                 ")")
                 .setParameter("sourceCategoryId", sourceCategory.getId())
@@ -407,18 +437,22 @@ public class CategoryServiceImpl implements CategoryService {
                     .executeUpdate();
         }
 
-        // Update book counts
-        updateCategoryBookCount(targetCategory.getId());
-        updateCategoryBookCount(sourceCategory.getId());
+        // The join table was rewritten directly, so recount both sides in this transaction
+        categoryRepository.recountBookCount(targetCategory.getId());
+        categoryRepository.recountBookCount(sourceCategory.getId());
 
         // Reload target category to get updated book count
-        targetCategory = getCategoryById(targetCategory.getId());
+        entityManager.refresh(targetCategory);
 
         // Optionally delete source category if requested
         if (mergeDTO.isDeleteSourceAfterMerge()) {
             categoryRepository.delete(sourceCategory);
         }
 
+        // Cached book views and catalog indexes carry category names; refresh them after commit
+        movedBookIds.forEach(bookId -> eventPublisher.publishEvent(
+                new BookChangedEvent(this, bookId.longValue(), BookChangedEvent.ChangeType.UPDATED)));
+
         return convertToAdminCategoryDetailsDTO(targetCategory);
     }
 
@@ -433,16 +467,4 @@ public class CategoryServiceImpl implements CategoryService {
                 .bookCount(category.getBookCount())
                 .build();
     }
-
-    /**
-     * Convert a Book entity to BookSummaryDTO.
-     */
-    private BookSummaryDTO convertToBookSummaryDTO(Book book) {
-        return BookSummaryDTO.builder()
-                .id(book.getId())
-                .title(book.getTitle())
-                .author(book.getAuthor())
-                .isbn(book.getIsbn())
-                .build();
-    }
-}
\ No newline at end of file
+}
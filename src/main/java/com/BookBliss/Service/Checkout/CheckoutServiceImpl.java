@@ -1,6 +1,7 @@
 package com.BookBliss.Service.Checkout;
 
 
+import com.BookBliss.DTO.CheckOut.CheckoutDTOs;
 import com.BookBliss.DTO.CheckOut.CheckoutDTOs.CheckoutRequest;
 import com.BookBliss.DTO.CheckOut.CheckoutDTOs.CheckoutStatusUpdateRequest;
 import com.BookBliss.Entity.Book;
@@ -10,17 +11,21 @@ import com.BookBliss.Entity.MyBookshelf;
 import com.BookBliss.Entity.User;
 
 import com.BookBliss.Exception.*;
-import com.BookBliss.Repository.BookRepository;
 import com.BookBliss.Repository.CheckoutRepository;
 import com.BookBliss.Repository.MyBookshelfRepository;
 import com.BookBliss.Repository.UserRepository;
+import com.BookBliss.Service.Book.BookInventoryService;
+import com.BookBliss.Service.Reservation.HoldQueueService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Service
@@ -29,8 +34,10 @@ public class CheckoutServiceImpl {
 
     private final CheckoutRepository checkoutRepository;
     private final MyBookshelfRepository bookshelfRepository;
-    private final BookRepository bookRepository;
     private final UserRepository userRepository;
+    private final BookInventoryService bookInventoryService;
+    private final OverdueCheckoutJob overdueCheckoutJob;
+    private final HoldQueueService holdQueueService;
 
     /**
      * Initiate checkout process for a bookshelf
@@ -106,21 +113,8 @@ public class CheckoutServiceImpl {
 
         MyBookshelf bookshelf = checkout.getBookshelf();
 
-        // Update book inventory
-        for (BookshelfItem item : bookshelf.getBookshelfItems()) {
-            Book book = item.getBook();
-
-            // Verify availability again
-            if (book.getAvailableCopies() < item.getQuantity()) {
-                throw new ResourceNotFoundException("Book '" + book.getTitle() +
-                        "' doesn't have enough available copies. Requested: " +
-                        item.getQuantity() + ", Available: " + book.getAvailableCopies());
-            }
-
-            // Decrease available copies
-            book.setAvailableCopies(book.getAvailableCopies() - item.getQuantity());
-            bookRepository.save(book);
-        }
+        // Take every title's copies atomically; a single short title rolls back the whole checkout
+        bookInventoryService.reserveAll(quantitiesByBook(bookshelf));
 
         // Update bookshelf status
         bookshelf.setStatus(MyBookshelf.BookshelfStatus.BORROWED);
@@ -148,14 +142,10 @@ public class CheckoutServiceImpl {
 
         MyBookshelf bookshelf = checkout.getBookshelf();
 
-        // Return books to inventory
-        for (BookshelfItem item : bookshelf.getBookshelfItems()) {
-            Book book = item.getBook();
-
-            // Increase available copies
-            book.setAvailableCopies(book.getAvailableCopies() + item.getQuantity());
-            bookRepository.save(book);
-        }
+        // Return books to inventory, handing returned copies to waiting holds first
+        Map<Long, Integer> quantities = quantitiesByBook(bookshelf);
+        bookInventoryService.releaseAll(quantities);
+        new TreeMap<>(quantities).forEach(holdQueueService::allocate);
 
         // Update bookshelf status
         bookshelf.setStatus(MyBookshelf.BookshelfStatus.COMPLETED);
@@ -254,16 +244,21 @@ public class CheckoutServiceImpl {
     }
 
     /**
-     * Update overdue checkouts
+     * Update overdue checkouts in chunked bulk updates, each committed on its own
      */
-    @Transactional
-    public void updateOverdueCheckouts() {
-        List<Checkout> overdueCheckouts = findOverdueCheckouts();
+    public CheckoutDTOs.OverdueProcessingReport updateOverdueCheckouts() {
+        return overdueCheckoutJob.run();
+    }
 
-        for (Checkout checkout : overdueCheckouts) {
-            checkout.setStatus(Checkout.CheckoutStatus.OVERDUE);
-            checkoutRepository.save(checkout);
+    /**
+     * Copies per book on the bookshelf
+     */
+    private Map<Long, Integer> quantitiesByBook(MyBookshelf bookshelf) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (BookshelfItem item : bookshelf.getBookshelfItems()) {
+            quantities.merge(item.getBook().getId(), item.getQuantity(), Integer::sum);
         }
+        return quantities;
     }
 
     /**
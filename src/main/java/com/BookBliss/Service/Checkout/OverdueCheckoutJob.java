@@ -0,0 +1,109 @@
+package com.BookBliss.Service.Checkout;
+
+import com.BookBliss.DTO.CheckOut.CheckoutDTOs.OverdueProcessingReport;
+import com.BookBliss.Entity.Checkout;
+import com.BookBliss.Exception.InvalidOperationException;
+import com.BookBliss.Repository.CheckoutRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Marks borrowed checkouts whose due date has passed as OVERDUE with set-based updates.
+ * <p>
+ * The candidate id range is split into chunks of {@code chunk-size} ids. Each chunk is one
+ * {@code UPDATE ... WHERE id BETWEEN ? AND ? AND status = 'BORROWED' AND due_date < ?} in its
+ * own transaction, so row locks are only held for one chunk at a time even when an outage left
+ * a large backlog. Committed chunks leave no BORROWED overdue rows behind, so a run interrupted
+ * by a crash needs no checkpoint: the next run's id range already starts past them.
+ */
+@Component
+@Slf4j
+public class OverdueCheckoutJob {
+
+    private final CheckoutRepository checkoutRepository;
+    private final TransactionTemplate requiresNew;
+    private final int chunkSize;
+    private final long chunkPauseMs;
+    private final ReentrantLock running = new ReentrantLock();
+
+    public OverdueCheckoutJob(CheckoutRepository checkoutRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${app.checkout.overdue.chunk-size:1000}") int chunkSize,
+                              @Value("${app.checkout.overdue.chunk-pause-ms:0}") long chunkPauseMs) {
+        this.checkoutRepository = checkoutRepository;
+        this.requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.chunkPauseMs = chunkPauseMs;
+    }
+
+    public OverdueProcessingReport run() {
+        if (!running.tryLock()) {
+            throw new InvalidOperationException("Overdue checkout processing is already running");
+        }
+        try {
+            OverdueProcessingReport report = process(LocalDate.now());
+            log.info("Overdue checkouts: {} updated in {} chunks over ids {}..{} ({} ms)",
+                    report.getCheckoutsUpdated(), report.getChunks(), report.getFromId(), report.getToId(),
+                    report.getDurationMs());
+            return report;
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private OverdueProcessingReport process(LocalDate cutoff) {
+        long started = System.currentTimeMillis();
+        OverdueProcessingReport.OverdueProcessingReportBuilder report = OverdueProcessingReport.builder()
+                .cutoffDate(cutoff);
+
+        List<Object[]> range = checkoutRepository.findOverdueIdRange(cutoff, Checkout.CheckoutStatus.BORROWED);
+        if (range.isEmpty() || range.get(0)[0] == null) {
+            return report.durationMs(System.currentTimeMillis() - started).build();
+        }
+        long minId = ((Number) range.get(0)[0]).longValue();
+        long maxId = ((Number) range.get(0)[1]).longValue();
+
+        int chunks = 0;
+        long updated = 0;
+        for (long chunkStart = minId; chunkStart <= maxId; chunkStart += chunkSize) {
+            long chunkEnd = Math.min(chunkStart + chunkSize - 1, maxId);
+            boolean last = chunkEnd == maxId;
+            long lower = chunkStart;
+            Integer count = requiresNew.execute(status -> checkoutRepository.transitionOverdueInRange(lower, chunkEnd,
+                    cutoff, Checkout.CheckoutStatus.BORROWED, Checkout.CheckoutStatus.OVERDUE, LocalDateTime.now()));
+            updated += count != null ? count : 0;
+            chunks++;
+            if (!last) {
+                pauseBetweenChunks();
+            }
+        }
+
+        return report.fromId(minId)
+                .toId(maxId)
+                .chunks(chunks)
+                .checkoutsUpdated(updated)
+                .durationMs(System.currentTimeMillis() - started)
+                .build();
+    }
+
+    private void pauseBetweenChunks() {
+        if (chunkPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(chunkPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Overdue checkout processing interrupted", e);
+        }
+    }
+}
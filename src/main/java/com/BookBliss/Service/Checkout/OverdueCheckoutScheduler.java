@@ -1,5 +1,6 @@
 package com.BookBliss.Service.Checkout;
 
+import com.BookBliss.DTO.CheckOut.CheckoutDTOs;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
@@ -22,8 +23,9 @@ public class OverdueCheckoutScheduler {
     public void checkOverdueCheckouts() {
         log.info("Running scheduled task to check for overdue checkouts");
         try {
-            checkoutService.updateOverdueCheckouts();
-            log.info("Overdue checkout status update completed successfully");
+            CheckoutDTOs.OverdueProcessingReport report = checkoutService.updateOverdueCheckouts();
+            log.info("Overdue checkout status update completed successfully: {} checkouts updated",
+                    report.getCheckoutsUpdated());
         } catch (Exception e) {
             log.error("Error occurred while updating overdue checkouts", e);
         }
@@ -0,0 +1,54 @@
+package com.BookBliss.Service.Cluster;
+
+import com.BookBliss.Events.Books.BookChangedEvent;
+import com.BookBliss.Events.Books.BookDetailsChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Relays committed book events to the other nodes and re-publishes theirs locally, so that
+ * every node's catalog cache, search indexes and inventory ledger react to a change no matter
+ * which node made it.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookChangeRelay {
+
+    private final ClusterInvalidationBus bus;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostConstruct
+    public void subscribe() {
+        bus.subscribe(ClusterInvalidationBus.BOOKS, this::onRemoteBookChanged);
+        bus.subscribe(ClusterInvalidationBus.BOOK_DETAILS, this::onRemoteBookDetailsChanged);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (bus.isClustered() && !bus.isRelayed(event.getSource())) {
+            bus.publish(ClusterInvalidationBus.BOOKS, event.getChangeType() + ":" + event.getBookId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookDetailsChanged(BookDetailsChangedEvent event) {
+        if (bus.isClustered() && !bus.isRelayed(event.getSource())) {
+            event.getBookIds().forEach(bookId -> bus.publish(ClusterInvalidationBus.BOOK_DETAILS, bookId.toString()));
+        }
+    }
+
+    private void onRemoteBookChanged(ClusterMessage message) {
+        String[] parts = message.getKey().split(":", 2);
+        eventPublisher.publishEvent(new BookChangedEvent(bus, Long.valueOf(parts[1]),
+                BookChangedEvent.ChangeType.valueOf(parts[0])));
+    }
+
+    private void onRemoteBookDetailsChanged(ClusterMessage message) {
+        eventPublisher.publishEvent(new BookDetailsChangedEvent(bus, List.of(Long.valueOf(message.getKey()))));
+    }
+}
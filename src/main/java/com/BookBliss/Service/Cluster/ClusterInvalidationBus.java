@@ -0,0 +1,111 @@
+package com.BookBliss.Service.Cluster;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Fans local cache invalidations and token revocations out to the other nodes of a deployment.
+ * <p>
+ * Owners of node-local caches {@link #publish} a region/key when they change something and
+ * {@link #subscribe} a handler that applies the same invalidation when another node reports it.
+ * Delivery goes through every enabled {@link ClusterTransport} (the polled outbox table and/or
+ * UDP multicast); messages are de-duplicated by id and a node never handles its own messages.
+ * Without any transport enabled the bus is a no-op and every cache stays purely local.
+ */
+@Component
+@Slf4j
+public class ClusterInvalidationBus {
+
+    public static final String BOOKS = "books";
+    public static final String BOOK_DETAILS = "bookDetails";
+    public static final String USERS = "users";
+    public static final String USER_REFRESH_TOKENS = "userRefreshTokens";
+    public static final String TOKEN_REVOCATIONS = "tokenRevocations";
+    public static final String USER_CIRCULATION = "userCirculation";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<ClusterTransport> transports;
+    private final Map<String, List<Consumer<ClusterMessage>>> handlers = new ConcurrentHashMap<>();
+
+    // Both transports may deliver the same message; ids are kept well past any delivery delay
+    private final Cache<String, Boolean> seenMessages = Caffeine.newBuilder()
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .maximumSize(200_000)
+            .build();
+
+    public ClusterInvalidationBus(ObjectProvider<ClusterTransport> transports) {
+        this.transports = transports.orderedStream().toList();
+    }
+
+    @PostConstruct
+    public void start() {
+        transports.forEach(transport -> transport.start(this::receive));
+        if (!transports.isEmpty()) {
+            log.info("Cluster invalidation bus started on node {} with transports {}",
+                    nodeId, transports.stream().map(ClusterTransport::name).toList());
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isClustered() {
+        return !transports.isEmpty();
+    }
+
+    public void subscribe(String region, Consumer<ClusterMessage> handler) {
+        handlers.computeIfAbsent(region, r -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    public void publish(String region, String key) {
+        publish(region, key, 0L);
+    }
+
+    public void publish(String region, String key, long expiresAtMs) {
+        if (transports.isEmpty()) {
+            return;
+        }
+        ClusterMessage message = new ClusterMessage(UUID.randomUUID().toString(), nodeId, region, key, expiresAtMs);
+        seenMessages.put(message.getMessageId(), Boolean.TRUE);
+        for (ClusterTransport transport : transports) {
+            try {
+                transport.send(message);
+            } catch (Exception e) {
+                log.warn("Failed to send {} invalidation over {}: {}", region, transport.name(), e.getMessage());
+            }
+        }
+    }
+
+    /** Whether an application event was re-published by this bus on behalf of another node. */
+    public boolean isRelayed(Object eventSource) {
+        return eventSource == this;
+    }
+
+    void receive(ClusterMessage message) {
+        if (nodeId.equals(message.getOriginNode())
+                || seenMessages.asMap().putIfAbsent(message.getMessageId(), Boolean.TRUE) != null) {
+            return;
+        }
+        for (Consumer<ClusterMessage> handler : handlers.getOrDefault(message.getRegion(), List.of())) {
+            try {
+                handler.accept(message);
+            } catch (Exception e) {
+                log.warn("Failed to apply {} invalidation for key {}: {}",
+                        message.getRegion(), message.getKey(), e.getMessage());
+            }
+        }
+    }
+}
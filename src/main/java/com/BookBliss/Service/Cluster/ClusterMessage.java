@@ -0,0 +1,47 @@
+package com.BookBliss.Service.Cluster;
+
+import lombok.Value;
+
+import java.io.*;
+
+/**
+ * One invalidation fanned out to the other nodes: a region, an optional key (absent means the
+ * whole region) and, for revocations, the epoch millis until which the entry matters.
+ */
+@Value
+public class ClusterMessage {
+    String messageId;
+    String originNode;
+    String region;
+    String key;
+    long expiresAtMs;
+
+    byte[] encode() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(messageId);
+            out.writeUTF(originNode);
+            out.writeUTF(region);
+            out.writeBoolean(key != null);
+            if (key != null) {
+                out.writeUTF(key);
+            }
+            out.writeLong(expiresAtMs);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static ClusterMessage decode(byte[] data, int offset, int length) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length));
+        String messageId = in.readUTF();
+        String originNode = in.readUTF();
+        String region = in.readUTF();
+        String key = in.readBoolean() ? in.readUTF() : null;
+        long expiresAtMs = in.readLong();
+        return new ClusterMessage(messageId, originNode, region, key, expiresAtMs);
+    }
+}
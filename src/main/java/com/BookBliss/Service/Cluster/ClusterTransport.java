@@ -0,0 +1,18 @@
+package com.BookBliss.Service.Cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link ClusterMessage}s between nodes for the {@link ClusterInvalidationBus}.
+ * Transports may deliver a message more than once or echo a node's own messages back;
+ * the bus filters both.
+ */
+public interface ClusterTransport {
+
+    String name();
+
+    /** Starts delivering messages received from other nodes to {@code sink}. */
+    void start(Consumer<ClusterMessage> sink);
+
+    void send(ClusterMessage message);
+}
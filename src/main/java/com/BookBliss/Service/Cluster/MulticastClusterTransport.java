@@ -0,0 +1,117 @@
+package com.BookBliss.Service.Cluster;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.*;
+import java.util.function.Consumer;
+
+/**
+ * {@link ClusterTransport} over UDP multicast, for millisecond fan-out between nodes on one
+ * network segment. Datagrams can be lost, so it is meant to run alongside the outbox transport,
+ * which guarantees eventual delivery. Multicast loopback is on, so several instances on one
+ * machine (the default TTL of 1 keeps traffic on the local segment) can exercise it locally.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.multicast.enabled", havingValue = "true")
+@Slf4j
+public class MulticastClusterTransport implements ClusterTransport {
+
+    private static final int MAX_DATAGRAM_BYTES = 8192;
+
+    private final InetAddress group;
+    private final int port;
+    private final int timeToLive;
+    private final String interfaceName;
+
+    private volatile MulticastSocket socket;
+    private volatile boolean running;
+
+    public MulticastClusterTransport(@Value("${app.cluster.multicast.group:239.255.27.1}") String group,
+                                     @Value("${app.cluster.multicast.port:45588}") int port,
+                                     @Value("${app.cluster.multicast.ttl:1}") int timeToLive,
+                                     @Value("${app.cluster.multicast.interface:}") String interfaceName) throws UnknownHostException {
+        this.group = InetAddress.getByName(group);
+        this.port = port;
+        this.timeToLive = timeToLive;
+        this.interfaceName = interfaceName;
+    }
+
+    @Override
+    public String name() {
+        return "multicast " + group.getHostAddress() + ":" + port;
+    }
+
+    @Override
+    public void start(Consumer<ClusterMessage> sink) {
+        try {
+            MulticastSocket multicastSocket = new MulticastSocket(port);
+            multicastSocket.setTimeToLive(timeToLive);
+            multicastSocket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            NetworkInterface networkInterface = interfaceName.isBlank() ? null : NetworkInterface.getByName(interfaceName);
+            if (networkInterface != null) {
+                multicastSocket.setNetworkInterface(networkInterface);
+            }
+            multicastSocket.joinGroup(new InetSocketAddress(group, port), networkInterface);
+            socket = multicastSocket;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not join multicast group " + group + ":" + port, e);
+        }
+        running = true;
+        Thread receiver = new Thread(() -> receiveLoop(sink), "cluster-multicast-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @Override
+    public void send(ClusterMessage message) {
+        MulticastSocket target = socket;
+        if (target == null) {
+            return;
+        }
+        byte[] bytes = message.encode();
+        if (bytes.length > MAX_DATAGRAM_BYTES) {
+            log.warn("Dropping oversized {} invalidation ({} bytes) from multicast", message.getRegion(), bytes.length);
+            return;
+        }
+        try {
+            target.send(new DatagramPacket(bytes, bytes.length, group, port));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void receiveLoop(Consumer<ClusterMessage> sink) {
+        byte[] buffer = new byte[MAX_DATAGRAM_BYTES];
+        while (running) {
+            MulticastSocket current = socket;
+            if (current == null) {
+                break;
+            }
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                current.receive(packet);
+                sink.accept(ClusterMessage.decode(packet.getData(), packet.getOffset(), packet.getLength()));
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Failed to read multicast invalidation: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        MulticastSocket current = socket;
+        socket = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.BookBliss.Service.Cluster;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * {@link ClusterTransport} over the shared {@code cluster_invalidations} table.
+ * <p>
+ * Messages are appended in their own short transaction, so an invalidation raised after a
+ * commit is never lost with a finished transaction. Each node polls rows above its cursor in
+ * id order. Auto-increment ids may commit slightly out of order, so the cursor only moves past
+ * rows older than a settle window; younger rows are read again on the next poll and skipped if
+ * already delivered. On startup the cursor begins at the current end of the table, since the
+ * node's caches start empty. Polling runs on its own thread, so a slow scheduled job cannot
+ * hold invalidations back.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.outbox.enabled", havingValue = "true")
+@Slf4j
+public class OutboxClusterTransport implements ClusterTransport {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cluster_invalidations (message_id, origin_node, region, cache_key, expires_at_ms, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, NOW(3))";
+    private static final String POLL_SQL =
+            "SELECT id, message_id, origin_node, region, cache_key, expires_at_ms, " +
+            "created_at < NOW(3) - INTERVAL ? MICROSECOND AS settled " +
+            "FROM cluster_invalidations WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String PURGE_SQL =
+            "DELETE FROM cluster_invalidations WHERE created_at < NOW(3) - INTERVAL ? MINUTE LIMIT ?";
+
+    private record Row(long id, ClusterMessage message, boolean settled) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+    private final long settleMs;
+    private final int batchSize;
+    private final long retentionMinutes;
+    private final long pollIntervalMs;
+
+    private final Set<Long> deliveredAboveCursor = new HashSet<>();
+    private volatile Consumer<ClusterMessage> sink;
+    private volatile long cursor = -1L;
+    private volatile boolean running;
+
+    public OutboxClusterTransport(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.cluster.outbox.settle-ms:2000}") long settleMs,
+                                  @Value("${app.cluster.outbox.batch-size:500}") int batchSize,
+                                  @Value("${app.cluster.outbox.retention-minutes:60}") long retentionMinutes,
+                                  @Value("${app.cluster.outbox.poll-interval-ms:200}") long pollIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.settleMs = settleMs;
+        this.batchSize = batchSize;
+        this.retentionMinutes = retentionMinutes;
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    @Override
+    public String name() {
+        return "outbox";
+    }
+
+    @Override
+    public void start(Consumer<ClusterMessage> sink) {
+        this.sink = sink;
+        running = true;
+        Thread poller = new Thread(this::pollLoop, "cluster-outbox-poller");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    @Override
+    public void send(ClusterMessage message) {
+        requiresNew.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL,
+                message.getMessageId(), message.getOriginNode(), message.getRegion(),
+                message.getKey(), message.getExpiresAtMs()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initCursor() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cluster_invalidations", Long.class);
+        cursor = maxId != null ? maxId : 0L;
+        log.info("Cluster outbox polling from id {}", cursor);
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                poll();
+            } catch (RuntimeException e) {
+                log.warn("Failed to deliver cluster outbox messages: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    void poll() {
+        Consumer<ClusterMessage> target = sink;
+        if (target == null || cursor < 0) {
+            return;
+        }
+        List<Row> rows;
+        try {
+            rows = jdbcTemplate.query(POLL_SQL, (rs, i) -> new Row(
+                    rs.getLong("id"),
+                    new ClusterMessage(rs.getString("message_id"), rs.getString("origin_node"),
+                            rs.getString("region"), rs.getString("cache_key"), rs.getLong("expires_at_ms")),
+                    rs.getBoolean("settled")), settleMs * 1000, cursor, batchSize);
+        } catch (Exception e) {
+            log.warn("Failed to poll cluster outbox: {}", e.getMessage());
+            return;
+        }
+
+        long next = cursor;
+        boolean settledPrefix = true;
+        for (Row row : rows) {
+            if (deliveredAboveCursor.add(row.id())) {
+                target.accept(row.message());
+            }
+            if (settledPrefix && row.settled()) {
+                next = row.id();
+            } else {
+                settledPrefix = false;
+            }
+        }
+        long advancedTo = next;
+        cursor = advancedTo;
+        deliveredAboveCursor.removeIf(id -> id <= advancedTo);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.outbox.purge-interval-ms:60000}")
+    public void purge() {
+        int deleted;
+        int total = 0;
+        do {
+            deleted = jdbcTemplate.update(PURGE_SQL, retentionMinutes, batchSize * 10);
+            total += deleted;
+        } while (deleted == batchSize * 10);
+        if (total > 0) {
+            log.debug("Purged {} cluster outbox rows", total);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        sink = null;
+    }
+}
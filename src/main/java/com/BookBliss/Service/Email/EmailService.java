@@ -5,6 +5,9 @@ import com.BookBliss.Entity.OtpVerification;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 public interface EmailService {
     /**
      * Send password reset email
@@ -47,4 +50,12 @@ public interface EmailService {
 
     // Security Alert Methods
     void sendSecurityAlertEmail(String email, String alertType);
+
+    /**
+     * Send one notification listing every book held for a user
+     *
+     * @param email Email recipient
+     * @param pickupDeadlines Book title mapped to the time the hold expires
+     */
+    void sendHoldsReadyEmail(String email, Map<String, LocalDateTime> pickupDeadlines);
 }
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.BookBliss.Service.Email;
+
+import com.BookBliss.Config.AsyncConfig;
+import com.BookBliss.Entity.MailOutbox;
+import com.BookBliss.Events.Mail.MailQueuedEvent;
+import com.BookBliss.Repository.MailOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers mail through the persistent {@link MailOutbox}.
+ * <p>
+ * {@link #enqueue} only inserts an outbox row, in the caller's transaction, so request threads
+ * never wait on SMTP and the mail commits or rolls back together with the change that produced
+ * it. Once that transaction commits, delivery is started on the bounded
+ * {@link AsyncConfig#MAIL_EXECUTOR}; a periodic poll picks up mail left over from restarts,
+ * rejected tasks and retries.
+ * <p>
+ * A dispatch claims up to {@code batch-size} due rows at a time and sends them all over one
+ * SMTP connection, which {@link JavaMailSender} opens for the batch and closes after it; no
+ * connection is kept open between batches, so a burst costs one handshake per batch rather
+ * than per mail. Failed mails are retried with exponential backoff until {@code max-attempts}
+ * is reached. Bodies are cleared once a mail is sent or given up on; sent rows are deleted
+ * after {@code sent-retention-days} and failed ones after {@code failed-retention-days}.
+ */
+@Component
+@Slf4j
+public class MailDispatcher {
+
+    /** Bodies carry OTP codes and reset links; they are only kept until the mail is settled. */
+    private static final String REDACTED_BODY = "";
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate requiresNew;
+    private final Executor mailExecutor;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+    private final Duration sentRetention;
+    private final Duration failedRetention;
+
+    public MailDispatcher(MailOutboxRepository mailOutboxRepository,
+                          JavaMailSender mailSender,
+                          ApplicationEventPublisher eventPublisher,
+                          TransactionTemplate transactionTemplate,
+                          @Qualifier(AsyncConfig.MAIL_EXECUTOR) Executor mailExecutor,
+                          @Value("${app.mail.dispatcher.batch-size:20}") int batchSize,
+                          @Value("${app.mail.dispatcher.max-attempts:8}") int maxAttempts,
+                          @Value("${app.mail.dispatcher.initial-backoff-seconds:30}") long initialBackoffSeconds,
+                          @Value("${app.mail.dispatcher.max-backoff-minutes:60}") long maxBackoffMinutes,
+                          @Value("${app.mail.dispatcher.claim-timeout-minutes:10}") long claimTimeoutMinutes,
+                          @Value("${app.mail.outbox.sent-retention-days:7}") long sentRetentionDays,
+                          @Value("${app.mail.outbox.failed-retention-days:30}") long failedRetentionDays) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSender = mailSender;
+        this.eventPublisher = eventPublisher;
+        this.requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.mailExecutor = mailExecutor;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+        this.maxBackoff = Duration.ofMinutes(maxBackoffMinutes);
+        this.claimTimeout = Duration.ofMinutes(claimTimeoutMinutes);
+        this.sentRetention = Duration.ofDays(sentRetentionDays);
+        this.failedRetention = Duration.ofDays(failedRetentionDays);
+    }
+
+    /**
+     * Queues a single-recipient message in the current transaction, or in its own outside one.
+     * A failed insert propagates, so the caller's transaction never commits without its mail.
+     */
+    public void enqueue(SimpleMailMessage message) {
+        if (message.getTo() == null || message.getTo().length != 1) {
+            throw new IllegalArgumentException("Outbox mail must have exactly one recipient");
+        }
+        MailOutbox mail = MailOutbox.builder()
+                .sender(message.getFrom())
+                .recipient(message.getTo()[0])
+                .subject(message.getSubject())
+                .body(message.getText())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+
+        mailOutboxRepository.save(mail);
+        // Delivered to onMailQueued after commit, or right away outside a transaction
+        eventPublisher.publishEvent(new MailQueuedEvent(this, mail.getId()));
+    }
+
+    @Async(AsyncConfig.MAIL_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMailQueued(MailQueuedEvent event) {
+        dispatchDue();
+    }
+
+    /** Catches up on retries and on mail whose dispatch task was lost or rejected. */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:30000}",
+            initialDelayString = "${app.mail.outbox.poll-initial-delay-ms:10000}")
+    public void poll() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Integer released = requiresNew.execute(status -> mailOutboxRepository.releaseStaleClaims(now.minus(claimTimeout)));
+            if (released != null && released > 0) {
+                log.warn("Released {} mails claimed by a dispatcher that did not finish", released);
+            }
+            requiresNew.executeWithoutResult(status -> {
+                mailOutboxRepository.deleteSentBefore(now.minus(sentRetention));
+                mailOutboxRepository.deleteFailedBefore(now.minus(failedRetention));
+            });
+            // Keep SMTP off the shared scheduler thread
+            mailExecutor.execute(this::dispatchDue);
+        } catch (Exception e) {
+            log.error("Mail outbox poll failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void dispatchDue() {
+        int claimed;
+        do {
+            String token = UUID.randomUUID().toString();
+            Integer count = requiresNew.execute(status -> mailOutboxRepository.claimDue(token, LocalDateTime.now(), batchSize));
+            claimed = count != null ? count : 0;
+            if (claimed > 0) {
+                send(mailOutboxRepository.findByClaimTokenOrderById(token));
+            }
+        } while (claimed == batchSize);
+    }
+
+    private void send(List<MailOutbox> batch) {
+        Map<SimpleMailMessage, MailOutbox> messages = new IdentityHashMap<>();
+        for (MailOutbox mail : batch) {
+            messages.put(toMessage(mail), mail);
+        }
+
+        Map<Object, Exception> failures = Collections.emptyMap();
+        try {
+            // JavaMailSenderImpl sends the whole array over a single connection
+            mailSender.send(messages.keySet().toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages().isEmpty() ? allFailed(messages.keySet(), e) : e.getFailedMessages();
+        } catch (MailException e) {
+            failures = allFailed(messages.keySet(), e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<SimpleMailMessage, MailOutbox> entry : messages.entrySet()) {
+            MailOutbox mail = entry.getValue();
+            Exception failure = failures.get(entry.getKey());
+            mail.setClaimToken(null);
+            if (failure == null) {
+                mail.setStatus(MailOutbox.Status.SENT);
+                mail.setSentAt(now);
+                mail.setBody(REDACTED_BODY);
+            } else {
+                recordFailure(mail, failure, now);
+            }
+        }
+        requiresNew.executeWithoutResult(status -> mailOutboxRepository.saveAll(batch));
+        log.info("Mail dispatch: {} sent, {} failed", batch.size() - failures.size(), failures.size());
+    }
+
+    private void recordFailure(MailOutbox mail, Exception failure, LocalDateTime now) {
+        mail.setAttempts(mail.getAttempts() + 1);
+        String error = String.valueOf(failure.getMessage());
+        mail.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (mail.getAttempts() >= maxAttempts) {
+            mail.setStatus(MailOutbox.Status.FAILED);
+            mail.setBody(REDACTED_BODY);
+            log.error("Giving up on mail {} to {} after {} attempts: {}", mail.getId(), mail.getRecipient(), mail.getAttempts(), error);
+            return;
+        }
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(mail.getAttempts() - 1, 20));
+        mail.setStatus(MailOutbox.Status.PENDING);
+        mail.setNextAttemptAt(now.plus(backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff));
+        log.warn("Mail {} to {} failed (attempt {}), retrying at {}: {}",
+                mail.getId(), mail.getRecipient(), mail.getAttempts(), mail.getNextAttemptAt(), error);
+    }
+
+    private static Map<Object, Exception> allFailed(Collection<SimpleMailMessage> messages, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.forEach(message -> failures.put(message, e));
+        return failures;
+    }
+
+    private static SimpleMailMessage toMessage(MailOutbox mail) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(mail.getSender());
+        message.setTo(mail.getRecipient());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getBody());
+        return message;
+    }
+}
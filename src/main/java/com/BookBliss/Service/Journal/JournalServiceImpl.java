@@ -65,7 +65,7 @@ public class JournalServiceImpl implements JournalService {
 	            .orElseThrow(() -> new ResourceNotFoundException("Journal not found"));
 	            
 	        // Check if journal has any active borrowings
-	        if (borrowingRepository.existsByJournalIdAndStatus(id, com.BookBliss.Entity.Borrowing.BorrowingStatus.BORROWED)) {
+	        if (borrowingRepository.existsByJournalIdAndStatusIn(id, com.BookBliss.Entity.Borrowing.ACTIVE_STATUSES)) {
 	            throw new InvalidOperationException("Cannot delete journal with active borrowings");
 	        }
 	        
@@ -0,0 +1,140 @@
+package com.BookBliss.Service.Reservation;
+
+import com.BookBliss.Entity.Reservation;
+import com.BookBliss.Events.Reservations.HoldReadyEvent;
+import com.BookBliss.Repository.ReservationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires ready holds that were not claimed within their pickup window.
+ * <p>
+ * Every hold made ready is put on a {@link DelayQueue} keyed by its expiration time, and a
+ * single daemon thread takes holds off the queue as they expire, so nothing is scanned while
+ * holds are waiting. The queue is rebuilt from the database on startup. A periodic sweep over
+ * the {@code (status, expiration_date)} index covers holds made ready on other nodes and also
+ * expires waiting reservations that exceeded the maximum wait.
+ */
+@Component
+@Slf4j
+public class HoldExpiryScheduler {
+
+    private record Expiry(Long reservationId, long expiresAtNanos) implements Delayed {
+
+        static Expiry at(Long reservationId, LocalDateTime expiresAt) {
+            long delay = Duration.between(LocalDateTime.now(), expiresAt).toNanos();
+            return new Expiry(reservationId, System.nanoTime() + Math.max(0, delay));
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtNanos, ((Expiry) other).expiresAtNanos);
+        }
+    }
+
+    private static final int SWEEP_BATCH = 500;
+
+    private final HoldQueueService holdQueueService;
+    private final ReservationRepository reservationRepository;
+    private final boolean enabled;
+    private final DelayQueue<Expiry> expiries = new DelayQueue<>();
+    private Thread worker;
+
+    public HoldExpiryScheduler(HoldQueueService holdQueueService,
+                               ReservationRepository reservationRepository,
+                               @Value("${app.holds.expiry.enabled:true}") boolean enabled) {
+        this.holdQueueService = holdQueueService;
+        this.reservationRepository = reservationRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        for (Object[] row : reservationRepository.findExpirations(Reservation.ReservationStatus.READY)) {
+            expiries.add(Expiry.at((Long) row[0], (LocalDateTime) row[1]));
+        }
+        worker = new Thread(this::run, "hold-expiry");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Hold expiry started with {} ready holds", expiries.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onHoldReady(HoldReadyEvent event) {
+        if (enabled) {
+            expiries.add(Expiry.at(event.getReservationId(), event.getExpiresAt()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.holds.expiry.sweep-interval-ms:600000}",
+            initialDelayString = "${app.holds.expiry.sweep-initial-delay-ms:60000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int stale = holdQueueService.expireStaleWaiting();
+            if (stale > 0) {
+                log.info("Expired {} reservations that waited longer than allowed", stale);
+            }
+            List<Long> expired;
+            int progressed;
+            do {
+                expired = reservationRepository.findExpiredIds(Reservation.ReservationStatus.READY,
+                        LocalDateTime.now(), PageRequest.of(0, SWEEP_BATCH));
+                progressed = (int) expired.stream().filter(this::expire).count();
+            } while (expired.size() == SWEEP_BATCH && progressed > 0);
+        } catch (Exception e) {
+            log.error("Hold expiry sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                expire(expiries.take().reservationId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private boolean expire(Long reservationId) {
+        try {
+            return holdQueueService.expireHold(reservationId);
+        } catch (Exception e) {
+            // Left READY; the next sweep retries it
+            log.error("Failed to expire hold {}: {}", reservationId, e.getMessage(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.BookBliss.Service.Reservation;
+
+import com.BookBliss.Entity.Reservation;
+import com.BookBliss.Repository.ReservationRepository;
+import com.BookBliss.Service.Email.EmailService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Tells users that a held copy is waiting for them, so that they do not have to poll the
+ * borrowing status of titles they queued for.
+ * <p>
+ * Ready holds are collected periodically and each user gets a single mail listing all titles
+ * that became ready since the last run. The mail is queued in the outbox in the same transaction
+ * that marks the holds as notified, so a hold is announced exactly once.
+ */
+@Component
+@Slf4j
+public class HoldNotifier {
+
+    private final ReservationRepository reservationRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public HoldNotifier(ReservationRepository reservationRepository,
+                        EmailService emailService,
+                        TransactionTemplate transactionTemplate,
+                        @Value("${app.holds.notify-batch-size:500}") int batchSize) {
+        this.reservationRepository = reservationRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.holds.notify-interval-ms:60000}")
+    public void notifyReadyHolds() {
+        try {
+            Integer notified;
+            do {
+                notified = transactionTemplate.execute(status -> notifyBatch());
+            } while (notified != null && notified == batchSize);
+        } catch (Exception e) {
+            log.error("Failed to send hold notifications: {}", e.getMessage(), e);
+        }
+    }
+
+    private int notifyBatch() {
+        List<Reservation> ready = reservationRepository.findUnnotified(
+                Reservation.ReservationStatus.READY, PageRequest.of(0, batchSize));
+        if (ready.isEmpty()) {
+            return 0;
+        }
+        Map<String, Map<String, LocalDateTime>> byEmail = new LinkedHashMap<>();
+        for (Reservation reservation : ready) {
+            byEmail.computeIfAbsent(reservation.getUser().getEmail(), email -> new LinkedHashMap<>())
+                    .put(reservation.getBook().getTitle(), reservation.getExpirationDate());
+        }
+        byEmail.forEach(emailService::sendHoldsReadyEmail);
+        reservationRepository.markNotified(ready.stream().map(Reservation::getId).toList(), LocalDateTime.now());
+        log.info("Notified {} users about {} ready holds", byEmail.size(), ready.size());
+        return ready.size();
+    }
+}
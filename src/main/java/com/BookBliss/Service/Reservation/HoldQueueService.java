@@ -0,0 +1,266 @@
+package com.BookBliss.Service.Reservation;
+
+import com.BookBliss.DTO.Reservation.HoldDTO;
+import com.BookBliss.Entity.Book;
+import com.BookBliss.Entity.Borrowing;
+import com.BookBliss.Entity.Reservation;
+import com.BookBliss.Entity.User;
+import com.BookBliss.Events.Reservations.HoldReadyEvent;
+import com.BookBliss.Exception.InvalidOperationException;
+import com.BookBliss.Exception.ResourceNotFoundException;
+import com.BookBliss.Repository.BookRepository;
+import com.BookBliss.Repository.BorrowingRepository;
+import com.BookBliss.Repository.ReservationRepository;
+import com.BookBliss.Repository.UserRepository;
+import com.BookBliss.Service.Book.BookInventoryService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Per-title FIFO hold queue over {@link Reservation}.
+ * <p>
+ * A user can join the queue of a title that has no copies left. Every path that returns copies
+ * calls {@link #allocate} in the same transaction: for each freed copy the oldest waiting
+ * reservation is locked, the copy is taken straight back out of inventory and the reservation
+ * becomes READY until its pickup window closes. Borrowing the title consumes the held copy;
+ * otherwise {@link HoldExpiryScheduler} expires the hold and the copy moves on to the next
+ * reservation. The queue lives in the {@code reservations} table, ordered by id, and the head
+ * rows are locked per title, so holds survive restarts and several nodes can allocate safely.
+ */
+@Service
+@Slf4j
+public class HoldQueueService {
+
+    /** A user's hold on a title. */
+    public record HoldKey(Long userId, Long bookId) {
+    }
+
+    private static final String STATUS_COLUMN_SQL = "SELECT COLUMN_TYPE FROM information_schema.COLUMNS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'reservations' AND COLUMN_NAME = 'status'";
+    private static final Set<Reservation.ReservationStatus> OPEN_STATUSES =
+            Set.of(Reservation.ReservationStatus.ACTIVE, Reservation.ReservationStatus.READY);
+
+    private final ReservationRepository reservationRepository;
+    private final BookRepository bookRepository;
+    private final UserRepository userRepository;
+    private final BorrowingRepository borrowingRepository;
+    private final BookInventoryService bookInventoryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final int pickupHours;
+    private final int maxWaitDays;
+
+    public HoldQueueService(ReservationRepository reservationRepository,
+                            BookRepository bookRepository,
+                            UserRepository userRepository,
+                            BorrowingRepository borrowingRepository,
+                            BookInventoryService bookInventoryService,
+                            ApplicationEventPublisher eventPublisher,
+                            JdbcTemplate jdbcTemplate,
+                            @Value("${app.holds.pickup-hours:48}") int pickupHours,
+                            @Value("${app.holds.max-wait-days:60}") int maxWaitDays) {
+        this.reservationRepository = reservationRepository;
+        this.bookRepository = bookRepository;
+        this.userRepository = userRepository;
+        this.borrowingRepository = borrowingRepository;
+        this.bookInventoryService = bookInventoryService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.pickupHours = pickupHours;
+        this.maxWaitDays = maxWaitDays;
+    }
+
+    /**
+     * Schema update does not alter existing columns, so a {@code reservations.status} enum
+     * created before the READY and EXPIRED statuses existed is widened here.
+     */
+    @PostConstruct
+    void upgradeStatusColumn() {
+        try {
+            List<String> type = jdbcTemplate.queryForList(STATUS_COLUMN_SQL, String.class);
+            if (type.isEmpty() || !type.get(0).startsWith("enum(") || type.get(0).contains("'READY'")) {
+                return;
+            }
+            String values = Arrays.stream(Reservation.ReservationStatus.values())
+                    .map(status -> "'" + status.name() + "'")
+                    .collect(Collectors.joining(","));
+            jdbcTemplate.execute("ALTER TABLE reservations MODIFY status ENUM(" + values + ") NOT NULL");
+            log.info("Widened reservations.status to {}", values);
+        } catch (DataAccessException e) {
+            log.warn("Could not check reservations.status: {}", e.getMessage());
+        }
+    }
+
+    @Transactional
+    public HoldDTO placeHold(Long userId, Long bookId) {
+        // Locking the user makes the duplicate check and the insert below atomic per user
+        User user = userRepository.lockById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+        Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found with ID: " + bookId));
+
+        if (book.getAvailableCopies() != null && book.getAvailableCopies() > 0) {
+            throw new InvalidOperationException("Book '" + book.getTitle() + "' has copies available; borrow it instead");
+        }
+        if (reservationRepository.existsByUserIdAndBookIdAndStatusIn(userId, bookId, OPEN_STATUSES)) {
+            throw new InvalidOperationException("You already have a hold on this book");
+        }
+        if (borrowingRepository.findFirstByUserAndBookAndStatusIn(user, book, Borrowing.ACTIVE_STATUSES).isPresent()) {
+            throw new InvalidOperationException("You have already borrowed this book");
+        }
+
+        Reservation reservation = reservationRepository.save(Reservation.builder()
+                .user(user)
+                .book(book)
+                .status(Reservation.ReservationStatus.ACTIVE)
+                .expirationDate(LocalDateTime.now().plusDays(maxWaitDays))
+                .build());
+        log.info("User {} joined the hold queue of book {}", userId, bookId);
+        return toDto(reservation);
+    }
+
+    @Transactional
+    public void cancelHold(Long userId, Long reservationId) {
+        Reservation reservation = reservationRepository.lockById(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold not found with ID: " + reservationId));
+        if (!reservation.getUser().getId().equals(userId)) {
+            throw new InvalidOperationException("Hold does not belong to the user");
+        }
+        if (!OPEN_STATUSES.contains(reservation.getStatus())) {
+            throw new InvalidOperationException("Hold is already " + reservation.getStatus());
+        }
+        boolean heldCopy = reservation.getStatus() == Reservation.ReservationStatus.READY;
+        reservation.setStatus(Reservation.ReservationStatus.CANCELLED);
+        if (heldCopy) {
+            passCopyOn(reservation.getBook().getId());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<HoldDTO> getUserHolds(Long userId) {
+        return reservationRepository.findByUserIdWithBook(userId).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    /**
+     * Hands up to {@code copies} just-returned copies of a title to the head of its queue.
+     * Must run in the transaction that returned the copies. Returns the number of holds made ready.
+     */
+    @Transactional
+    public int allocate(Long bookId, int copies) {
+        List<Reservation> head = reservationRepository.lockQueueHead(
+                bookId, Reservation.ReservationStatus.ACTIVE, PageRequest.of(0, copies));
+        int allocated = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (Reservation reservation : head) {
+            if (!bookInventoryService.tryReserve(bookId, 1)) {
+                break;
+            }
+            reservation.setStatus(Reservation.ReservationStatus.READY);
+            reservation.setReadyAt(now);
+            reservation.setExpirationDate(now.plusHours(pickupHours));
+            eventPublisher.publishEvent(new HoldReadyEvent(this, reservation.getId(), bookId, reservation.getExpirationDate()));
+            allocated++;
+        }
+        if (allocated > 0) {
+            log.info("Held {} returned copies of book {} for the hold queue", allocated, bookId);
+        }
+        return allocated;
+    }
+
+    /**
+     * Consumes the user's ready hold on a title, if any. Returns true when a held copy was
+     * claimed, in which case the caller must not take another copy from inventory.
+     */
+    @Transactional
+    public boolean claimHold(Long userId, Long bookId) {
+        return reservationRepository.lockByUserAndBook(userId, bookId, Reservation.ReservationStatus.READY)
+                .map(reservation -> {
+                    reservation.setStatus(Reservation.ReservationStatus.FULFILLED);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * Bulk form of {@link #claimHold}: locks the ready holds of the given titles in one query
+     * and claims those matching a requested user and title. Returns the pairs that were claimed.
+     */
+    @Transactional
+    public Set<HoldKey> claimHolds(Collection<HoldKey> requested) {
+        if (requested.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> bookIds = requested.stream().map(HoldKey::bookId).collect(Collectors.toSet());
+        Set<HoldKey> wanted = new HashSet<>(requested);
+        Set<HoldKey> claimed = new HashSet<>();
+        for (Reservation reservation : reservationRepository.lockByBookIds(bookIds, Reservation.ReservationStatus.READY)) {
+            HoldKey key = new HoldKey(reservation.getUser().getId(), reservation.getBook().getId());
+            if (wanted.contains(key) && claimed.add(key)) {
+                reservation.setStatus(Reservation.ReservationStatus.FULFILLED);
+            }
+        }
+        return claimed;
+    }
+
+    /** Expires a ready hold whose pickup window has closed and passes its copy on. */
+    @Transactional
+    public boolean expireHold(Long reservationId) {
+        Reservation reservation = reservationRepository.lockById(reservationId).orElse(null);
+        if (reservation == null
+                || reservation.getStatus() != Reservation.ReservationStatus.READY
+                || reservation.getExpirationDate().isAfter(LocalDateTime.now())) {
+            return false;
+        }
+        reservation.setStatus(Reservation.ReservationStatus.EXPIRED);
+        passCopyOn(reservation.getBook().getId());
+        log.info("Hold {} on book {} expired unclaimed", reservationId, reservation.getBook().getId());
+        return true;
+    }
+
+    /** Expires waiting reservations that exceeded the maximum wait. They hold no copies. */
+    @Transactional
+    public int expireStaleWaiting() {
+        return reservationRepository.expireAll(Reservation.ReservationStatus.ACTIVE,
+                Reservation.ReservationStatus.EXPIRED, LocalDateTime.now());
+    }
+
+    private void passCopyOn(Long bookId) {
+        bookInventoryService.release(bookId, 1);
+        allocate(bookId, 1);
+    }
+
+    private HoldDTO toDto(Reservation reservation) {
+        Long position = reservation.getStatus() == Reservation.ReservationStatus.ACTIVE
+                ? reservationRepository.countByBookIdAndStatusAndIdLessThan(
+                        reservation.getBook().getId(), Reservation.ReservationStatus.ACTIVE, reservation.getId())
+                : null;
+        return HoldDTO.builder()
+                .id(reservation.getId())
+                .userId(reservation.getUser().getId())
+                .bookId(reservation.getBook().getId())
+                .bookTitle(reservation.getBook().getTitle())
+                .status(reservation.getStatus())
+                .reservationDate(reservation.getReservationDate())
+                .readyAt(reservation.getReadyAt())
+                .expirationDate(reservation.getExpirationDate())
+                .queuePosition(position)
+                .build();
+    }
+}
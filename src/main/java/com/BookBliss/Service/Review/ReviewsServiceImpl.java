@@ -14,6 +14,7 @@ import com.BookBliss.Repository.BookRepository;
 import com.BookBliss.Repository.JournalRepository;
 import com.BookBliss.Repository.ReviewsRepository;
 import com.BookBliss.Repository.UserRepository;
+import com.BookBliss.Service.Book.BookStatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,8 +32,10 @@ public class ReviewsServiceImpl implements ReviewsSection {
     private final JournalRepository journalRepository;
 
     private final ReviewsMapper reviewsMapper;
+    private final BookStatsService bookStatsService;
 
     @Override
+    @Transactional
     public ReviewsResponseDTO createReview(ReviewsDTO reviewDTO) {
         Reviews review = new Reviews();
 
@@ -60,6 +63,9 @@ public class ReviewsServiceImpl implements ReviewsSection {
         review.setComment(reviewDTO.getComment());
 
         Reviews savedReview = reviewRepository.save(review);
+        if (savedReview.getBook() != null) {
+            bookStatsService.recordReviewAdded(savedReview.getBook().getId(), savedReview.getRating());
+        }
         return reviewsMapper.toResponseDTO(savedReview);
     }
 
@@ -113,10 +119,14 @@ public class ReviewsServiceImpl implements ReviewsSection {
     }
 
     @Override
+    @Transactional
     public ReviewsResponseDTO updateReview(Long id, ReviewsDTO reviewDTO) {
         Reviews review = reviewRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
 
+        Long previousBookId = review.getBook() != null ? review.getBook().getId() : null;
+        Integer previousRating = review.getRating();
+
         if (reviewDTO.getUserId() != null) {
             User user = userRepository.findById(reviewDTO.getUserId())
                     .orElseThrow(() -> new UserNotFoundException("User not found with id: " + reviewDTO.getUserId()));
@@ -143,15 +153,33 @@ public class ReviewsServiceImpl implements ReviewsSection {
         review.setComment(reviewDTO.getComment());
 
         Reviews updatedReview = reviewRepository.save(review);
+        updateBookStats(previousBookId, previousRating, updatedReview);
         return reviewsMapper.toResponseDTO(updatedReview);
     }
 
     @Override
+    @Transactional
     public void deleteReview(Long id) {
-        if (!reviewRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Review not found with id: " + id);
+        Reviews review = reviewRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
+        reviewRepository.delete(review);
+        if (review.getBook() != null) {
+            bookStatsService.recordReviewRemoved(review.getBook().getId(), review.getRating());
+        }
+    }
+
+    private void updateBookStats(Long previousBookId, Integer previousRating, Reviews updated) {
+        Long newBookId = updated.getBook() != null ? updated.getBook().getId() : null;
+        if (previousBookId != null && previousBookId.equals(newBookId)) {
+            bookStatsService.recordRatingChanged(newBookId, previousRating, updated.getRating());
+            return;
+        }
+        if (previousBookId != null) {
+            bookStatsService.recordReviewRemoved(previousBookId, previousRating);
+        }
+        if (newBookId != null) {
+            bookStatsService.recordReviewAdded(newBookId, updated.getRating());
         }
-        reviewRepository.deleteById(id);
     }
 
     @Transactional(readOnly = true)
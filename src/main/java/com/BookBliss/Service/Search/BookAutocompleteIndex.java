@@ -0,0 +1,366 @@
+package com.BookBliss.Service.Search;
+
+import com.BookBliss.DTO.Books.BookStatsDTO;
+import com.BookBliss.Service.Book.BookStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Popularity-weighted prefix trie for per-keystroke autocomplete.
+ * <p>
+ * Every book is inserted under its normalized title and author, each of their suffixes starting
+ * at a word boundary, and its ISBN. Each node caches the top {@value #TOP_K} books of its
+ * subtree, so a lookup is a walk down the typed prefix followed by a copy of that list.
+ * Inserts and removals only recompute the caches on the affected path. Weights come from the
+ * {@code book_stats} projection and are refreshed periodically. Full rebuilds run without the
+ * lock and replay the changes made while they ran before swapping the new trie in.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookAutocompleteIndex implements BookCatalogIndex {
+
+    static final int TOP_K = 10;
+    private static final int MAX_WORD_SUFFIXES = 6;
+
+    private final BookStatsService bookStatsService;
+
+    /** A book's new entry; a null book means it was removed. */
+    private record Change(IndexedBook book, List<String> keys, double weight) {
+        static final Change REMOVED = new Change(null, List.of(), 0);
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+    private Node root = new Node();
+    private Map<Long, IndexedBook> books = new HashMap<>();
+    private Map<Long, List<String>> keysByBook = new HashMap<>();
+    // Non-null while a rebuild runs; index and remove calls are recorded here for replay
+    private Map<Long, Change> changesDuringRebuild;
+
+    @Override
+    public void rebuild(Collection<IndexedBook> catalog) {
+        synchronized (rebuildMonitor) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = new HashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            build(catalog);
+        }
+    }
+
+    @Override
+    public void index(IndexedBook book) {
+        BookStatsDTO stats = bookStatsService.getStats(List.of(book.getId())).get(book.getId());
+        double weight = popularity(book, stats);
+        List<String> keys = keysOf(book);
+
+        lock.writeLock().lock();
+        try {
+            apply(root, books, keysByBook, book.getId(), new Change(book, keys, weight));
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(book.getId(), new Change(book, keys, weight));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            apply(root, books, keysByBook, bookId, Change.REMOVED);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(bookId, Change.REMOVED);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Most popular books whose title, author or ISBN starts with the typed prefix. */
+    public List<IndexedBook> complete(String prefix, int limit) {
+        String key = SearchTokenizer.toKey(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            int count = Math.min(limit, node.topIds.length);
+            List<IndexedBook> completions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                completions.add(books.get(node.topIds[i]));
+            }
+            return completions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Re-reads popularity from {@code book_stats} and rebuilds the trie off to the side. */
+    @Scheduled(fixedDelayString = "${app.autocomplete.reweight-interval-ms:900000}",
+            initialDelayString = "${app.autocomplete.reweight-interval-ms:900000}")
+    public void reweight() {
+        synchronized (rebuildMonitor) {
+            List<IndexedBook> catalog;
+            lock.writeLock().lock();
+            try {
+                if (books.isEmpty()) {
+                    return;
+                }
+                catalog = new ArrayList<>(books.values());
+                changesDuringRebuild = new HashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            build(catalog);
+            log.debug("Reweighted autocomplete trie over {} books", catalog.size());
+        }
+    }
+
+    /**
+     * Builds a new trie from {@code catalog} without holding the lock, then swaps it in after
+     * replaying the index and remove calls that arrived meanwhile, which the catalog may predate.
+     */
+    private void build(Collection<IndexedBook> catalog) {
+        Node newRoot = new Node();
+        Map<Long, IndexedBook> newBooks = new HashMap<>();
+        Map<Long, List<String>> newKeys = new HashMap<>();
+        try {
+            Map<Long, BookStatsDTO> stats = bookStatsService.getAllStats();
+            for (IndexedBook book : catalog) {
+                double weight = popularity(book, stats.get(book.getId()));
+                List<String> keys = keysOf(book);
+                newBooks.put(book.getId(), book);
+                newKeys.put(book.getId(), keys);
+                keys.forEach(key -> insert(newRoot, key, book.getId(), weight, false));
+            }
+            // Fill the top-k caches bottom-up once instead of along every inserted path
+            newRoot.recomputeTopRecursively();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.forEach((bookId, change) -> apply(newRoot, newBooks, newKeys, bookId, change));
+            changesDuringRebuild = null;
+            root = newRoot;
+            books = newBooks;
+            keysByBook = newKeys;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Replaces or removes one book in the given trie. Callers hold the write lock or own the trie. */
+    private void apply(Node trieRoot, Map<Long, IndexedBook> bookMap, Map<Long, List<String>> keyMap,
+                       Long bookId, Change change) {
+        List<String> oldKeys = keyMap.remove(bookId);
+        if (oldKeys != null) {
+            oldKeys.forEach(key -> delete(trieRoot, key, bookId));
+        }
+        if (change.book() == null) {
+            bookMap.remove(bookId);
+            return;
+        }
+        bookMap.put(bookId, change.book());
+        keyMap.put(bookId, change.keys());
+        change.keys().forEach(key -> insert(trieRoot, key, bookId, change.weight(), true));
+    }
+
+    private List<String> keysOf(IndexedBook book) {
+        Set<String> keys = new LinkedHashSet<>();
+        addWithWordSuffixes(keys, SearchTokenizer.toKey(book.getTitle()));
+        addWithWordSuffixes(keys, SearchTokenizer.toKey(book.getAuthor()));
+        String isbn = SearchTokenizer.toKey(book.getIsbn());
+        if (!isbn.isEmpty()) {
+            keys.add(isbn);
+        }
+        return new ArrayList<>(keys);
+    }
+
+    /** Adds the key plus every suffix starting at a word boundary, so "rowl" finds "j k rowling". */
+    private void addWithWordSuffixes(Set<String> keys, String key) {
+        if (key.isEmpty()) {
+            return;
+        }
+        keys.add(key);
+        int suffixes = 0;
+        for (int i = key.indexOf(' '); i >= 0 && suffixes < MAX_WORD_SUFFIXES; i = key.indexOf(' ', i + 1)) {
+            keys.add(key.substring(i + 1));
+            suffixes++;
+        }
+    }
+
+    private double popularity(IndexedBook book, BookStatsDTO stats) {
+        double weight = 1.0;
+        if (stats != null) {
+            weight += 2.0 * Math.log1p(stats.getBorrowCount())
+                    + Math.log1p(stats.getWishlistCount())
+                    + Math.log1p(stats.getRatingCount()) * stats.getAverageRating() / 5.0;
+        }
+        if (book.getAvailableCopies() > 0) {
+            weight += 0.5;
+        }
+        return weight;
+    }
+
+    private void insert(Node trieRoot, String key, Long bookId, double weight, boolean updateTop) {
+        Node[] path = new Node[key.length() + 1];
+        Node node = trieRoot;
+        path[0] = node;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            path[i + 1] = node;
+        }
+        if (node.terminals == null) {
+            node.terminals = new HashMap<>(2);
+        }
+        node.terminals.put(bookId, weight);
+        if (updateTop) {
+            for (int i = path.length - 1; i >= 0; i--) {
+                path[i].recomputeTop();
+            }
+        }
+    }
+
+    private void delete(Node trieRoot, String key, Long bookId) {
+        Node[] path = new Node[key.length() + 1];
+        Node node = trieRoot;
+        path[0] = node;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.child(key.charAt(i));
+            if (node == null) {
+                return;
+            }
+            path[i + 1] = node;
+        }
+        if (node.terminals != null) {
+            node.terminals.remove(bookId);
+            if (node.terminals.isEmpty()) {
+                node.terminals = null;
+            }
+        }
+        for (int i = path.length - 1; i >= 0; i--) {
+            if (i > 0 && path[i].isEmpty()) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            } else {
+                path[i].recomputeTop();
+            }
+        }
+    }
+
+    /** Trie node with sorted child arrays and a cached top-k of its subtree. */
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final long[] NO_IDS = new long[0];
+        private static final double[] NO_WEIGHTS = new double[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private Map<Long, Double> terminals;
+        private long[] topIds = NO_IDS;
+        private double[] topWeights = NO_WEIGHTS;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int insertAt = -i - 1;
+            Node created = new Node();
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = created;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return created;
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(keys, i + 1, newKeys, i, keys.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return terminals == null && children.length == 0;
+        }
+
+        void recomputeTopRecursively() {
+            for (Node child : children) {
+                child.recomputeTopRecursively();
+            }
+            recomputeTop();
+        }
+
+        /** Merges own terminals with the children's cached lists, keeping the best weight per book. */
+        void recomputeTop() {
+            Map<Long, Double> candidates = new HashMap<>();
+            if (terminals != null) {
+                terminals.forEach((id, w) -> candidates.merge(id, w, Math::max));
+            }
+            for (Node child : children) {
+                for (int i = 0; i < child.topIds.length; i++) {
+                    candidates.merge(child.topIds[i], child.topWeights[i], Math::max);
+                }
+            }
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(candidates.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey()));
+            int size = Math.min(TOP_K, ranked.size());
+            long[] ids = new long[size];
+            double[] ws = new double[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = ranked.get(i).getKey();
+                ws[i] = ranked.get(i).getValue();
+            }
+            topIds = ids;
+            topWeights = ws;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.BookBliss.Service.Search;
+
+import java.util.Collection;
+
+/**
+ * An in-memory structure derived from the book catalog. Implementations are kept current by
+ * {@link BookCatalogIndexer}, which performs the full load at startup and forwards every
+ * committed book change.
+ */
+public interface BookCatalogIndex {
+
+    /** Replaces the whole index content with the given books. */
+    void rebuild(Collection<IndexedBook> books);
+
+    /** Adds the book or replaces its previous version. */
+    void index(IndexedBook book);
+
+    void remove(Long bookId);
+}
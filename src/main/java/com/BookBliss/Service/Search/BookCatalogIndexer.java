@@ -0,0 +1,70 @@
+package com.BookBliss.Service.Search;
+
+import com.BookBliss.Entity.Book;
+import com.BookBliss.Events.Books.BookChangedEvent;
+import com.BookBliss.Repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the catalog from {@link BookRepository} once at startup and keeps every
+ * {@link BookCatalogIndex} current by applying committed {@link BookChangedEvent}s.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookCatalogIndexer {
+
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private final BookRepository bookRepository;
+    private final List<BookCatalogIndex> indexes;
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        List<IndexedBook> books = new ArrayList<>();
+        long lastId = 0L;
+        while (true) {
+            List<Long> ids = bookRepository.findIdsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            bookRepository.findAllWithCategoriesByIdIn(ids).forEach(book -> books.add(IndexedBook.from(book)));
+            lastId = ids.get(ids.size() - 1);
+        }
+        indexes.forEach(index -> index.rebuild(books));
+        ready = true;
+        log.info("Built {} catalog indexes over {} books in {} ms",
+                indexes.size(), books.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.getChangeType() == BookChangedEvent.ChangeType.DELETED) {
+            indexes.forEach(index -> index.remove(event.getBookId()));
+            return;
+        }
+        List<Book> books = bookRepository.findAllWithCategoriesByIdIn(List.of(event.getBookId()));
+        if (books.isEmpty()) {
+            indexes.forEach(index -> index.remove(event.getBookId()));
+            return;
+        }
+        IndexedBook indexed = IndexedBook.from(books.get(0));
+        indexes.forEach(index -> index.index(indexed));
+    }
+}
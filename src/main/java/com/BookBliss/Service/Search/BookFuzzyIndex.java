@@ -0,0 +1,260 @@
+package com.BookBliss.Service.Search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typo-tolerant matching over title and author words.
+ * <p>
+ * Every distinct word is indexed by its padded trigrams. A query word collects the vocabulary
+ * words sharing enough trigrams to possibly lie within the allowed edit distance (q-gram
+ * lemma), and only those candidates are verified with a bounded Damerau-Levenshtein distance
+ * (adjacent transpositions count as one edit). Very short words share too few trigrams for the
+ * filter to be sound, so they are checked against the words of similar length instead.
+ */
+@Component
+public class BookFuzzyIndex implements BookCatalogIndex {
+
+    private static final int GRAM = 3;
+    private static final double TITLE_WEIGHT = 2.0;
+    private static final double AUTHOR_WEIGHT = 1.5;
+
+    private record Match(Long bookId, int matchedTokens, double score) {
+    }
+
+    private final int maxEdits;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, IndexedBook> books = new HashMap<>();
+    private Map<Long, Set<String>> termsByBook = new HashMap<>();
+    private Map<String, Map<Long, Double>> termPostings = new HashMap<>();
+    private Map<String, Set<String>> gramIndex = new HashMap<>();
+    private Map<Integer, Set<String>> termsByLength = new HashMap<>();
+
+    public BookFuzzyIndex(@Value("${app.search.fuzzy.max-edits:2}") int maxEdits) {
+        this.maxEdits = Math.max(0, maxEdits);
+    }
+
+    @Override
+    public void rebuild(Collection<IndexedBook> catalog) {
+        BookFuzzyIndex fresh = new BookFuzzyIndex(maxEdits);
+        catalog.forEach(fresh::add);
+
+        lock.writeLock().lock();
+        try {
+            books = fresh.books;
+            termsByBook = fresh.termsByBook;
+            termPostings = fresh.termPostings;
+            gramIndex = fresh.gramIndex;
+            termsByLength = fresh.termsByLength;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(IndexedBook book) {
+        lock.writeLock().lock();
+        try {
+            removeBook(book.getId());
+            add(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeBook(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Books whose title or author words are within the configured edit distance of the query
+     * words. Books matching more query words rank first, then closer and title matches.
+     */
+    public List<IndexedBook> search(String query, int limit) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, double[]> accumulators = new HashMap<>();
+            for (String token : tokens) {
+                Map<Long, Double> tokenScores = new HashMap<>();
+                int allowed = allowedEdits(token);
+                for (String term : candidates(token, allowed)) {
+                    int distance = distance(token, term, allowed);
+                    if (distance > allowed) {
+                        continue;
+                    }
+                    double similarity = 1.0 - (double) distance / (Math.max(token.length(), term.length()) + 1);
+                    termPostings.get(term).forEach((bookId, weight) ->
+                            tokenScores.merge(bookId, weight * similarity, Math::max));
+                }
+                tokenScores.forEach((bookId, score) -> {
+                    double[] acc = accumulators.computeIfAbsent(bookId, id -> new double[2]);
+                    acc[0] += 1;
+                    acc[1] += score;
+                });
+            }
+
+            List<Match> matches = new ArrayList<>(accumulators.size());
+            accumulators.forEach((bookId, acc) -> matches.add(new Match(bookId, (int) acc[0], acc[1])));
+            matches.sort(Comparator.comparingInt(Match::matchedTokens).reversed()
+                    .thenComparing(Comparator.comparingDouble(Match::score).reversed())
+                    .thenComparing(Match::bookId));
+            return matches.stream().limit(limit).map(match -> books.get(match.bookId())).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Shorter words tolerate fewer edits so that e.g. "cat" does not match every three-letter word. */
+    private int allowedEdits(String token) {
+        int byLength = token.length() <= 2 ? 0 : token.length() <= 5 ? 1 : 2;
+        return Math.min(maxEdits, byLength);
+    }
+
+    private Collection<String> candidates(String token, int allowed) {
+        if (allowed == 0) {
+            return termPostings.containsKey(token) ? List.of(token) : List.of();
+        }
+
+        Set<String> grams = grams(token);
+        // A substitution touches at most GRAM padded q-grams, an adjacent transposition GRAM + 1
+        int minShared = grams.size() - (GRAM + 1) * allowed;
+        if (minShared <= 0) {
+            List<String> sameLength = new ArrayList<>();
+            for (int length = token.length() - allowed; length <= token.length() + allowed; length++) {
+                sameLength.addAll(termsByLength.getOrDefault(length, Set.of()));
+            }
+            return sameLength;
+        }
+
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            for (String term : gramIndex.getOrDefault(gram, Set.of())) {
+                if (Math.abs(term.length() - token.length()) <= allowed) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+        List<String> candidates = new ArrayList<>();
+        shared.forEach((term, count) -> {
+            if (count >= minShared) {
+                candidates.add(term);
+            }
+        });
+        return candidates;
+    }
+
+    /**
+     * Optimal string alignment distance, abandoned as soon as every cell of a row exceeds
+     * {@code bound}. Returns {@code bound + 1} in that case.
+     */
+    static int distance(String a, String b, int bound) {
+        if (Math.abs(a.length() - b.length()) > bound) {
+            return bound + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], bound + 1);
+    }
+
+    private static Set<String> grams(String term) {
+        String padded = "$" + term + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private void add(IndexedBook book) {
+        Map<String, Double> weights = new HashMap<>();
+        for (String token : SearchTokenizer.tokenize(book.getTitle())) {
+            weights.merge(token, TITLE_WEIGHT, Math::max);
+        }
+        for (String token : SearchTokenizer.tokenize(book.getAuthor())) {
+            weights.merge(token, AUTHOR_WEIGHT, Math::max);
+        }
+
+        books.put(book.getId(), book);
+        termsByBook.put(book.getId(), weights.keySet());
+        weights.forEach((term, weight) -> {
+            Map<Long, Double> posting = termPostings.get(term);
+            if (posting == null) {
+                posting = new HashMap<>();
+                termPostings.put(term, posting);
+                for (String gram : grams(term)) {
+                    gramIndex.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+                }
+                termsByLength.computeIfAbsent(term.length(), l -> new HashSet<>()).add(term);
+            }
+            posting.put(book.getId(), weight);
+        });
+    }
+
+    private void removeBook(Long bookId) {
+        books.remove(bookId);
+        Set<String> terms = termsByBook.remove(bookId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Double> posting = termPostings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            posting.remove(bookId);
+            if (posting.isEmpty()) {
+                termPostings.remove(term);
+                for (String gram : grams(term)) {
+                    Set<String> gramTerms = gramIndex.get(gram);
+                    if (gramTerms != null && gramTerms.remove(term) && gramTerms.isEmpty()) {
+                        gramIndex.remove(gram);
+                    }
+                }
+                Set<String> sameLength = termsByLength.get(term.length());
+                if (sameLength != null && sameLength.remove(term) && sameLength.isEmpty()) {
+                    termsByLength.remove(term.length());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.BookBliss.Service.Search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the book catalog with BM25 ranking.
+ * <p>
+ * Title, author, ISBN, category names, publisher and description are tokenized into one
+ * posting list per term, weighting each occurrence by its field. Query tokens match terms
+ * exactly or by prefix (prefix expansions score slightly lower), so partially typed words
+ * still find their books. Reads share a lock; updates replace a single document.
+ */
+@Component
+public class BookSearchIndex implements BookCatalogIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_MATCH_FACTOR = 0.7;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private enum Field {
+        TITLE(3.0), AUTHOR(2.0), ISBN(2.0), CATEGORY(1.5), PUBLISHER(1.0), DESCRIPTION(0.5);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    /** A document together with the weighted term frequencies it contributed to the postings. */
+    private record Document(IndexedBook book, Map<String, Double> termWeights, double length) {
+    }
+
+    private record ScoredBook(IndexedBook book, int matchedTokens, double score) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Document> documents = new HashMap<>();
+    private NavigableMap<String, Map<Long, Double>> postings = new TreeMap<>();
+    private double totalLength;
+
+    @Override
+    public void rebuild(Collection<IndexedBook> books) {
+        Map<Long, Document> newDocuments = new HashMap<>();
+        NavigableMap<String, Map<Long, Double>> newPostings = new TreeMap<>();
+        double newTotalLength = 0;
+        for (IndexedBook book : books) {
+            Document document = analyze(book);
+            newDocuments.put(book.getId(), document);
+            addPostings(newPostings, document);
+            newTotalLength += document.length();
+        }
+
+        lock.writeLock().lock();
+        try {
+            documents = newDocuments;
+            postings = newPostings;
+            totalLength = newTotalLength;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(IndexedBook book) {
+        Document document = analyze(book);
+        lock.writeLock().lock();
+        try {
+            removeDocument(book.getId());
+            documents.put(book.getId(), document);
+            addPostings(postings, document);
+            totalLength += document.length();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<IndexedBook> get(Long bookId) {
+        lock.readLock().lock();
+        try {
+            Document document = documents.get(bookId);
+            return Optional.ofNullable(document).map(Document::book);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search.
+     *
+     * @param query      free text, matched token by token
+     * @param limit      maximum number of results
+     * @param requireAll when true only books matching every query token are returned,
+     *                   otherwise books matching more tokens rank first
+     */
+    public List<IndexedBook> search(String query, int limit, boolean requireAll) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = totalLength / documentCount;
+
+            Map<Long, double[]> accumulators = new HashMap<>();
+            for (String token : tokens) {
+                Map<Long, Double> tokenScores = scoreToken(token, documentCount, averageLength);
+                tokenScores.forEach((bookId, score) -> {
+                    double[] acc = accumulators.computeIfAbsent(bookId, id -> new double[2]);
+                    acc[0] += 1;
+                    acc[1] += score;
+                });
+            }
+
+            int required = requireAll ? tokens.size() : 1;
+            List<ScoredBook> scored = new ArrayList<>();
+            accumulators.forEach((bookId, acc) -> {
+                if (acc[0] >= required) {
+                    scored.add(new ScoredBook(documents.get(bookId).book(), (int) acc[0], acc[1]));
+                }
+            });
+
+            scored.sort(Comparator.comparingInt(ScoredBook::matchedTokens).reversed()
+                    .thenComparing(Comparator.comparingDouble(ScoredBook::score).reversed())
+                    .thenComparing(Comparator.comparingInt((ScoredBook s) -> s.book().getAvailableCopies()).reversed()));
+
+            return scored.stream().limit(limit).map(ScoredBook::book).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Best BM25 score per document for one query token, over the exact term and its prefix expansions. */
+    private Map<Long, Double> scoreToken(String token, int documentCount, double averageLength) {
+        Map<Long, Double> scores = new HashMap<>();
+        Map<Long, Double> exact = postings.get(token);
+        if (exact != null) {
+            accumulateBm25(scores, exact, 1.0, documentCount, averageLength);
+        }
+
+        int expansions = 0;
+        for (Map.Entry<String, Map<Long, Double>> entry :
+                postings.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+            if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            accumulateBm25(scores, entry.getValue(), PREFIX_MATCH_FACTOR, documentCount, averageLength);
+        }
+        return scores;
+    }
+
+    private void accumulateBm25(Map<Long, Double> scores, Map<Long, Double> posting, double factor,
+                                int documentCount, double averageLength) {
+        int df = posting.size();
+        double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+        posting.forEach((bookId, tf) -> {
+            double length = documents.get(bookId).length();
+            double norm = tf + K1 * (1 - B + B * length / averageLength);
+            double score = factor * idf * tf * (K1 + 1) / norm;
+            scores.merge(bookId, score, Math::max);
+        });
+    }
+
+    private Document analyze(IndexedBook book) {
+        Map<String, Double> termWeights = new HashMap<>();
+        addField(termWeights, Field.TITLE, book.getTitle());
+        addField(termWeights, Field.AUTHOR, book.getAuthor());
+        addField(termWeights, Field.ISBN, book.getIsbn());
+        addField(termWeights, Field.PUBLISHER, book.getPublisher());
+        addField(termWeights, Field.DESCRIPTION, book.getDescription());
+        for (String category : book.getCategories()) {
+            addField(termWeights, Field.CATEGORY, category);
+        }
+        double length = termWeights.values().stream().mapToDouble(Double::doubleValue).sum();
+        return new Document(book, termWeights, Math.max(length, 1.0));
+    }
+
+    private void addField(Map<String, Double> termWeights, Field field, String text) {
+        for (String token : SearchTokenizer.tokenize(text)) {
+            termWeights.merge(token, field.weight, Double::sum);
+        }
+    }
+
+    private void addPostings(NavigableMap<String, Map<Long, Double>> target, Document document) {
+        Long bookId = document.book().getId();
+        document.termWeights().forEach((term, weight) ->
+                target.computeIfAbsent(term, t -> new HashMap<>()).put(bookId, weight));
+    }
+
+    private void removeDocument(Long bookId) {
+        Document previous = documents.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= previous.length();
+        for (String term : previous.termWeights().keySet()) {
+            Map<Long, Double> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(bookId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
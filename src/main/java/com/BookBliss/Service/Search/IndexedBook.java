@@ -0,0 +1,46 @@
+package com.BookBliss.Service.Search;
+
+import com.BookBliss.DTO.Books.BookSearchResponse;
+import com.BookBliss.Entity.Book;
+import com.BookBliss.Entity.Category;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of the searchable part of a {@link Book}, detached from the persistence context.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class IndexedBook {
+    private final Long id;
+    private final String title;
+    private final String author;
+    private final String isbn;
+    private final String publisher;
+    private final String description;
+    private final List<String> categories;
+    private final int availableCopies;
+
+    public static IndexedBook from(Book book) {
+        List<String> categoryNames = book.getCategories() == null ? List.of() :
+                book.getCategories().stream().map(Category::getName).toList();
+        return IndexedBook.builder()
+                .id(book.getId())
+                .title(book.getTitle())
+                .author(book.getAuthor())
+                .isbn(book.getIsbn())
+                .publisher(book.getPublisher())
+                .description(book.getDescription())
+                .categories(categoryNames)
+                .availableCopies(book.getAvailableCopies() != null ? book.getAvailableCopies() : 0)
+                .build();
+    }
+
+    public BookSearchResponse toSearchResponse() {
+        return new BookSearchResponse(id, title, author, isbn);
+    }
+}
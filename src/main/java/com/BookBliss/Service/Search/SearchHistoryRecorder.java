@@ -0,0 +1,242 @@
+package com.BookBliss.Service.Search;
+
+import com.BookBliss.Entity.SearchHistory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for search history.
+ * <p>
+ * Searches only bump an in-memory counter per (user, term); nothing is written on the request
+ * thread. A scheduled flush drains the buffer and applies every pending counter with one
+ * batched {@code INSERT ... ON DUPLICATE KEY UPDATE}, relying on the unique
+ * {@code (user_id, search_term)} key of {@code search_history}. The increment happens in SQL, so
+ * concurrent nodes never lose counts. When the buffer is full new terms are dropped and counted.
+ * Terms are cut to the column length when recorded, so one long search cannot fail a batch.
+ * <p>
+ * Each user's latest terms are also kept in a small in-memory list, so the search-as-you-type
+ * response can show them without a query per keystroke. A list is read from the table once, when
+ * the user is first seen, and then follows the searches recorded here; searches made on another
+ * node show up once the local list has expired.
+ */
+@Component
+@Slf4j
+public class SearchHistoryRecorder {
+
+    private static final String UPSERT_SQL = "INSERT INTO search_history (user_id, search_term, search_count, searched_at) " +
+            "VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE search_count = search_count + VALUES(search_count), " +
+            "searched_at = GREATEST(searched_at, VALUES(searched_at))";
+
+    private static final String UNIQUE_KEY = "uk_search_history_user_term";
+    private static final String UNIQUE_KEY_EXISTS_SQL = "SELECT COUNT(*) FROM information_schema.STATISTICS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'search_history' AND INDEX_NAME = ?";
+    private static final String MERGE_DUPLICATES_SQL = "UPDATE search_history s JOIN (" +
+            "SELECT MIN(id) AS id, SUM(search_count) AS total, MAX(searched_at) AS last_searched_at " +
+            "FROM search_history GROUP BY user_id, search_term HAVING COUNT(*) > 1) d ON s.id = d.id " +
+            "SET s.search_count = d.total, s.searched_at = d.last_searched_at";
+    private static final String DELETE_DUPLICATES_SQL = "DELETE s FROM search_history s JOIN search_history k " +
+            "ON s.user_id = k.user_id AND s.search_term = k.search_term AND s.id > k.id";
+
+    public static final int RECENT_TERMS = 10;
+
+    private static final String RECENT_TERMS_SQL = "SELECT search_term FROM search_history WHERE user_id = ? " +
+            "ORDER BY searched_at DESC LIMIT ?";
+
+    private record Key(Long userId, String term) {
+    }
+
+    /** A user's latest distinct terms, newest first. Guarded by its own monitor. */
+    private static final class RecentTerms {
+        private final ArrayDeque<String> terms = new ArrayDeque<>(RECENT_TERMS + 1);
+        private boolean loaded;
+
+        private void push(String term) {
+            terms.remove(term);
+            terms.addFirst(term);
+            if (terms.size() > RECENT_TERMS) {
+                terms.removeLast();
+            }
+        }
+
+        /** Adds an older term from the table behind the ones searched since the list was created. */
+        private void append(String term) {
+            if (terms.size() < RECENT_TERMS && !terms.contains(term)) {
+                terms.addLast(term);
+            }
+        }
+    }
+
+    /** Mutated only inside {@code compute}, so updates are serialized with the flush's {@code remove}. */
+    private static final class Pending {
+        private long count;
+        private LocalDateTime lastSearchedAt;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPendingTerms;
+    private final int batchSize;
+
+    private final ConcurrentHashMap<Key, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Cache<Long, RecentTerms> recentTerms;
+
+    public SearchHistoryRecorder(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.search-history.max-pending-terms:50000}") int maxPendingTerms,
+                                 @Value("${app.search-history.batch-size:500}") int batchSize,
+                                 @Value("${app.search-history.recent-users:10000}") long recentUsers,
+                                 @Value("${app.search-history.recent-expiry-minutes:30}") long recentExpiryMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.maxPendingTerms = maxPendingTerms;
+        this.batchSize = batchSize;
+        this.recentTerms = Caffeine.newBuilder()
+                .maximumSize(recentUsers)
+                .expireAfterAccess(Duration.ofMinutes(recentExpiryMinutes))
+                .build();
+    }
+
+    public void record(Long userId, String searchTerm) {
+        if (userId == null || searchTerm == null || searchTerm.isBlank()) {
+            return;
+        }
+        Key key = new Key(userId, SearchTokenizer.truncate(searchTerm.toLowerCase(), SearchHistory.MAX_TERM_LENGTH));
+        RecentTerms recent = recentTerms.get(userId, id -> new RecentTerms());
+        synchronized (recent) {
+            recent.push(key.term());
+        }
+        if (pending.size() >= maxPendingTerms && !pending.containsKey(key)) {
+            dropped.incrementAndGet();
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        pending.compute(key, (k, entry) -> {
+            Pending updated = entry != null ? entry : new Pending();
+            updated.count++;
+            updated.lastSearchedAt = now;
+            return updated;
+        });
+    }
+
+    /** The user's latest distinct search terms, newest first; only the first call per user reads the table. */
+    public List<String> recentSearches(Long userId) {
+        RecentTerms recent = recentTerms.get(userId, id -> new RecentTerms());
+        synchronized (recent) {
+            if (recent.loaded) {
+                return List.copyOf(recent.terms);
+            }
+        }
+        List<String> stored = jdbcTemplate.queryForList(RECENT_TERMS_SQL, String.class, userId, RECENT_TERMS);
+        synchronized (recent) {
+            if (!recent.loaded) {
+                stored.forEach(recent::append);
+                recent.loaded = true;
+            }
+            return List.copyOf(recent.terms);
+        }
+    }
+
+    /**
+     * Creates the unique key the upsert relies on when schema update could not, because the table
+     * already held duplicate (user, term) rows. Duplicates are merged into the oldest row first,
+     * summing their counts. Runs under a named lock so that nodes starting together merge once.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureUniqueKey() {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (PreparedStatement lock = connection.prepareStatement("SELECT GET_LOCK(?, 60)")) {
+                    lock.setString(1, UNIQUE_KEY);
+                    try (ResultSet result = lock.executeQuery()) {
+                        if (!result.next() || result.getInt(1) != 1) {
+                            log.warn("Could not lock search_history to create {}", UNIQUE_KEY);
+                            return null;
+                        }
+                    }
+                }
+                try {
+                    mergeDuplicatesAndAddKey();
+                } finally {
+                    try (PreparedStatement release = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                        release.setString(1, UNIQUE_KEY);
+                        release.execute();
+                    }
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.error("Could not create {} on search_history; search counts may be split across rows", UNIQUE_KEY, e);
+        }
+    }
+
+    private void mergeDuplicatesAndAddKey() {
+        Integer present = jdbcTemplate.queryForObject(UNIQUE_KEY_EXISTS_SQL, Integer.class, UNIQUE_KEY);
+        if (present != null && present > 0) {
+            return;
+        }
+        Integer merged = transactionTemplate.execute(status -> {
+            jdbcTemplate.update(MERGE_DUPLICATES_SQL);
+            return jdbcTemplate.update(DELETE_DUPLICATES_SQL);
+        });
+        jdbcTemplate.execute("ALTER TABLE search_history ADD CONSTRAINT " + UNIQUE_KEY + " UNIQUE (user_id, search_term)");
+        log.info("Created {} after merging {} duplicate search history rows", UNIQUE_KEY, merged);
+    }
+
+    @Scheduled(fixedDelayString = "${app.search-history.flush-interval-ms:2000}")
+    public void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Key key : pending.keySet()) {
+            // Searches arriving after the removal start a fresh entry and go out with the next flush
+            Pending entry = pending.remove(key);
+            if (entry != null) {
+                rows.add(new Object[]{key.userId(), key.term(), entry.count, Timestamp.valueOf(entry.lastSearchedAt)});
+            }
+        }
+
+        long droppedSinceLastFlush = dropped.getAndSet(0);
+        if (droppedSinceLastFlush > 0) {
+            log.warn("Search history buffer was full, dropped {} searches", droppedSinceLastFlush);
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, rows.subList(from, Math.min(from + batchSize, rows.size())));
+            }
+            log.debug("Flushed {} search history counters", rows.size());
+        } catch (Exception e) {
+            log.error("Failed to flush {} search history counters", rows.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,65 @@
+package com.BookBliss.Service.Search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes and tokenizes catalog text for the in-memory search structures.
+ * Text is lower-cased, accents are stripped, separators inside digit runs (ISBNs) are
+ * removed and everything else that is not a letter or digit splits tokens.
+ */
+public final class SearchTokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern DIGIT_SEPARATORS = Pattern.compile("(?<=\\d)[- ](?=\\d)");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "of", "the", "to", "in", "on", "for");
+
+    private SearchTokenizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    /**
+     * Normalized form used as an autocomplete key: all tokens, stop words included,
+     * joined by single spaces so that typed prefixes line up with stored keys.
+     */
+    public static String toKey(String text) {
+        return String.join(" ", tokenize(text, true));
+    }
+
+    /** Cuts text to at most {@code maxLength} chars for a VARCHAR column, without splitting a surrogate pair. */
+    public static String truncate(String text, int maxLength) {
+        if (text.length() <= maxLength) {
+            return text;
+        }
+        int end = Character.isHighSurrogate(text.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+        return text.substring(0, end);
+    }
+
+    private static List<String> tokenize(String text, boolean keepStopWords) {
+        List<String> tokens = new ArrayList<>();
+        String normalized = DIGIT_SEPARATORS.matcher(normalize(text)).replaceAll("");
+        for (String token : NON_ALPHANUMERIC.split(normalized)) {
+            if (!token.isEmpty() && (keepStopWords || !STOP_WORDS.contains(token))) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,188 @@
+package com.BookBliss.Service.Search;
+
+import com.BookBliss.Entity.TrendingSearch;
+import com.BookBliss.Repository.TrendingSearchRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Global trending search terms, kept in memory with the Space-Saving heavy-hitters algorithm.
+ * <p>
+ * At most {@code capacity} terms are tracked; a new term evicts the weakest one and inherits its
+ * score, which bounds the over-estimate of any term by the smallest tracked score. Scores decay
+ * exponentially with a configurable half-life using forward decay: later events simply weigh
+ * more, and all scores are rescaled once the weights grow large, so no periodic pass over the
+ * counters is needed. A user repeating a term only counts once per dedup window, so a single
+ * user cannot push a term to the top. Terms are cut to the {@code search_term} column length. The
+ * top terms are snapshotted to {@code trending_searches} and reloaded on startup.
+ */
+@Component
+@Slf4j
+public class TrendingSearchTracker {
+
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final double RESCALE_THRESHOLD = 1e12;
+
+    /** A tracked term. Ordered by score, then term, inside {@link #ranking}. */
+    private static final class Counter {
+        private final String term;
+        private double score;
+
+        private Counter(String term, double score) {
+            this.term = term;
+            this.score = score;
+        }
+    }
+
+    private static final Comparator<Counter> BY_SCORE = Comparator.<Counter>comparingDouble(c -> c.score)
+            .thenComparing(c -> c.term);
+
+    private final TrendingSearchRepository trendingSearchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int capacity;
+    private final double halfLifeMillis;
+    private final int snapshotSize;
+    private final Cache<String, Boolean> recentUserTerms;
+
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> ranking = new TreeSet<>(BY_SCORE);
+    private long landmarkMillis = System.currentTimeMillis();
+
+    public TrendingSearchTracker(TrendingSearchRepository trendingSearchRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.trending.capacity:1000}") int capacity,
+                                 @Value("${app.trending.half-life-minutes:360}") long halfLifeMinutes,
+                                 @Value("${app.trending.snapshot-size:100}") int snapshotSize,
+                                 @Value("${app.trending.user-dedup-minutes:30}") long userDedupMinutes) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("app.trending.capacity must be at least 1, was " + capacity);
+        }
+        this.trendingSearchRepository = trendingSearchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.capacity = capacity;
+        this.halfLifeMillis = Duration.ofMinutes(halfLifeMinutes).toMillis();
+        this.snapshotSize = snapshotSize;
+        this.recentUserTerms = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMinutes(userDedupMinutes))
+                .build();
+    }
+
+    public void record(Long userId, String searchTerm) {
+        String term = SearchTokenizer.truncate(SearchTokenizer.toKey(searchTerm), TrendingSearch.MAX_TERM_LENGTH);
+        if (term.length() < MIN_TERM_LENGTH) {
+            return;
+        }
+        if (userId != null && recentUserTerms.asMap().putIfAbsent(userId + ":" + term, Boolean.TRUE) != null) {
+            return;
+        }
+        synchronized (this) {
+            add(term, weightAt(System.currentTimeMillis()));
+        }
+    }
+
+    /** The {@code k} highest scoring terms, best first. */
+    public synchronized List<String> topTerms(int k) {
+        List<String> top = new ArrayList<>(Math.min(k, ranking.size()));
+        Iterator<Counter> iterator = ranking.descendingIterator();
+        while (iterator.hasNext() && top.size() < k) {
+            top.add(iterator.next().term);
+        }
+        return top;
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.snapshot-interval-ms:300000}",
+            initialDelayString = "${app.trending.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TrendingSearch> rows = new ArrayList<>();
+        synchronized (this) {
+            double scale = 1.0 / weightAt(System.currentTimeMillis());
+            Iterator<Counter> iterator = ranking.descendingIterator();
+            while (iterator.hasNext() && rows.size() < snapshotSize) {
+                Counter counter = iterator.next();
+                rows.add(TrendingSearch.builder()
+                        .searchTerm(counter.term)
+                        .score(counter.score * scale)
+                        .snapshotAt(now)
+                        .build());
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                trendingSearchRepository.deleteAllInBatch();
+                trendingSearchRepository.saveAll(rows);
+            });
+        } catch (Exception e) {
+            log.warn("Failed to snapshot {} trending searches", rows.size(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreSnapshot() {
+        List<TrendingSearch> rows = trendingSearchRepository.findAll();
+        long nowMillis = System.currentTimeMillis();
+        synchronized (this) {
+            for (TrendingSearch row : rows) {
+                long ageMillis = Duration.between(row.getSnapshotAt(), LocalDateTime.now()).toMillis();
+                double decayed = row.getScore() * Math.pow(2, -Math.max(ageMillis, 0) / halfLifeMillis);
+                add(row.getSearchTerm(), decayed * weightAt(nowMillis));
+            }
+        }
+        log.info("Restored {} trending search terms", rows.size());
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    /** Space-Saving update. Callers hold the monitor. */
+    private void add(String term, double weight) {
+        Counter counter = counters.get(term);
+        if (counter != null) {
+            ranking.remove(counter);
+            counter.score += weight;
+        } else if (counters.size() < capacity) {
+            counter = new Counter(term, weight);
+            counters.put(term, counter);
+        } else {
+            Counter weakest = ranking.pollFirst();
+            counters.remove(weakest.term);
+            counter = new Counter(term, weakest.score + weight);
+            counters.put(term, counter);
+        }
+        ranking.add(counter);
+    }
+
+    /** Forward-decay weight of an event at {@code nowMillis}; rescales stored scores when it grows large. */
+    private double weightAt(long nowMillis) {
+        double weight = Math.pow(2, (nowMillis - landmarkMillis) / halfLifeMillis);
+        if (weight > RESCALE_THRESHOLD) {
+            List<Counter> all = new ArrayList<>(ranking);
+            ranking.clear();
+            for (Counter counter : all) {
+                counter.score /= weight;
+                ranking.add(counter);
+            }
+            landmarkMillis = nowMillis;
+            weight = 1.0;
+        }
+        return weight;
+    }
+}
@@ -5,6 +5,8 @@ import com.BookBliss.DTO.Admin.UserManagement.UserRoleUpdateDTO;
 import com.BookBliss.DTO.Admin.UserManagement.UserSearchCriteria;
 import com.BookBliss.DTO.Admin.UserManagement.UserStatusUpdateDTO;
 import com.BookBliss.DTO.Auth.*;
+import com.BookBliss.DTO.Common.CursorPage;
+import com.BookBliss.DTO.Common.CursorRequest;
 import com.BookBliss.DTO.UserProfile.UserDetailsDTO;
 import com.BookBliss.DTO.UserProfile.UserProfileUpdateDto;
 import org.springframework.data.domain.Page;
@@ -24,6 +26,7 @@ public interface UserService {
 
     // Admin methods
     Page<AdminUserDetailsDTO> getAllUsers(Pageable pageable);
+    CursorPage<AdminUserDetailsDTO> scrollUsers(CursorRequest cursorRequest);
     Page<AdminUserDetailsDTO> searchUsers(UserSearchCriteria criteria, Pageable pageable);
     AdminUserDetailsDTO getUserById(Long userId);
     AdminUserDetailsDTO updateUserRole(Long userId, UserRoleUpdateDTO roleUpdateDTO);
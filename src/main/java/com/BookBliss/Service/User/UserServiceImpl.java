@@ -5,16 +5,22 @@ import com.BookBliss.DTO.Admin.UserManagement.UserRoleUpdateDTO;
 import com.BookBliss.DTO.Admin.UserManagement.UserSearchCriteria;
 import com.BookBliss.DTO.Admin.UserManagement.UserStatusUpdateDTO;
 import com.BookBliss.DTO.Auth.*;
+import com.BookBliss.DTO.Common.CursorPage;
+import com.BookBliss.DTO.Common.CursorRequest;
 import com.BookBliss.DTO.UserProfile.UserDetailsDTO;
 import com.BookBliss.DTO.UserProfile.UserProfileUpdateDto;
 import com.BookBliss.Entity.AuditLog;
+import com.BookBliss.Entity.Token;
 import com.BookBliss.Entity.User;
 import com.BookBliss.Exception.InvalidOperationException;
 import com.BookBliss.Exception.UserNotFoundException;
 import com.BookBliss.Mapper.UserMapper;
+import com.BookBliss.Repository.NaturalIdRepository;
 import com.BookBliss.Repository.UserRepository;
 import com.BookBliss.Service.Audit.AuditService;
+import com.BookBliss.Service.Auth.TokenService;
 import com.BookBliss.Service.DropBox.DropboxService;
+import com.BookBliss.Utils.KeysetPager;
 import com.dropbox.core.DbxException;
 
 import jakarta.persistence.criteria.Predicate;
@@ -39,6 +45,7 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service class that provides user management functionalities
@@ -53,11 +60,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final NaturalIdRepository naturalIdRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
     private final DropboxService dropboxService;
     private final AuditService auditService;
+    private final KeysetPager keysetPager;
+    private final TokenService tokenService;
 
+    private static final Set<String> SCROLL_SORT_FIELDS = Set.of("id", "username", "createdAt");
 
     private static final Logger log = LoggerFactory.getLogger(UserServiceImpl.class);
 
@@ -74,6 +85,19 @@ public class UserServiceImpl implements UserService {
         return users.map(userMapper::toAdminDto);
     }
 
+    @Override
+    public CursorPage<AdminUserDetailsDTO> scrollUsers(CursorRequest cursorRequest) {
+        CursorPage<AdminUserDetailsDTO> page = keysetPager.page(userRepository, User.class, null, cursorRequest,
+                SCROLL_SORT_FIELDS, users -> users.stream().map(userMapper::toAdminDto).toList());
+        auditService.logActivity(
+                AuditLog.EntityType.USER,
+                getCurrentUserId(),
+                AuditLog.ActionType.READ,
+                "Retrieved users list page"
+        );
+        return page;
+    }
+
     @Override
     public Page<AdminUserDetailsDTO> searchUsers(UserSearchCriteria criteria, Pageable pageable) {
         Specification<User> spec = buildUserSpecification(criteria);
@@ -150,6 +174,7 @@ public class UserServiceImpl implements UserService {
         User.UserRole oldRole = user.getRole();
         user.setRole(roleUpdateDTO.getRole());
         User updatedUser = userRepository.save(user);
+        revokeSessions(user);
 
         auditService.logActivity(
                 AuditLog.EntityType.USER,
@@ -173,6 +198,7 @@ public class UserServiceImpl implements UserService {
         boolean oldStatus = user.isActive();
         user.setActive(statusUpdateDTO.isActive());
         User updatedUser = userRepository.save(user);
+        revokeSessions(user);
 
         auditService.logActivity(
                 AuditLog.EntityType.USER,
@@ -415,6 +441,7 @@ public class UserServiceImpl implements UserService {
         String username = user.getUsername();
         String email = user.getEmail();
 
+        revokeSessions(user);
         userRepository.delete(user);
 
         auditService.logActivity(
@@ -426,10 +453,21 @@ public class UserServiceImpl implements UserService {
     }
 
     // Utility methods
+
+    /**
+     * Revokes every access and refresh token of the user. Access tokens carry the roles they
+     * were issued with, so after an admin changes a user's role, status or deletes them the
+     * old tokens must stop authenticating instead of living out their expiry.
+     */
+    private void revokeSessions(User user) {
+        tokenService.revokeAllUserTokens(user, Token.TokenType.ACCESS);
+        tokenService.revokeAllUserTokens(user, Token.TokenType.REFRESH);
+    }
+
     private Long getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.getName() != null) {
-            User user= userRepository.findByUsername(authentication.getName()).orElseThrow(()-> new UserNotFoundException("User Not Found"));
+            User user= naturalIdRepository.findUserByUsername(authentication.getName()).orElseThrow(()-> new UserNotFoundException("User Not Found"));
             return user.getId();
         }
         return null;
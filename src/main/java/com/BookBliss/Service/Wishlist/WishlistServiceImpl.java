@@ -11,6 +11,7 @@ import com.BookBliss.Exception.ResourceNotFoundException;
 import com.BookBliss.Repository.BookRepository;
 import com.BookBliss.Repository.UserRepository;
 import com.BookBliss.Repository.WishlistRepository;
+import com.BookBliss.Service.Book.BookStatsService;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,6 +23,7 @@ public class WishlistServiceImpl implements WishlistService {
     private final WishlistRepository wishlistRepository;
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
+    private final BookStatsService bookStatsService;
 
     @Transactional
     @Override
@@ -44,8 +46,10 @@ public class WishlistServiceImpl implements WishlistService {
         wishlistItem.setUser(user);
         wishlistItem.setBook(book);
         wishlistItem.setAddedAt(LocalDateTime.now());
-        
-        return wishlistRepository.save(wishlistItem);
+
+        WishlistItem savedItem = wishlistRepository.save(wishlistItem);
+        bookStatsService.recordWishlist(bookId, 1);
+        return savedItem;
     }
 
     @Override
@@ -59,6 +63,7 @@ public class WishlistServiceImpl implements WishlistService {
         WishlistItem wishlistItem = wishlistRepository.findByUserIdAndBookId(userId, bookId)
             .orElseThrow(() -> new ResourceNotFoundException("Wishlist item not found"));
         wishlistRepository.delete(wishlistItem);
+        bookStatsService.recordWishlist(bookId, -1);
     }
 
    @Override
@@ -3,6 +3,7 @@ package com.BookBliss.Utils;
 import com.BookBliss.DTO.Auth.TokenResponse;
 import com.BookBliss.Service.Auth.TokenService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 
 import jakarta.servlet.FilterChain;
@@ -15,7 +16,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -47,7 +48,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     );
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserDetailsService userDetailsService;
     private final TokenService tokenService;
     private final ObjectMapper objectMapper;
 
@@ -107,13 +107,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     private void processJwtAuthentication(String jwt, HttpServletRequest request) {
-        String username = jwtTokenProvider.extractUsername(jwt);
+        // Signature and expiry are verified once; identity and roles come from the claims
+        Claims claims = jwtTokenProvider.parseClaims(jwt);
+        String username = claims.getSubject();
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-            // Use tokenService to validate token
-            if (tokenService.validateAccessToken(jwt, userDetails)) {
+            if (tokenService.isAccessTokenActive(claims)) {
+                UserDetails userDetails = new User(username, "", jwtTokenProvider.extractAuthorities(claims));
                 UsernamePasswordAuthenticationToken authentication = createAuthenticationToken(userDetails, request);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
                 logger.debug("Security context updated for user: {}", username);
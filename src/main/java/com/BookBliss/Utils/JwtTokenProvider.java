@@ -2,12 +2,14 @@ package com.BookBliss.Utils;
 
 import com.BookBliss.Exception.AuthenticationException;
 import io.jsonwebtoken.*;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
@@ -36,13 +38,25 @@ public class JwtTokenProvider {
 
     private final UserDetailsService userDetailsService;
 
+    // Built once; both are immutable and thread-safe
+    private Key signingKey;
+    private JwtParser parser;
+
     public JwtTokenProvider(UserDetailsService userDetailsService) {
         this.userDetailsService = userDetailsService;
     }
 
-    private Key getSigningKey() {
+    @PostConstruct
+    void init() {
         byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        return new SecretKeySpec(keyBytes, SignatureAlgorithm.HS256.getJcaName());
+        signingKey = new SecretKeySpec(keyBytes, SignatureAlgorithm.HS256.getJcaName());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    private Key getSigningKey() {
+        return signingKey;
     }
 
     public String generateToken(Authentication authentication) {
@@ -120,8 +134,13 @@ public class JwtTokenProvider {
     }
 
     public String extractTokenId(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("tokenId", String.class);
+        return extractTokenId(extractAllClaims(token));
+    }
+
+    /** The {@code tokenId} claim, falling back to the standard {@code jti}. */
+    public String extractTokenId(Claims claims) {
+        String tokenId = claims.get("tokenId", String.class);
+        return tokenId != null ? tokenId : claims.getId();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -130,11 +149,15 @@ public class JwtTokenProvider {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseClaims(token);
+    }
+
+    /**
+     * Verifies the signature and expiry and returns the claims, so callers needing several
+     * claims parse the token only once.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public List<String> extractRoles(String token) {
@@ -142,6 +165,20 @@ public class JwtTokenProvider {
         return claims.get("roles", List.class);
     }
 
+    public List<GrantedAuthority> extractAuthorities(Claims claims) {
+        List<?> roles = claims.get("roles", List.class);
+        if (roles == null) {
+            return Collections.emptyList();
+        }
+        return roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role)))
+                .collect(Collectors.toList());
+    }
+
+    public boolean isRefreshToken(Claims claims) {
+        return "REFRESH".equals(claims.get("type", String.class));
+    }
+
     public long getTokenExpiration() {
         return expiration;
     }
@@ -166,11 +203,7 @@ public class JwtTokenProvider {
             }
 
             // Extract claims to check token type
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(cleanedToken)
-                    .getBody();
+            Claims claims = parseClaims(cleanedToken);
 
             // Validate it's a refresh token
             String tokenType = claims.get("type", String.class);
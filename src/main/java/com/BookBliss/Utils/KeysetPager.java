@@ -0,0 +1,157 @@
+package com.BookBliss.Utils;
+
+import com.BookBliss.DTO.Common.CursorPage;
+import com.BookBliss.DTO.Common.CursorRequest;
+import com.BookBliss.Exception.InvalidOperationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Table;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) pagination over {@link JpaSpecificationExecutor} repositories.
+ * <p>
+ * Rows are ordered by the requested sort key with the id as tie-breaker, and each page starts
+ * after the last key of the previous one ({@code WHERE (key, id) > (:lastKey, :lastId)}), so
+ * with an index on the sort key any page costs the same as the first. The position travels to
+ * the client as an opaque Base64 token that also records the sort it belongs to. Only non-null
+ * columns may be used as sort keys, because keyset predicates skip rows whose key is null.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPager {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String ESTIMATE_SQL =
+            "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+
+    private record CursorToken(String sort, Map<String, Object> keys) {
+    }
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Fetches one page. A {@code null} specification means the listing is unfiltered, which
+     * allows {@link CursorRequest.CountMode#ESTIMATED} to read the table statistics.
+     */
+    public <T, R> CursorPage<R> page(JpaSpecificationExecutor<T> repository,
+                                     Class<T> type,
+                                     Specification<T> spec,
+                                     CursorRequest request,
+                                     Set<String> sortableFields,
+                                     Function<List<T>, List<R>> mapper) {
+        Sort sort = sortFor(request, sortableFields);
+        Specification<T> effectiveSpec = spec != null ? spec : Specification.where(null);
+        Map<String, Object> keys = decodeCursor(request.getCursor(), type, sort);
+        ScrollPosition position = keys.isEmpty() ? ScrollPosition.keyset() : ScrollPosition.forward(keys);
+
+        Window<T> window = repository.findBy(effectiveSpec, query -> query
+                .sortBy(sort)
+                .limit(request.getSize())
+                .scroll(position));
+
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encodeCursor(sort, ((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys())
+                : null;
+
+        CursorPage.CursorPageBuilder<R> page = CursorPage.<R>builder()
+                .content(mapper.apply(window.getContent()))
+                .size(window.size())
+                .hasNext(window.hasNext())
+                .nextCursor(nextCursor);
+
+        switch (request.getCount()) {
+            case EXACT -> page.totalElements(repository.count(effectiveSpec)).totalEstimated(false);
+            case ESTIMATED -> {
+                Long estimate = spec == null ? estimateRows(type) : null;
+                if (estimate != null) {
+                    page.totalElements(estimate).totalEstimated(true);
+                } else {
+                    page.totalElements(repository.count(effectiveSpec)).totalEstimated(false);
+                }
+            }
+            case NONE -> {
+            }
+        }
+        return page.build();
+    }
+
+    /**
+     * Validates page size and sort key and returns the full keyset order: the requested key
+     * followed by {@code id} in the same direction.
+     */
+    public Sort sortFor(CursorRequest request, Set<String> sortableFields) {
+        if (request.getSize() < 1 || request.getSize() > MAX_PAGE_SIZE) {
+            throw new InvalidOperationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!sortableFields.contains(request.getSort())) {
+            throw new InvalidOperationException("Cannot paginate by '" + request.getSort() + "'. Supported: " + sortableFields);
+        }
+        Sort sort = Sort.by(request.getDirection(), request.getSort());
+        return "id".equals(request.getSort()) ? sort : sort.and(Sort.by(request.getDirection(), "id"));
+    }
+
+    /** Encodes the keys of the last row of a page, for queries that seek by hand. */
+    public String encodeCursor(Sort sort, Map<String, ?> keys) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new CursorToken(sort.toString(), new LinkedHashMap<String, Object>(keys)));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not encode pagination cursor", e);
+        }
+    }
+
+    /**
+     * Decodes a cursor issued for {@code sort} into the keys of the row to continue after,
+     * typed after the attributes of {@code type}. Empty for the first page.
+     */
+    public Map<String, Object> decodeCursor(String cursor, Class<?> type, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return Map.of();
+        }
+        CursorToken token;
+        try {
+            token = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), CursorToken.class);
+        } catch (Exception e) {
+            throw new InvalidOperationException("Invalid pagination cursor");
+        }
+        if (token.keys() == null || !sort.toString().equals(token.sort())) {
+            throw new InvalidOperationException("Pagination cursor does not match the requested sort");
+        }
+        // JSON loses the key types (timestamps come back as strings); restore them from the entity model
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            token.keys().forEach((property, value) -> keys.put(property, value == null ? null : objectMapper.convertValue(
+                    value, entityManager.getMetamodel().entity(type).getAttribute(property).getJavaType())));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException("Invalid pagination cursor");
+        }
+        return keys;
+    }
+
+    private Long estimateRows(Class<?> type) {
+        Table table = type.getAnnotation(Table.class);
+        if (table == null || table.name().isEmpty()) {
+            return null;
+        }
+        List<Long> rows = jdbcTemplate.queryForList(ESTIMATE_SQL, Long.class, table.name());
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+}
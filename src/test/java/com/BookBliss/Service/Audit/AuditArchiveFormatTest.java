@@ -0,0 +1,149 @@
+package com.BookBliss.Service.Audit;
+
+import com.BookBliss.DTO.Audit.AuditLogDTO;
+import com.BookBliss.Entity.AuditLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditArchiveFormatTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void blockRoundTripsEveryField() throws IOException {
+        List<AuditLogDTO> rows = List.of(
+                row(1, 10, START.plusNanos(123_456_000)),
+                AuditLogDTO.builder().id(2L).entityType(AuditLog.EntityType.USER).entityId(5L)
+                        .action(AuditLog.ActionType.DELETE).details(null).actorId(11L).actorName("émilie")
+                        .timestamp(START.plusDays(3)).ipAddress(null).build());
+        Path file = writeBlocks(rows);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<AuditArchiveFormat.BlockHeader> blocks = AuditArchiveFormat.scan(channel);
+            assertEquals(1, blocks.size());
+            AuditArchiveFormat.BlockHeader block = blocks.get(0);
+            assertEquals(2, block.rowCount());
+            assertEquals(1, block.minId());
+            assertEquals(2, block.maxId());
+            assertEquals(rows, AuditArchiveFormat.decodeBlock(body(channel, block), block));
+        }
+    }
+
+    @Test
+    void scanStopsBeforeTruncatedBlock() throws IOException {
+        Path file = writeBlocks(rows(1, 20), rows(21, 40));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<AuditArchiveFormat.BlockHeader> blocks = AuditArchiveFormat.scan(channel);
+            assertEquals(1, blocks.size());
+            assertEquals(20, blocks.get(0).maxId());
+        }
+    }
+
+    @Test
+    void corruptBodyIsRejected() throws IOException {
+        Path file = writeBlocks(rows(1, 20));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            AuditArchiveFormat.BlockHeader block = AuditArchiveFormat.scan(channel).get(0);
+            ByteBuffer body = body(channel, block);
+            body.put(0, (byte) (body.get(0) ^ 0xFF));
+            assertThrows(IOException.class, () -> AuditArchiveFormat.decodeBlock(body, block));
+        }
+    }
+
+    @Test
+    void headerPrunesByTimeRangeAndActor() throws IOException {
+        Path file = writeBlocks(rows(1, 20));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            AuditArchiveFormat.BlockHeader block = AuditArchiveFormat.scan(channel).get(0);
+            long first = AuditArchiveFormat.toMicros(START.plusMinutes(1));
+            long last = AuditArchiveFormat.toMicros(START.plusMinutes(20));
+
+            assertTrue(block.overlaps(first, first));
+            assertTrue(block.overlaps(last, Long.MAX_VALUE));
+            assertFalse(block.overlaps(Long.MIN_VALUE, first - 1));
+            assertFalse(block.overlaps(last + 1, Long.MAX_VALUE));
+
+            assertTrue(block.mightContainActor(100));
+            assertTrue(block.mightContainActor(101));
+            assertFalse(block.mightContainActor(7));
+        }
+    }
+
+    @Test
+    void fileNameCarriesTheMonth() {
+        YearMonth month = YearMonth.of(2024, 3);
+        assertEquals(month, AuditArchiveFormat.monthOf(directory.resolve(AuditArchiveFormat.fileName(month))));
+        assertNull(AuditArchiveFormat.monthOf(directory.resolve("audit_logs-latest.aar")));
+        assertNull(AuditArchiveFormat.monthOf(directory.resolve("notes.txt")));
+    }
+
+    @SafeVarargs
+    private Path writeBlocks(List<AuditLogDTO>... blocks) throws IOException {
+        Path file = directory.resolve(AuditArchiveFormat.fileName(YearMonth.from(START)));
+        Deflater deflater = new Deflater();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            AuditArchiveFormat.writeMagic(channel);
+            channel.position(AuditArchiveFormat.MAGIC.length);
+            for (List<AuditLogDTO> rows : blocks) {
+                ByteBuffer block = AuditArchiveFormat.encodeBlock(rows, deflater);
+                while (block.hasRemaining()) {
+                    channel.write(block);
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+        return file;
+    }
+
+    private static ByteBuffer body(FileChannel channel, AuditArchiveFormat.BlockHeader block) throws IOException {
+        ByteBuffer body = ByteBuffer.allocate(block.compressedLength());
+        while (body.hasRemaining()) {
+            channel.read(body, block.bodyOffset() + body.position());
+        }
+        return body.flip();
+    }
+
+    /** Rows {@code from..to}, one minute apart, alternating between actors 100 and 101. */
+    private static List<AuditLogDTO> rows(long from, long to) {
+        List<AuditLogDTO> rows = new ArrayList<>();
+        for (long id = from; id <= to; id++) {
+            rows.add(row(id, 100 + id % 2, START.plusMinutes(id)));
+        }
+        return rows;
+    }
+
+    private static AuditLogDTO row(long id, long actorId, LocalDateTime timestamp) {
+        return AuditLogDTO.builder()
+                .id(id)
+                .entityType(AuditLog.EntityType.BOOK)
+                .entityId(id * 3)
+                .action(AuditLog.ActionType.UPDATE)
+                .details("Updated book " + id)
+                .actorId(actorId)
+                .actorName("actor-" + actorId)
+                .timestamp(timestamp)
+                .ipAddress("10.0.0." + actorId % 256)
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.BookBliss.Service.Audit;
+
+import com.BookBliss.DTO.Audit.AuditLogDTO;
+import com.BookBliss.DTO.Audit.AuditLogSearchCriteria;
+import com.BookBliss.Entity.AuditLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two archived months, each with one block per actor, so that time and actor filters can be
+ * answered from the block headers alone.
+ */
+class AuditArchiveReaderTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2024, 3);
+    private static final YearMonth APRIL = YearMonth.of(2024, 4);
+
+    @TempDir
+    Path directory;
+
+    private final List<AuditLogDTO> archived = new ArrayList<>();
+    private AuditArchiveReader reader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        long id = 1;
+        for (YearMonth month : List.of(MARCH, APRIL)) {
+            try (AuditArchiveWriter writer = AuditArchiveWriter.open(directory.resolve(AuditArchiveFormat.fileName(month)))) {
+                for (long actorId : List.of(1L, 2L)) {
+                    // Each actor's rows fill exactly one block and cover its own half of the month
+                    LocalDateTime start = month.atDay(actorId == 1 ? 1 : 15).atStartOfDay();
+                    for (int i = 0; i < AuditArchiveWriter.ROWS_PER_BLOCK; i++, id++) {
+                        AuditLogDTO row = row(id, actorId, start.plusMinutes(i * 30L));
+                        writer.append(row);
+                        archived.add(row);
+                    }
+                }
+            }
+        }
+        reader = new AuditArchiveReader(directory.toString());
+    }
+
+    @Test
+    void listsArchivedMonths() {
+        assertEquals(List.of(MARCH, APRIL), reader.archivedMonths());
+    }
+
+    @Test
+    void searchFiltersByTimeRange() {
+        LocalDateTime from = LocalDateTime.of(2024, 3, 20, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 4, 5, 12, 0);
+        AuditLogSearchCriteria criteria = AuditLogSearchCriteria.builder().startDate(from).endDate(to).build();
+
+        Page<AuditLogDTO> page = reader.search(criteria, PageRequest.of(0, 50, Sort.by("timestamp")));
+
+        List<AuditLogDTO> expected = expected(row -> !row.getTimestamp().isBefore(from) && !row.getTimestamp().isAfter(to),
+                Comparator.comparing(AuditLogDTO::getTimestamp));
+        assertEquals(expected.size(), page.getTotalElements());
+        assertEquals(expected.subList(0, 50), page.getContent());
+    }
+
+    @Test
+    void searchFiltersByActor() {
+        AuditLogSearchCriteria criteria = AuditLogSearchCriteria.builder().actorId(2L).build();
+
+        Page<AuditLogDTO> page = reader.search(criteria, PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "id")));
+
+        List<AuditLogDTO> expected = expected(row -> row.getActorId() == 2L,
+                Comparator.comparing(AuditLogDTO::getId).reversed());
+        assertEquals(expected.size(), page.getTotalElements());
+        assertEquals(expected.subList(20, 40), page.getContent());
+    }
+
+    @Test
+    void searchCombinesTimeRangeAndActor() {
+        LocalDateTime from = MARCH.atDay(1).atStartOfDay();
+        LocalDateTime to = MARCH.atEndOfMonth().atTime(23, 59);
+        AuditLogSearchCriteria criteria = AuditLogSearchCriteria.builder().actorId(1L).startDate(from).endDate(to).build();
+
+        Page<AuditLogDTO> page = reader.search(criteria, PageRequest.of(0, 1000, Sort.by("id")));
+
+        List<AuditLogDTO> expected = expected(row -> row.getActorId() == 1L && !row.getTimestamp().isAfter(to),
+                Comparator.comparing(AuditLogDTO::getId));
+        assertEquals(AuditArchiveWriter.ROWS_PER_BLOCK, expected.size());
+        assertEquals(expected, page.getContent());
+    }
+
+    @Test
+    void monthsOutsideTheRangeAreNeverOpened() throws IOException {
+        // Unreadable, so any query that touches May fails
+        Files.writeString(directory.resolve(AuditArchiveFormat.fileName(YearMonth.of(2024, 5))), "not an archive");
+        AuditLogSearchCriteria march = AuditLogSearchCriteria.builder()
+                .startDate(MARCH.atDay(1).atStartOfDay())
+                .endDate(MARCH.atDay(10).atStartOfDay())
+                .build();
+
+        assertFalse(reader.search(march, PageRequest.of(0, 10)).isEmpty());
+        assertThrows(UncheckedIOException.class, () -> reader.search(new AuditLogSearchCriteria(), PageRequest.of(0, 10)));
+    }
+
+    private List<AuditLogDTO> expected(Predicate<AuditLogDTO> filter, Comparator<AuditLogDTO> order) {
+        return archived.stream().filter(filter).sorted(order).toList();
+    }
+
+    private static AuditLogDTO row(long id, long actorId, LocalDateTime timestamp) {
+        return AuditLogDTO.builder()
+                .id(id)
+                .entityType(AuditLog.EntityType.BOOK)
+                .entityId(id % 50)
+                .action(AuditLog.ActionType.UPDATE)
+                .details("Updated book " + id % 50)
+                .actorId(actorId)
+                .actorName("librarian-" + actorId)
+                .timestamp(timestamp)
+                .ipAddress("10.1.0." + actorId)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.BookBliss.Service.Audit;
+
+import com.BookBliss.DTO.Audit.AuditLogDTO;
+import com.BookBliss.Entity.AuditLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditArchiveWriterTest {
+
+    private static final int BLOCK = AuditArchiveWriter.ROWS_PER_BLOCK;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rowsRoundTripAcrossBlocks() throws IOException {
+        Path file = directory.resolve("audit_logs-2024-03.aar");
+        List<AuditLogDTO> rows = rows(1, BLOCK + 10);
+
+        append(file, rows);
+
+        assertEquals(rows, readAll(file));
+        assertEquals(2, blocks(file).size());
+    }
+
+    @Test
+    void reopeningDropsTornBlockAndAppendsAfterIt() throws IOException {
+        Path file = directory.resolve("audit_logs-2024-03.aar");
+        append(file, rows(1, BLOCK));
+        long firstBlockEnd = Files.size(file);
+        append(file, rows(BLOCK + 1, BLOCK + 40));
+        // A crash while the second block was being written
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(firstBlockEnd + AuditArchiveFormat.HEADER_BYTES + 3);
+        }
+
+        try (AuditArchiveWriter writer = AuditArchiveWriter.open(file)) {
+            assertEquals(firstBlockEnd, Files.size(file));
+            for (AuditLogDTO row : rows(BLOCK + 1, BLOCK + 60)) {
+                writer.append(row);
+            }
+            assertEquals(60, writer.appendedRows());
+        }
+
+        assertEquals(rows(1, BLOCK + 60), readAll(file));
+        List<AuditArchiveFormat.BlockHeader> blocks = blocks(file);
+        assertEquals(2, blocks.size());
+        assertEquals(Files.size(file), blocks.get(1).end());
+    }
+
+    @Test
+    void resumingSkipsRowsAlreadyArchived() throws IOException {
+        Path file = directory.resolve("audit_logs-2024-03.aar");
+        append(file, rows(1, 100));
+
+        try (AuditArchiveWriter writer = AuditArchiveWriter.open(file)) {
+            for (AuditLogDTO row : rows(1, 150)) {
+                writer.append(row);
+            }
+            assertEquals(50, writer.appendedRows());
+        }
+
+        assertEquals(rows(1, 150), readAll(file));
+    }
+
+    private static void append(Path file, List<AuditLogDTO> rows) throws IOException {
+        try (AuditArchiveWriter writer = AuditArchiveWriter.open(file)) {
+            for (AuditLogDTO row : rows) {
+                writer.append(row);
+            }
+        }
+    }
+
+    private static List<AuditArchiveFormat.BlockHeader> blocks(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return AuditArchiveFormat.scan(channel);
+        }
+    }
+
+    private static List<AuditLogDTO> readAll(Path file) throws IOException {
+        List<AuditLogDTO> rows = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (AuditArchiveFormat.BlockHeader block : AuditArchiveFormat.scan(channel)) {
+                ByteBuffer body = ByteBuffer.allocate(block.compressedLength());
+                while (body.hasRemaining()) {
+                    channel.read(body, block.bodyOffset() + body.position());
+                }
+                rows.addAll(AuditArchiveFormat.decodeBlock(body.flip(), block));
+            }
+        }
+        return rows;
+    }
+
+    private static List<AuditLogDTO> rows(long from, long to) {
+        List<AuditLogDTO> rows = new ArrayList<>();
+        for (long id = from; id <= to; id++) {
+            rows.add(AuditLogDTO.builder()
+                    .id(id)
+                    .entityType(AuditLog.EntityType.USER)
+                    .entityId(id % 7)
+                    .action(AuditLog.ActionType.LOGIN)
+                    .details("Login " + id)
+                    .actorId(id % 7)
+                    .actorName("user-" + id % 7)
+                    .timestamp(START.plusSeconds(id))
+                    .ipAddress("192.168.1." + id % 7)
+                    .build());
+        }
+        return rows;
+    }
+}
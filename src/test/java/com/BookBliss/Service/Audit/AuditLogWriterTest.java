@@ -0,0 +1,57 @@
+package com.BookBliss.Service.Audit;
+
+import com.BookBliss.Entity.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Backpressure on a full buffer; the drain thread is never started, so nothing frees space. */
+class AuditLogWriterTest {
+
+    private static final int CAPACITY = 4;
+    private static final long BLOCK_TIMEOUT_MS = 50;
+
+    @Test
+    void blockWaitsForSpaceThenDrops() {
+        AuditLogWriter writer = writer(AuditLogWriter.Backpressure.BLOCK);
+        for (int i = 0; i < CAPACITY; i++) {
+            writer.submit(entry());
+        }
+        assertEquals(CAPACITY, writer.getQueuedCount());
+
+        long started = System.nanoTime();
+        writer.submit(entry());
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertTrue(waitedMs >= BLOCK_TIMEOUT_MS, "blocked for " + waitedMs + " ms");
+        assertEquals(1, writer.getDroppedCount());
+        assertEquals(CAPACITY, writer.getQueuedCount());
+    }
+
+    @Test
+    void dropCountsWithoutWaiting() {
+        AuditLogWriter writer = writer(AuditLogWriter.Backpressure.DROP);
+        for (int i = 0; i < CAPACITY + 3; i++) {
+            writer.submit(entry());
+        }
+
+        assertEquals(3, writer.getDroppedCount());
+        assertEquals(CAPACITY, writer.getQueuedCount());
+        assertEquals(0, writer.getSpilledCount());
+    }
+
+    private static AuditLogWriter writer(AuditLogWriter.Backpressure backpressure) {
+        return new AuditLogWriter(new JdbcTemplate(), new ObjectMapper(), CAPACITY, 256, 200,
+                backpressure, BLOCK_TIMEOUT_MS, "target/audit-spill-test.jsonl");
+    }
+
+    private static PendingAuditLog entry() {
+        return new PendingAuditLog(AuditLog.EntityType.USER, 1L, AuditLog.ActionType.LOGIN,
+                "test", "127.0.0.1", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,119 @@
+package com.BookBliss.Service.Audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(8, new AuditRingBuffer<Integer>(5).capacity());
+        assertEquals(8, new AuditRingBuffer<Integer>(8).capacity());
+        assertEquals(4, new AuditRingBuffer<Integer>(0).capacity());
+    }
+
+    @Test
+    void fullBufferRejectsUntilDrained() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        List<Integer> sink = new ArrayList<>();
+        assertEquals(1, buffer.drainTo(sink, 1));
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+
+        assertEquals(4, buffer.drainTo(sink, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4), sink);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void keepsOrderAcrossWraparound() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        List<Integer> sink = new ArrayList<>();
+        int next = 0;
+        // Positions run far past the capacity, so every slot is reused many times
+        for (int round = 0; round < 25; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(next++));
+            }
+            assertEquals(3, buffer.drainTo(sink, 3));
+        }
+
+        assertEquals(75, sink.size());
+        for (int i = 0; i < sink.size(); i++) {
+            assertEquals(i, sink.get(i));
+        }
+    }
+
+    @Test
+    void drainStopsAtMaxAndOnEmptyBuffer() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(8);
+        List<Integer> sink = new ArrayList<>();
+        assertEquals(0, buffer.drainTo(sink, 4));
+
+        for (int i = 0; i < 6; i++) {
+            buffer.offer(i);
+        }
+
+        assertEquals(4, buffer.drainTo(sink, 4));
+        assertEquals(2, buffer.drainTo(sink, 4));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), sink);
+    }
+
+    @Test
+    void concurrentProducersLoseNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 5_000;
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < perProducer; i++) {
+                        // A full buffer is reported, not waited on; retry until the consumer catches up
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+
+            List<Integer> sink = new ArrayList<>();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (sink.size() < producers * perProducer && System.nanoTime() < deadline) {
+                buffer.drainTo(sink, 32);
+            }
+
+            assertEquals(producers * perProducer, sink.size());
+            Set<Integer> distinct = new HashSet<>(sink);
+            assertEquals(producers * perProducer, distinct.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.BookBliss.Service.Book;
+
+import com.BookBliss.Events.Books.BookDetailsChangedEvent;
+import com.BookBliss.Repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BookInventoryLedgerTest {
+
+    private static final long BOOK_ID = 7L;
+
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private ResultSet lockResult;
+    private BookInventoryLedger ledger;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+
+        // The lease connection answers 1 to GET_LOCK and to the ownership check
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        lockResult = mock(ResultSet.class);
+        when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(lockResult);
+        when(lockResult.next()).thenReturn(true);
+        when(lockResult.getInt(1)).thenReturn(1);
+
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(BOOK_ID))).thenReturn(List.of(3));
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        ledger = new BookInventoryLedger(mock(BookRepository.class), jdbcTemplate,
+                new TransactionTemplate(transactionManager), eventPublisher, true, false);
+        ledger.acquireLease();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reservesFromMemoryUntilTitleIsShort() {
+        assertTrue(ledger.isEnabled());
+        assertTrue(ledger.tryReserve(BOOK_ID, 2));
+        assertTrue(ledger.tryReserve(BOOK_ID, 1));
+        assertFalse(ledger.tryReserve(BOOK_ID, 1));
+
+        // Loaded once, and nothing written before the flush
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Integer.class), eq(BOOK_ID));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void releasedCopiesCanBeReservedAgain() {
+        assertTrue(ledger.tryReserve(BOOK_ID, 3));
+        ledger.release(BOOK_ID, 1);
+
+        assertTrue(ledger.tryReserve(BOOK_ID, 1));
+        assertFalse(ledger.tryReserve(BOOK_ID, 1));
+    }
+
+    @Test
+    void flushWritesNetDeltaOnce() {
+        ledger.tryReserve(BOOK_ID, 3);
+        ledger.release(BOOK_ID, 1);
+
+        ledger.flush();
+
+        assertEquals(List.of(-2L), flushedDeltas(1));
+        verify(eventPublisher).publishEvent(any(BookDetailsChangedEvent.class));
+
+        ledger.flush();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void failedFlushKeepsDeltaForNextFlush() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(new int[]{1});
+        ledger.tryReserve(BOOK_ID, 2);
+
+        ledger.flush();
+        ledger.release(BOOK_ID, 1);
+        ledger.flush();
+
+        assertEquals(List.of(-2L, -1L), flushedDeltas(2));
+        verify(eventPublisher, times(1)).publishEvent(any(BookDetailsChangedEvent.class));
+    }
+
+    @Test
+    void rolledBackReservationIsUndone() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(ledger.tryReserve(BOOK_ID, 3));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertTrue(ledger.tryReserve(BOOK_ID, 3));
+        ledger.flush();
+        assertEquals(List.of(-3L), flushedDeltas(1));
+    }
+
+    @Test
+    void lostLeaseWritesBackAndFallsBackToDatabase() throws Exception {
+        ledger.tryReserve(BOOK_ID, 1);
+        when(lockResult.getInt(1)).thenReturn(0);
+
+        ledger.flush();
+
+        assertFalse(ledger.isEnabled());
+        assertEquals(List.of(-1L), flushedDeltas(1));
+    }
+
+    @Test
+    void refusesToStartWhenAnotherNodeHoldsLease() throws Exception {
+        when(lockResult.getInt(1)).thenReturn(0);
+        BookInventoryLedger second = new BookInventoryLedger(mock(BookRepository.class), jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), eventPublisher, true, false);
+
+        assertThrows(IllegalStateException.class, second::acquireLease);
+        assertFalse(second.isEnabled());
+    }
+
+    /** Deltas of {@link #BOOK_ID} across the expected number of batch updates, in order. */
+    @SuppressWarnings("unchecked")
+    private List<Long> flushedDeltas(int flushes) {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(flushes)).batchUpdate(anyString(), rows.capture());
+        return rows.getAllValues().stream()
+                .map(batch -> {
+                    assertEquals(1, batch.size());
+                    assertEquals(BOOK_ID, batch.get(0)[1]);
+                    return ((Integer) batch.get(0)[0]).longValue();
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,109 @@
+package com.BookBliss.Service.User;
+
+import com.BookBliss.DTO.Admin.UserManagement.UserRoleUpdateDTO;
+import com.BookBliss.DTO.Admin.UserManagement.UserStatusUpdateDTO;
+import com.BookBliss.Entity.Token;
+import com.BookBliss.Entity.User;
+import com.BookBliss.Mapper.UserMapper;
+import com.BookBliss.Repository.NaturalIdRepository;
+import com.BookBliss.Repository.TokenRepository;
+import com.BookBliss.Repository.UserRepository;
+import com.BookBliss.Service.Audit.AuditService;
+import com.BookBliss.Service.Auth.TokenRevocationRegistry;
+import com.BookBliss.Service.Auth.TokenServiceImpl;
+import com.BookBliss.Service.Cluster.ClusterInvalidationBus;
+import com.BookBliss.Service.DropBox.DropboxService;
+import com.BookBliss.Utils.JwtTokenProvider;
+import com.BookBliss.Utils.KeysetPager;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserServiceImplTest {
+
+    private static final long USER_ID = 42L;
+    private static final String ACCESS_TOKEN_ID = "access-1";
+    private static final String REFRESH_TOKEN_ID = "refresh-1";
+
+    private UserRepository userRepository;
+    private TokenRepository tokenRepository;
+    private ClusterInvalidationBus clusterInvalidationBus;
+    private TokenServiceImpl tokenService;
+    private UserServiceImpl userService;
+    private User user;
+    private Claims accessClaims;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        tokenRepository = mock(TokenRepository.class);
+        clusterInvalidationBus = mock(ClusterInvalidationBus.class);
+        JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+
+        user = User.builder().id(USER_ID).username("reader").role(User.UserRole.LIBRARIAN).isActive(true).build();
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(1);
+        when(tokenRepository.findActiveTokenIdentifiers(eq(user), eq(Token.TokenType.ACCESS), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{ACCESS_TOKEN_ID, expiresAt}));
+        when(tokenRepository.findActiveTokenIdentifiers(eq(user), eq(Token.TokenType.REFRESH), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{REFRESH_TOKEN_ID, expiresAt.plusDays(7)}));
+
+        // The access token the user was issued while still a librarian
+        accessClaims = Jwts.claims();
+        when(jwtTokenProvider.isRefreshToken(accessClaims)).thenReturn(false);
+        when(jwtTokenProvider.extractTokenId(accessClaims)).thenReturn(ACCESS_TOKEN_ID);
+
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(tokenRepository, clusterInvalidationBus);
+        tokenService = new TokenServiceImpl(jwtTokenProvider, mock(UserDetailsService.class), tokenRepository,
+                userRepository, mock(NaturalIdRepository.class), mock(HttpServletRequest.class),
+                registry, clusterInvalidationBus);
+        userService = new UserServiceImpl(userRepository, mock(NaturalIdRepository.class),
+                mock(PasswordEncoder.class), mock(UserMapper.class), mock(DropboxService.class),
+                mock(AuditService.class), mock(KeysetPager.class), tokenService);
+    }
+
+    @Test
+    void demotedUsersOldAccessTokenIsRejected() {
+        assertTrue(tokenService.isAccessTokenActive(accessClaims));
+
+        userService.updateUserRole(USER_ID, new UserRoleUpdateDTO(User.UserRole.MEMBER));
+
+        assertFalse(tokenService.isAccessTokenActive(accessClaims));
+        verify(tokenRepository).revokeAllUserTokens(eq(user), eq(Token.TokenType.ACCESS), any());
+        verify(tokenRepository).revokeAllUserTokens(eq(user), eq(Token.TokenType.REFRESH), any());
+        verify(clusterInvalidationBus).publish(eq(ClusterInvalidationBus.TOKEN_REVOCATIONS), eq(ACCESS_TOKEN_ID), anyLong());
+        verify(clusterInvalidationBus).publish(ClusterInvalidationBus.USER_REFRESH_TOKENS, "reader");
+    }
+
+    @Test
+    void deactivatedUsersOldAccessTokenIsRejected() {
+        userService.updateUserStatus(USER_ID, new UserStatusUpdateDTO(false));
+
+        assertFalse(tokenService.isAccessTokenActive(accessClaims));
+    }
+
+    @Test
+    void deletedUsersTokensAreRevokedBeforeTheRowGoes() {
+        userService.deleteUser(USER_ID);
+
+        assertFalse(tokenService.isAccessTokenActive(accessClaims));
+        InOrder order = inOrder(tokenRepository, userRepository);
+        order.verify(tokenRepository).revokeAllUserTokens(eq(user), eq(Token.TokenType.ACCESS), any());
+        order.verify(userRepository).delete(user);
+    }
+}